@@ -0,0 +1,133 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.imagej.ops.OpService;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.RealType;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scijava.Context;
+
+/**
+ * Base class for JMH benchmarks of ops.
+ * <p>
+ * Each trial runs in its own SciJava {@link Context}. The benchmarks report
+ * throughput; allocation rates are reported when running with {@code -prof gc}
+ * (the default of the {@code benchmarks} profile). Parallel ops use as many
+ * worker threads as there are available processors, so the thread count of a
+ * run is controlled with e.g. {@code -jvmArgsAppend -XX:ActiveProcessorCount=4}.
+ * </p>
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractOpsBenchmark {
+
+	protected Context context;
+
+	protected OpService ops;
+
+	private int seed;
+
+	@Setup(Level.Trial)
+	public void createContext() {
+		context = new Context(OpService.class);
+		ops = context.service(OpService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeContext() {
+		context.dispose();
+		context = null;
+		ops = null;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Parses dimensions of the form {@code 512x512}.
+	 */
+	protected static long[] dimensions(final String dims) {
+		final String[] tokens = dims.split("x");
+		final long[] result = new long[tokens.length];
+		for (int d = 0; d < result.length; d++) {
+			result[d] = Long.parseLong(tokens[d].trim());
+		}
+		return result;
+	}
+
+	/**
+	 * Creates an {@link Img} of the given type ({@code uint8} or
+	 * {@code float32}), filled with pseudo-random values unless {@code fill} is
+	 * {@code false}.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected <T extends RealType<T>> Img<T> createImg(final String type,
+		final boolean fill, final long... dims)
+	{
+		final Img img;
+		if ("uint8".equals(type)) img = ArrayImgs.unsignedBytes(dims);
+		else if ("float32".equals(type)) img = ArrayImgs.floats(dims);
+		else throw new IllegalArgumentException("Unsupported type: " + type);
+
+		if (fill) {
+			seed = 17;
+			for (final Object t : img) {
+				((RealType) t).setReal(pseudoRandom() & 0xff);
+			}
+		}
+		return img;
+	}
+
+	private int pseudoRandom() {
+		return seed = 3170425 * seed + 132102;
+	}
+
+}
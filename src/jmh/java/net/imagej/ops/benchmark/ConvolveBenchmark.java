@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.filter.convolve.ConvolveFFTF;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks FFT-based convolution, including the padding, the FFTs of image
+ * and kernel and the complex multiplication, as well as the convolution op
+ * picked by the matcher for the given kernel size.
+ *
+ * @author agent
+ */
+public class ConvolveBenchmark extends AbstractOpsBenchmark {
+
+	@Param({ "256x256", "1024x1024", "64x64x64" })
+	private String dims;
+
+	@Param({ "5", "15", "31" })
+	private int kernelSize;
+
+	private Img<FloatType> in;
+
+	private Img<FloatType> kernel;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final long[] dimensions = dimensions(dims);
+		in = createImg("float32", true, dimensions);
+
+		final long[] kernelDims = new long[dimensions.length];
+		for (int d = 0; d < kernelDims.length; d++) {
+			kernelDims[d] = kernelSize;
+		}
+		kernel = createImg("float32", true, kernelDims);
+		float sum = 0;
+		for (final FloatType t : kernel) {
+			sum += t.get();
+		}
+		for (final FloatType t : kernel) {
+			t.set(t.get() / sum);
+		}
+	}
+
+	@Benchmark
+	public Object convolveFFT() {
+		return ops.run(ConvolveFFTF.class, in, kernel);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Benchmark
+	public RandomAccessibleInterval<FloatType> convolve() {
+		return (RandomAccessibleInterval<FloatType>) ops.run(
+			Ops.Filter.Convolve.class, in, kernel);
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.geom.geom3d.mesh.Mesh;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the geometry ops on a disc and a ball of the given radius:
+ * contour extraction, convex hulls, Feret diameter and marching cubes.
+ *
+ * @author agent
+ */
+public class GeometryBenchmark extends AbstractOpsBenchmark {
+
+	@Param({ "16", "64", "256" })
+	private int radius;
+
+	private Img<BitType> disc;
+
+	private Img<BitType> ball;
+
+	private Polygon contour;
+
+	private Mesh mesh;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		disc = sphere(radius, 2);
+		ball = sphere(Math.min(radius, 64), 3);
+		contour = ops.geom().contour(disc, true, false);
+		mesh = ops.geom().marchingCubes(ball);
+	}
+
+	@Benchmark
+	public Polygon contour() {
+		return ops.geom().contour(disc, true, false);
+	}
+
+	@Benchmark
+	public Polygon convexHull2D() {
+		return ops.geom().convexHull(contour);
+	}
+
+	@Benchmark
+	public DoubleType feretsDiameter() {
+		return ops.geom().feretsDiameter(contour);
+	}
+
+	@Benchmark
+	public Mesh marchingCubes() {
+		return ops.geom().marchingCubes(ball);
+	}
+
+	@Benchmark
+	public Mesh convexHull3D() {
+		return ops.geom().convexHull(mesh);
+	}
+
+	// -- Helper methods --
+
+	/** Creates a binary n-sphere, surrounded by one pixel of background. */
+	private static Img<BitType> sphere(final int r, final int n) {
+		final long[] dims = new long[n];
+		for (int d = 0; d < n; d++) {
+			dims[d] = 2 * r + 3;
+		}
+		final Img<BitType> img = ArrayImgs.bits(dims);
+		final Cursor<BitType> cursor = img.localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			double distance = 0;
+			for (int d = 0; d < n; d++) {
+				final double x = cursor.getDoublePosition(d) - r - 1;
+				distance += x * x;
+			}
+			cursor.get().set(distance <= r * r);
+		}
+		return img;
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.RealType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks mapping a pixel-wise computer over an image, and the chunkers
+ * which distribute the work across threads.
+ *
+ * @author agent
+ */
+public class MapBenchmark extends AbstractOpsBenchmark {
+
+	@Param({ "1024x1024", "128x128x64" })
+	private String dims;
+
+	@Param({ "uint8", "float32" })
+	private String type;
+
+	@Param({ "net.imagej.ops.thread.chunker.ChunkerForkJoin",
+		"net.imagej.ops.thread.chunker.DefaultChunker",
+		"net.imagej.ops.thread.chunker.ChunkerInterleaved" })
+	private String chunker;
+
+	private Img<? extends RealType<?>> in;
+
+	private Img<? extends RealType<?>> out;
+
+	private float[] values;
+
+	private Class<? extends ChunkerOp> chunkerClass;
+
+	@SuppressWarnings("rawtypes")
+	private UnaryComputerOp map;
+
+	@SuppressWarnings("unchecked")
+	@Setup(Level.Trial)
+	public void setUp() throws ClassNotFoundException {
+		in = createImg(type, true, dimensions(dims));
+		out = createImg(type, false, dimensions(dims));
+		values = new float[(int) in.size()];
+		chunkerClass = (Class<? extends ChunkerOp>) Class.forName(chunker);
+
+		final UnaryComputerOp<?, ?> sqr = Computers.unary(ops, Ops.Math.Sqr.class,
+			out.firstElement(), in.firstElement());
+		map = Computers.unary(ops, Ops.Map.class, out, in, sqr);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Benchmark
+	public Img<?> map() {
+		map.compute1(in, out);
+		return out;
+	}
+
+	@Benchmark
+	public float[] chunker() {
+		ops.run(chunkerClass, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				for (int i = 0, index = startIndex; i < numSteps; i++, index +=
+					stepSize)
+				{
+					values[index] = (float) Math.sqrt(index);
+				}
+			}
+		}, values.length);
+		return values;
+	}
+
+}
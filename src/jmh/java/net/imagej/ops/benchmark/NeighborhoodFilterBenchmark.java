@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.RealType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks neighborhood filters over {@link RectangleShape}s of increasing
+ * span.
+ *
+ * @author agent
+ */
+public class NeighborhoodFilterBenchmark extends AbstractOpsBenchmark {
+
+	@Param({ "512x512", "96x96x32" })
+	private String dims;
+
+	@Param({ "uint8", "float32" })
+	private String type;
+
+	@Param({ "1", "3", "7" })
+	private int span;
+
+	private Img<? extends RealType<?>> in;
+
+	private Img<? extends RealType<?>> out;
+
+	@SuppressWarnings("rawtypes")
+	private UnaryComputerOp mean;
+
+	@SuppressWarnings("rawtypes")
+	private UnaryComputerOp median;
+
+	@SuppressWarnings("rawtypes")
+	private UnaryComputerOp max;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		in = createImg(type, true, dimensions(dims));
+		out = createImg(type, false, dimensions(dims));
+
+		final RectangleShape shape = new RectangleShape(span, false);
+		mean = Computers.unary(ops, Ops.Filter.Mean.class, out, in, shape);
+		median = Computers.unary(ops, Ops.Filter.Median.class, out, in, shape);
+		max = Computers.unary(ops, Ops.Filter.Max.class, out, in, shape);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Benchmark
+	public Img<?> mean() {
+		mean.compute1(in, out);
+		return out;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Benchmark
+	public Img<?> median() {
+		median.compute1(in, out);
+		return out;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Benchmark
+	public Img<?> max() {
+		max.compute1(in, out);
+		return out;
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.OpCandidate;
+import net.imagej.ops.OpMatchingService;
+import net.imagej.ops.OpRef;
+import net.imagej.ops.Ops;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks {@link OpMatchingService#findMatch} and the overhead of running
+ * an op on a single pixel, i.e. the cost paid for every op call.
+ *
+ * @author agent
+ */
+public class OpMatchingBenchmark extends AbstractOpsBenchmark {
+
+	private OpMatchingService matcher;
+
+	private Img<UnsignedByteType> in;
+
+	private Img<UnsignedByteType> out;
+
+	private UnsignedByteType a;
+
+	private UnsignedByteType b;
+
+	private RectangleShape shape;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		matcher = context.service(OpMatchingService.class);
+		in = createImg("uint8", true, 64, 64);
+		out = createImg("uint8", false, 64, 64);
+		a = new UnsignedByteType(3);
+		b = new UnsignedByteType(5);
+		shape = new RectangleShape(1, false);
+	}
+
+	@Benchmark
+	public OpCandidate matchAddPixels() {
+		return matcher.findMatch(ops, OpRef.create(Ops.Math.Add.class, a, b));
+	}
+
+	@Benchmark
+	public OpCandidate matchAddImages() {
+		return matcher.findMatch(ops, OpRef.create(Ops.Math.Add.class, out, in,
+			in));
+	}
+
+	@Benchmark
+	public OpCandidate matchMeanStats() {
+		return matcher.findMatch(ops, OpRef.create(Ops.Stats.Mean.class, in));
+	}
+
+	@Benchmark
+	public OpCandidate matchMeanFilter() {
+		return matcher.findMatch(ops, OpRef.create(Ops.Filter.Mean.class, out, in,
+			shape));
+	}
+
+	@Benchmark
+	public Object runAddPixels() {
+		return ops.run(Ops.Math.Add.class, a, b);
+	}
+
+}
@@ -30,10 +30,8 @@
 
 package net.imagej.ops;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
@@ -50,7 +48,7 @@ public class CustomOpEnvironment extends AbstractContextual implements
 	// -- Fields --
 
 	private final OpEnvironment parent;
-	private final OpIndex index;
+	private final OpRegistry registry;
 
 	// -- Constructors --
 
@@ -82,12 +80,11 @@ public class CustomOpEnvironment extends AbstractContextual implements
 	{
 		setContext(context);
 		this.parent = parent;
-		index = new OpIndex();
-		// NB: If this is not performant and/or dynamic enough, we could create/use
-		// a concatenating collection (see e.g. Guava's Iterables.concat method)
-		// that does not copy all the elements.
-		if (parent != null) index.addOps(parent.infos());
-		index.addOps(infos);
+		// NB: The registry of the parent is shared unless ops are added, in
+		// which case a copy with the additional ops is created.
+		if (parent != null) registry = parent.registry().overlay(infos);
+		else registry = new OpRegistry(infos == null ? Collections
+			.<OpInfo> emptyList() : infos);
 	}
 
 	// -- OpEnvironment methods --
@@ -99,12 +96,17 @@ public class CustomOpEnvironment extends AbstractContextual implements
 
 	@Override
 	public OpInfo info(final Class<? extends Op> type) {
-		return index.get(type.getName());
+		return registry.info(type.getName());
 	}
 
 	@Override
 	public Collection<OpInfo> infos() {
-		return index.values();
+		return registry.infos();
+	}
+
+	@Override
+	public OpRegistry registry() {
+		return registry;
 	}
 
 	@Override
@@ -117,26 +119,4 @@ public class CustomOpEnvironment extends AbstractContextual implements
 		return parent().namespace(nsClass);
 	}
 
-	// -- Helper classes --
-
-	/** A table mapping available ops from class name to {@link OpInfo}. */
-	private static class OpIndex extends HashMap<String, OpInfo> {
-
-		public void addOps(final Collection<? extends OpInfo> infos) {
-			if (infos == null) return;
-			for (final OpInfo info : infos) {
-				put(info.cInfo().getDelegateClassName(), info);
-			}
-		}
-		
-		@Override
-		public Collection<OpInfo> values() {
-			final ArrayList<OpInfo> infos = new ArrayList<>();
-			infos.addAll(super.values());
-			Collections.sort(infos);
-			return infos;
-		}
-
-	}
-
 }
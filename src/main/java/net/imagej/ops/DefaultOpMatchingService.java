@@ -43,6 +43,7 @@ import net.imagej.ops.OpCandidate.StatusCode;
 import org.scijava.Context;
 import org.scijava.InstantiableException;
 import org.scijava.convert.ConvertService;
+import org.scijava.event.EventHandler;
 import org.scijava.log.LogService;
 import org.scijava.module.Module;
 import org.scijava.module.ModuleInfo;
@@ -50,6 +51,8 @@ import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
 import org.scijava.util.ConversionUtils;
@@ -76,6 +79,8 @@ public class DefaultOpMatchingService extends AbstractService implements
 	@Parameter
 	private LogService log;
 
+	private final OpMatchCache matchCache = new OpMatchCache();
+
 	// -- OpMatchingService methods --
 
 	@Override
@@ -87,6 +92,14 @@ public class DefaultOpMatchingService extends AbstractService implements
 	public OpCandidate findMatch(final OpEnvironment ops,
 		final List<OpRef> refs)
 	{
+		// reuse a previous match of the same signature, if still valid
+		final OpCandidate cached = cachedMatch(ops, refs);
+		if (cached != null) {
+			matchCache.hit();
+			return cached;
+		}
+		matchCache.miss();
+
 		// find candidates with matching name & type
 		final List<OpCandidate> candidates = findCandidates(ops, refs);
 		assertCandidates(candidates, refs.get(0));
@@ -94,7 +107,9 @@ public class DefaultOpMatchingService extends AbstractService implements
 		// narrow down candidates to the exact matches
 		final List<OpCandidate> matches = filterMatches(candidates);
 
-		return singleMatch(candidates, matches);
+		final OpCandidate match = singleMatch(candidates, matches);
+		matchCache.put(ops, refs, candidates, match);
+		return match;
 	}
 
 	@Override
@@ -109,7 +124,7 @@ public class DefaultOpMatchingService extends AbstractService implements
 		final List<OpRef> refs)
 	{
 		final ArrayList<OpCandidate> candidates = new ArrayList<>();
-		for (final OpInfo info : ops.infos()) {
+		for (final OpInfo info : ops.registry().candidates(refs)) {
 			for (final OpRef ref : refs) {
 				if (isCandidate(info, ref)) {
 					candidates.add(new OpCandidate(ops, ref, info));
@@ -205,8 +220,74 @@ public class DefaultOpMatchingService extends AbstractService implements
 		return paddedArgs;
 	}
 
+	// -- DefaultOpMatchingService methods --
+
+	/** Gets the cache of previous matches, e.g. to query its hit rate. */
+	public OpMatchCache getMatchCache() {
+		return matchCache;
+	}
+
+	// -- Event handlers --
+
+	/** Invalidates cached matches when ops are added. */
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent event) {
+		matchCache.clear();
+	}
+
+	/** Invalidates cached matches when ops are removed. */
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent event) {
+		matchCache.clear();
+	}
+
 	// -- Helper methods --
 
+	/**
+	 * Gets the cached match of the given requests, with its module created and
+	 * initialized, or null if there is no cached match or it is no longer valid
+	 * for the given arguments.
+	 * <p>
+	 * Helper method of {@link #findMatch}.
+	 * </p>
+	 */
+	private OpCandidate cachedMatch(final OpEnvironment ops,
+		final List<OpRef> refs)
+	{
+		final OpMatchCache.Entry entry = matchCache.get(ops, refs);
+		if (entry == null) return null;
+
+		// make sure that no op rejected previously conforms now
+		for (int i = 0; i < entry.getRejectedCount(); i++) {
+			final OpCandidate rejected = new OpCandidate(ops, refs.get(entry
+				.getRejectedRefIndex(i)), entry.getRejected(i));
+			if (injectArgs(rejected) && moduleConforms(rejected)) {
+				matchCache.remove(ops, refs);
+				return null;
+			}
+		}
+
+		final OpCandidate candidate = new OpCandidate(ops, refs.get(entry
+			.getRefIndex()), entry.getInfo());
+		if (!injectArgs(candidate) || !moduleConforms(candidate)) return null;
+
+		final List<OpCandidate> match = Collections.singletonList(candidate);
+		return singleMatch(match, match);
+	}
+
+	/**
+	 * Pads the arguments of the given candidate and injects them.
+	 * <p>
+	 * Helper method of {@link #cachedMatch}.
+	 * </p>
+	 */
+	private boolean injectArgs(final OpCandidate candidate) {
+		final Object[] args = padArgs(candidate);
+		if (args == null) return false;
+		candidate.setArgs(args);
+		return true;
+	}
+
 	/** Helper method of {@link #findCandidates}. */
 	private boolean isCandidate(final OpInfo info, final OpRef ref) {
 		if (!info.nameMatches(ref.getName())) return false;
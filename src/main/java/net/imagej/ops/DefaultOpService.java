@@ -35,9 +35,12 @@ import java.util.Collection;
 
 import org.scijava.command.CommandInfo;
 import org.scijava.command.CommandService;
+import org.scijava.event.EventHandler;
 import org.scijava.plugin.AbstractPTService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.service.Service;
 
 /**
@@ -59,6 +62,9 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 	@Parameter
 	private NamespaceService namespaceService;
 
+	/** Index of all available ops, built on first use. */
+	private volatile OpRegistry registry;
+
 	// -- OpEnvironment methods --
 
 	@Override
@@ -68,21 +74,35 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 
 	@Override
 	public OpInfo info(final Class<? extends Op> type) {
-		// TODO: Consider maintaining a separate and efficient
-		// OpInfo data structure in AbstractOpEnvironment.
+		final OpInfo info = registry().info(type.getName());
+		if (info != null) return info;
 		final CommandInfo cInfo = commandService.getCommand(type);
 		return cInfo == null ? null : new OpInfo(cInfo);
 	}
 
 	@Override
 	public Collection<OpInfo> infos() {
-		// TODO: Consider maintaining a separate and efficient
-		// OpInfo data structure in AbstractOpEnvironment.
-		final ArrayList<OpInfo> infos = new ArrayList<>();
-		for (final CommandInfo cInfo : commandService.getCommandsOfType(Op.class)) {
-			infos.add(new OpInfo(cInfo));
+		return registry().infos();
+	}
+
+	@Override
+	public OpRegistry registry() {
+		OpRegistry result = registry;
+		if (result == null) {
+			synchronized (this) {
+				result = registry;
+				if (result == null) {
+					final ArrayList<OpInfo> infos = new ArrayList<>();
+					for (final CommandInfo cInfo : commandService.getCommandsOfType(
+						Op.class))
+					{
+						infos.add(new OpInfo(cInfo));
+					}
+					registry = result = new OpRegistry(infos);
+				}
+			}
 		}
-		return infos;
+		return result;
 	}
 
 	@Override
@@ -90,6 +110,20 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 		return namespaceService.create(nsClass, this);
 	}
 
+	// -- Event handlers --
+
+	/** Rebuilds the registry after ops were added. */
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent event) {
+		registry = null;
+	}
+
+	/** Rebuilds the registry after ops were removed. */
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent event) {
+		registry = null;
+	}
+
 	// -- SingletonService methods --
 
 	@Override
@@ -297,6 +297,15 @@ public interface OpEnvironment extends Contextual {
 	 */
 	Collection<OpInfo> infos();
 
+	/**
+	 * Gets the index of the available ops, used to look up the candidates of a
+	 * request. Implementations should keep the registry instead of creating a
+	 * new one from {@link #infos()} on each call, as done by default.
+	 */
+	default OpRegistry registry() {
+		return new OpRegistry(infos());
+	}
+
 	/** Gets the fully qualified names of all available operations. */
 	default Collection<String> ops() {
 		// collect list of unique operation names
@@ -707,7 +716,9 @@ public interface OpEnvironment extends Contextual {
 	}
 
 	/** Executes the "map" operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.map.neighborhood.DefaultMapNeighborhood.class)
+	@OpMethod(ops = {
+		net.imagej.ops.map.neighborhood.DefaultMapNeighborhood.class,
+		net.imagej.ops.map.neighborhood.MapNeighborhoodParallel.class })
 	default <EI, EO> IterableInterval<EO> map(
 		final IterableInterval<EO> out,
 		final RandomAccessibleInterval<EI> in, final Shape shape,
@@ -721,8 +732,9 @@ public interface OpEnvironment extends Contextual {
 	}
 
 	/** Executes the "map" operation on the given arguments. */
-	@OpMethod(
-		op = net.imagej.ops.map.neighborhood.MapNeighborhoodWithCenter.class)
+	@OpMethod(ops = {
+		net.imagej.ops.map.neighborhood.MapNeighborhoodWithCenter.class,
+		net.imagej.ops.map.neighborhood.MapNeighborhoodWithCenterParallel.class })
 	default <EI, EO> IterableInterval<EO> map(
 		final IterableInterval<EO> out, final RandomAccessibleInterval<EI> in,
 		final Shape shape, final CenterAwareComputerOp<EI, EO> func)
@@ -0,0 +1,275 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the results of {@link OpMatchingService#findMatch}.
+ * <p>
+ * Which op matches a request only depends on the requested name and types and
+ * on the classes of the arguments, except for {@link Contingent} ops whose
+ * {@link Contingent#conforms()} also depends on the argument values. Hence,
+ * the cache stores the winning {@link OpInfo} of a request under a key made
+ * of the {@link OpRef} signatures and the {@link OpEnvironment}, together
+ * with all candidates which were rejected only because they did not conform.
+ * A cached match is only reused if the winner still conforms and none of the
+ * rejected candidates does.
+ * </p>
+ * 
+ * @author agent
+ * @see DefaultOpMatchingService
+ */
+public class OpMatchCache {
+
+	/** Maximal number of cached matches per op environment. */
+	private static final int MAX_ENTRIES = 4096;
+
+	/** Maximal number of rejected candidates which are revalidated on a hit. */
+	private static final int MAX_REJECTED = 8;
+
+	private final Map<OpEnvironment, Map<Key, Entry>> environments =
+		new WeakHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	// -- OpMatchCache methods --
+
+	/**
+	 * Gets the cached match of the given requests, or null if there is none.
+	 */
+	public Entry get(final OpEnvironment ops, final List<OpRef> refs) {
+		final Map<Key, Entry> entries = entries(ops, false);
+		return entries == null ? null : entries.get(new Key(refs));
+	}
+
+	/**
+	 * Caches the given match of the given requests. Matches which would require
+	 * more than {@value #MAX_REJECTED} revalidations on a hit are not cached.
+	 * 
+	 * @param candidates all candidates evaluated during the matching
+	 * @param match the winning candidate
+	 */
+	public void put(final OpEnvironment ops, final List<OpRef> refs,
+		final List<OpCandidate> candidates, final OpCandidate match)
+	{
+		final List<OpCandidate> rejected = new ArrayList<>();
+		for (final OpCandidate candidate : candidates) {
+			if (candidate == match) continue;
+			if (candidate.getStatusCode() != OpCandidate.StatusCode.DOES_NOT_CONFORM)
+			{
+				continue;
+			}
+			if (rejected.size() == MAX_REJECTED) return;
+			rejected.add(candidate);
+		}
+
+		final Map<Key, Entry> entries = entries(ops, true);
+		// NB: Keep the cache bounded; matches are cheap to recompute.
+		if (entries.size() >= MAX_ENTRIES) entries.clear();
+		entries.put(new Key(refs), new Entry(refs, match, rejected));
+	}
+
+	/** Removes the cached match of the given requests. */
+	public void remove(final OpEnvironment ops, final List<OpRef> refs) {
+		final Map<Key, Entry> entries = entries(ops, false);
+		if (entries != null) entries.remove(new Key(refs));
+	}
+
+	/** Removes all cached matches, e.g. after ops were added or removed. */
+	public void clear() {
+		synchronized (environments) {
+			environments.clear();
+		}
+	}
+
+	/** Gets the number of cached matches. */
+	public int size() {
+		synchronized (environments) {
+			int size = 0;
+			for (final Map<Key, Entry> entries : environments.values()) {
+				size += entries.size();
+			}
+			return size;
+		}
+	}
+
+	/** Gets the number of requests answered from the cache. */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/** Gets the number of requests which required a full match. */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/** Gets the fraction of requests answered from the cache. */
+	public double getHitRate() {
+		final long h = hits.get(), total = h + misses.get();
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	// -- Internal methods --
+
+	void hit() {
+		hits.incrementAndGet();
+	}
+
+	void miss() {
+		misses.incrementAndGet();
+	}
+
+	// -- Helper methods --
+
+	private Map<Key, Entry> entries(final OpEnvironment ops,
+		final boolean create)
+	{
+		synchronized (environments) {
+			Map<Key, Entry> entries = environments.get(ops);
+			if (entries == null && create) {
+				entries = new ConcurrentHashMap<>();
+				environments.put(ops, entries);
+			}
+			return entries;
+		}
+	}
+
+	// -- Helper classes --
+
+	/** A cached match. */
+	public static final class Entry {
+
+		private final int refIndex;
+
+		private final OpInfo info;
+
+		private final int[] rejectedRefIndices;
+
+		private final OpInfo[] rejected;
+
+		private Entry(final List<OpRef> refs, final OpCandidate match,
+			final List<OpCandidate> rejected)
+		{
+			refIndex = indexOf(refs, match.getRef());
+			info = match.opInfo();
+			rejectedRefIndices = new int[rejected.size()];
+			this.rejected = new OpInfo[rejected.size()];
+			for (int i = 0; i < rejected.size(); i++) {
+				rejectedRefIndices[i] = indexOf(refs, rejected.get(i).getRef());
+				this.rejected[i] = rejected.get(i).opInfo();
+			}
+		}
+
+		/** Gets the index of the request which was matched. */
+		public int getRefIndex() {
+			return refIndex;
+		}
+
+		/** Gets the matching op. */
+		public OpInfo getInfo() {
+			return info;
+		}
+
+		/** Gets the number of candidates which did not conform. */
+		public int getRejectedCount() {
+			return rejected.length;
+		}
+
+		/** Gets the index of the request of the given rejected candidate. */
+		public int getRejectedRefIndex(final int i) {
+			return rejectedRefIndices[i];
+		}
+
+		/** Gets the op of the given rejected candidate. */
+		public OpInfo getRejected(final int i) {
+			return rejected[i];
+		}
+
+		private static int indexOf(final List<OpRef> refs, final OpRef ref) {
+			for (int i = 0; i < refs.size(); i++) {
+				if (refs.get(i) == ref) return i;
+			}
+			throw new IllegalArgumentException("Unknown request: " + ref);
+		}
+	}
+
+	/**
+	 * Signature of a list of requests: the names, types and output types of the
+	 * requests, and the classes of their arguments. Class arguments (i.e. typed
+	 * null placeholders) are compared by the class they stand for.
+	 */
+	private static final class Key {
+
+		private final Object[] signature;
+
+		private final int hash;
+
+		public Key(final List<OpRef> refs) {
+			final List<Object> s = new ArrayList<>();
+			for (final OpRef ref : refs) {
+				s.add(ref.getName());
+				s.add(ref.getTypes());
+				s.add(ref.getOutTypes());
+				final Object[] args = ref.getArgs();
+				s.add(args.length);
+				for (final Object arg : args) {
+					s.add(arg == null ? null : arg.getClass());
+					if (arg instanceof Class) s.add(arg);
+				}
+			}
+			signature = s.toArray();
+			hash = Arrays.hashCode(signature);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key) obj;
+			return hash == other.hash && Arrays.equals(signature, other.signature);
+		}
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.scijava.InstantiableException;
+
+/**
+ * Immutable index of the {@link OpInfo}s available in an
+ * {@link OpEnvironment}.
+ * <p>
+ * The ops are sorted by priority once, and indexed by class name and by name
+ * (including aliases, with and without namespace), such that matching a
+ * request only has to look at the ops of the requested name. Requests by
+ * {@link Op} type are indexed lazily, the first time a type is requested.
+ * Custom environments share the registry of their parent and only create an
+ * {@link #overlay} when they add ops.
+ * </p>
+ * 
+ * @author agent
+ * @see OpEnvironment#registry()
+ */
+public class OpRegistry {
+
+	/** All ops, sorted by priority. */
+	private final List<OpInfo> infos;
+
+	/** Position of each op in {@link #infos}. */
+	private final Map<OpInfo, Integer> ranks;
+
+	private final Map<String, OpInfo> byClassName;
+
+	private final Map<String, List<OpInfo>> byName;
+
+	private final Map<Class<?>, List<OpInfo>> byType =
+		new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a registry of the given ops. If several ops share the same class,
+	 * the last one wins.
+	 */
+	public OpRegistry(final Collection<? extends OpInfo> infos) {
+		final LinkedHashMap<String, OpInfo> classNames = new LinkedHashMap<>();
+		for (final OpInfo info : infos) {
+			classNames.put(info.cInfo().getDelegateClassName(), info);
+		}
+		final ArrayList<OpInfo> sorted = new ArrayList<>(classNames.values());
+		Collections.sort(sorted);
+
+		this.infos = Collections.unmodifiableList(sorted);
+		byClassName = classNames;
+		ranks = new IdentityHashMap<>();
+		for (int i = 0; i < sorted.size(); i++) {
+			ranks.put(sorted.get(i), i);
+		}
+
+		final HashMap<String, List<OpInfo>> names = new HashMap<>();
+		for (final OpInfo info : sorted) {
+			for (final String key : nameKeys(info)) {
+				List<OpInfo> list = names.get(key);
+				if (list == null) names.put(key, list = new ArrayList<>());
+				list.add(info);
+			}
+		}
+		byName = names;
+	}
+
+	// -- OpRegistry methods --
+
+	/** Gets all ops, sorted by priority. */
+	public List<OpInfo> infos() {
+		return infos;
+	}
+
+	/** Gets the op of the given class, or null if there is none. */
+	public OpInfo info(final String className) {
+		return byClassName.get(className);
+	}
+
+	/**
+	 * Gets the ops whose name or one of whose aliases matches the given name,
+	 * with or without namespace (see {@link OpInfo#nameMatches(String)}),
+	 * sorted by priority.
+	 */
+	public List<OpInfo> infos(final String name) {
+		final List<OpInfo> list = byName.get(name);
+		return list == null ? Collections.<OpInfo> emptyList() : Collections
+			.unmodifiableList(list);
+	}
+
+	/**
+	 * Gets the ops whose class is assignable to the given type, sorted by
+	 * priority. Ops whose class cannot be loaded are included as well.
+	 */
+	public List<OpInfo> infos(final Class<?> type) {
+		List<OpInfo> list = byType.get(type);
+		if (list == null) {
+			list = new ArrayList<>();
+			for (final OpInfo info : infos) {
+				if (isAssignable(info, type)) list.add(info);
+			}
+			list = Collections.unmodifiableList(list);
+			byType.put(type, list);
+		}
+		return list;
+	}
+
+	/**
+	 * Gets the ops which may match any of the given requests, i.e. a superset
+	 * of the ops with matching name and types, sorted by priority.
+	 */
+	public List<OpInfo> candidates(final List<OpRef> refs) {
+		if (refs.size() == 1) return candidates(refs.get(0));
+
+		final BitSet selected = new BitSet(infos.size());
+		for (final OpRef ref : refs) {
+			for (final OpInfo info : candidates(ref)) {
+				selected.set(ranks.get(info));
+			}
+		}
+		final ArrayList<OpInfo> candidates = new ArrayList<>(selected
+			.cardinality());
+		for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i +
+			1))
+		{
+			candidates.add(infos.get(i));
+		}
+		return candidates;
+	}
+
+	/**
+	 * Creates a registry with the ops of this one plus the given ops, which
+	 * replace ops of the same class. This registry is not modified, and is
+	 * returned as is if there are no ops to add.
+	 */
+	public OpRegistry overlay(final Collection<? extends OpInfo> added) {
+		if (added == null || added.isEmpty()) return this;
+		final ArrayList<OpInfo> all = new ArrayList<>(infos);
+		all.addAll(added);
+		return new OpRegistry(all);
+	}
+
+	// -- Helper methods --
+
+	private List<OpInfo> candidates(final OpRef ref) {
+		if (ref.getName() != null) return infos(ref.getName());
+		final Collection<Class<?>> types = ref.getTypes();
+		if (types != null && !types.isEmpty()) {
+			return infos(types.iterator().next());
+		}
+		return infos;
+	}
+
+	/** Gets the keys under which {@link OpInfo#nameMatches} is true. */
+	private static Set<String> nameKeys(final OpInfo info) {
+		final Set<String> keys = new LinkedHashSet<>();
+		addNameKeys(keys, info.getName());
+		final String[] aliases = info.getAliases();
+		if (aliases != null) {
+			for (final String alias : aliases) {
+				addNameKeys(keys, alias);
+			}
+		}
+		return keys;
+	}
+
+	private static void addNameKeys(final Set<String> keys, final String name) {
+		if (name == null) return;
+		keys.add(name);
+		final int dot = name.lastIndexOf(".");
+		if (dot >= 0) keys.add(name.substring(dot + 1));
+	}
+
+	private static boolean isAssignable(final OpInfo info, final Class<?> type) {
+		try {
+			return type.isAssignableFrom(info.cInfo().loadClass());
+		}
+		catch (final InstantiableException exc) {
+			// NB: Let the matcher report the invalid op.
+			return true;
+		}
+	}
+
+}
@@ -39,25 +39,30 @@ import net.imagej.ops.Op;
 import net.imagej.ops.OpEnvironment;
 import net.imagej.ops.OpInfo;
 import net.imagej.ops.OpRef;
+import net.imagej.ops.special.function.BinaryFunctionOp;
 import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.special.hybrid.BinaryHybridCF;
 import net.imagej.ops.special.hybrid.UnaryHybridCF;
 
 import org.scijava.Priority;
-import org.scijava.cache.CacheService;
 import org.scijava.command.CommandInfo;
 import org.scijava.module.Module;
 import org.scijava.module.ModuleItem;
-import org.scijava.plugin.Parameter;
 
 /**
  * Creates {@link CachedFunctionOp}s which know how to cache their outputs.
+ * <p>
+ * All ops created by one environment share an {@link OpCache}, which is bounded
+ * by an estimated byte budget and keeps track of hits, misses and evictions.
+ * Unless a cache is given, the environments of a context share the cache of
+ * its {@link OpCacheService}, so that their outputs are bounded together.
+ * </p>
  * 
  * @author Christian Dietz (University of Konstanz)
  */
 public class CachedOpEnvironment extends CustomOpEnvironment {
 
-	@Parameter
-	private CacheService cs;
+	private final OpCache cache;
 	private Collection<Class<?>> ignoredOps;
 
 	public CachedOpEnvironment(final OpEnvironment parent) {
@@ -73,6 +78,14 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	public CachedOpEnvironment(final OpEnvironment parent,
 		final Collection<? extends OpInfo> prioritizedInfos,
 		final Collection<Class<?>> ignoredOps)
+	{
+		this(parent, prioritizedInfos, ignoredOps, parent.getContext().service(
+			OpCacheService.class).getCache());
+	}
+
+	public CachedOpEnvironment(final OpEnvironment parent,
+		final Collection<? extends OpInfo> prioritizedInfos,
+		final Collection<Class<?>> ignoredOps, final OpCache cache)
 	{
 		super(parent, prioritizedInfos);
 
@@ -81,6 +94,12 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		}
 
 		this.ignoredOps = ignoredOps;
+		this.cache = cache;
+	}
+
+	/** Gets the cache shared by all ops of this environment. */
+	public OpCache getCache() {
+		return cache;
 	}
 
 	@Override
@@ -96,7 +115,13 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		}
 
 		final Op cachedOp;
-		if (op instanceof UnaryHybridCF) {
+		if (op instanceof BinaryHybridCF) {
+			cachedOp = wrapBinaryHybrid((BinaryHybridCF<?, ?, ?>) op);
+		}
+		else if (op instanceof BinaryFunctionOp) {
+			cachedOp = wrapBinaryFunction((BinaryFunctionOp<?, ?, ?>) op);
+		}
+		else if (op instanceof UnaryHybridCF) {
 			cachedOp = wrapUnaryHybrid((UnaryHybridCF<?, ?>) op);
 		}
 		else if (op instanceof UnaryFunctionOp) {
@@ -122,6 +147,18 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		return new CachedHybridOp<>(op, otherArgs(op, 2));
 	}
 
+	private <I1, I2, O> CachedBinaryFunctionOp<I1, I2, O> wrapBinaryFunction(
+		final BinaryFunctionOp<I1, I2, O> op)
+	{
+		return new CachedBinaryFunctionOp<>(op, otherArgs(op, 2));
+	}
+
+	private <I1, I2, O> CachedBinaryHybridOp<I1, I2, O> wrapBinaryHybrid(
+		final BinaryHybridCF<I1, I2, O> op)
+	{
+		return new CachedBinaryHybridOp<>(op, otherArgs(op, 3));
+	}
+
 	/**
 	 * Gets the given {@link Op} instance's argument value, starting at the
 	 * specified offset.
@@ -151,12 +188,9 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryFunctionOp<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
-
 		private final UnaryFunctionOp<I, O> delegate;
 
-		private final Object[] args;
+		final Object[] args;
 
 		public CachedFunctionOp(final UnaryFunctionOp<I, O> delegate,
 			final Object[] args)
@@ -168,14 +202,15 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		@Override
 		public O compute1(final I input) {
 
-			final Hash hash = new Hash(input, delegate, args);
+			final OpCache.Key key = new OpCache.Key(delegate.getClass(),
+				new Object[] { input }, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
+			O output = (O) cache.get(key);
 
 			if (output == null) {
 				output = delegate.compute1(input);
-				cache.put(hash, output);
+				cache.put(key, output);
 			}
 			return output;
 		}
@@ -225,49 +260,44 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryHybridCF<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
+		private final UnaryHybridCF<I, O> hybrid;
 
-		private final UnaryHybridCF<I, O> delegate;
-
-		private final Object[] args;
-
-		public CachedHybridOp(final UnaryHybridCF<I, O> delegate,
+		public CachedHybridOp(final UnaryHybridCF<I, O> hybrid,
 			final Object[] args)
 		{
-			super(delegate, args);
-			this.delegate = delegate;
-			this.args = args;
+			super(hybrid, args);
+			this.hybrid = hybrid;
 		}
 
 		@Override
 		public O compute1(final I input) {
-			final Hash hash = new Hash(input, delegate, args);
+			final OpCache.Key key = new OpCache.Key(hybrid.getClass(),
+				new Object[] { input }, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
+			O output = (O) cache.get(key);
 
 			if (output == null) {
 				output = createOutput(input);
 				compute1(input, output);
-				cache.put(hash, output);
+				cache.put(key, output);
 			}
 			return output;
 		}
 
 		@Override
 		public O createOutput(I input) {
-			return delegate.createOutput(input);
+			return hybrid.createOutput(input);
 		}
 
 		@Override
 		public void compute1(final I input, final O output) {
-			delegate.compute1(input, output);
+			hybrid.compute1(input, output);
 		}
 
 		@Override
 		public void setOutput(final O output) {
-			delegate.setOutput(output);
+			hybrid.setOutput(output);
 		}
 
 		@Override
@@ -277,33 +307,143 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	}
 
 	/**
-	 * Simple utility class to wrap two objects and an array of objects in a
-	 * single object which combines their hashes.
+	 * Wraps a {@link BinaryFunctionOp} and caches the results. New inputs will
+	 * result in re-computation of the result.
+	 * 
+	 * @author Christian Dietz (University of Konstanz)
+	 * @param <I1>
+	 * @param <I2>
+	 * @param <O>
+	 */
+	class CachedBinaryFunctionOp<I1, I2, O> extends AbstractOp implements
+		BinaryFunctionOp<I1, I2, O>
+	{
+
+		private final BinaryFunctionOp<I1, I2, O> delegate;
+
+		final Object[] args;
+
+		public CachedBinaryFunctionOp(final BinaryFunctionOp<I1, I2, O> delegate,
+			final Object[] args)
+		{
+			this.delegate = delegate;
+			this.args = args;
+		}
+
+		@Override
+		public O compute2(final I1 input1, final I2 input2) {
+			final OpCache.Key key = new OpCache.Key(delegate.getClass(),
+				new Object[] { input1, input2 }, args);
+
+			@SuppressWarnings("unchecked")
+			O output = (O) cache.get(key);
+
+			if (output == null) {
+				output = delegate.compute2(input1, input2);
+				cache.put(key, output);
+			}
+			return output;
+		}
+
+		@Override
+		public void run() {
+			delegate.run();
+		}
+
+		@Override
+		public I1 in1() {
+			return delegate.in1();
+		}
+
+		@Override
+		public I2 in2() {
+			return delegate.in2();
+		}
+
+		@Override
+		public void setInput1(final I1 input1) {
+			delegate.setInput1(input1);
+		}
+
+		@Override
+		public void setInput2(final I2 input2) {
+			delegate.setInput2(input2);
+		}
+
+		@Override
+		public O out() {
+			return delegate.out();
+		}
+
+		@Override
+		public void initialize() {
+			delegate.initialize();
+		}
+
+		@Override
+		public CachedBinaryFunctionOp<I1, I2, O> getIndependentInstance() {
+			return this;
+		}
+
+	}
+
+	/**
+	 * Wraps a {@link BinaryHybridCF} and caches the results. New inputs will
+	 * result in re-computation if {@link BinaryHybridCF} is used as
+	 * {@link BinaryFunctionOp}.
+	 * 
+	 * @author Christian Dietz (University of Konstanz)
+	 * @param <I1>
+	 * @param <I2>
+	 * @param <O>
 	 */
-	private class Hash {
+	class CachedBinaryHybridOp<I1, I2, O> extends
+		CachedBinaryFunctionOp<I1, I2, O> implements BinaryHybridCF<I1, I2, O>
+	{
+
+		private final BinaryHybridCF<I1, I2, O> hybrid;
+
+		public CachedBinaryHybridOp(final BinaryHybridCF<I1, I2, O> hybrid,
+			final Object[] args)
+		{
+			super(hybrid, args);
+			this.hybrid = hybrid;
+		}
 
-		private final int hash;
+		@Override
+		public O compute2(final I1 input1, final I2 input2) {
+			final OpCache.Key key = new OpCache.Key(hybrid.getClass(),
+				new Object[] { input1, input2 }, args);
 
-		public Hash(final Object o1, final Object o2, final Object[] args) {
-			long h = o1.hashCode() ^ o2.getClass().getSimpleName().hashCode();
+			@SuppressWarnings("unchecked")
+			O output = (O) cache.get(key);
 
-			for (final Object o : args) {
-				h ^= o.hashCode();
+			if (output == null) {
+				output = createOutput(input1, input2);
+				compute2(input1, input2, output);
+				cache.put(key, output);
 			}
+			return output;
+		}
 
-			hash = (int) h;
+		@Override
+		public O createOutput(final I1 input1, final I2 input2) {
+			return hybrid.createOutput(input1, input2);
+		}
+
+		@Override
+		public void compute2(final I1 input1, final I2 input2, final O output) {
+			hybrid.compute2(input1, input2, output);
 		}
 
 		@Override
-		public int hashCode() {
-			return hash;
+		public void setOutput(final O output) {
+			hybrid.setOutput(output);
 		}
 
 		@Override
-		public boolean equals(final Object obj) {
-			if (obj == this) return true;
-			if (obj instanceof Hash) return hash == ((Hash) obj).hash;
-			return false;
+		public CachedBinaryHybridOp<I1, I2, O> getIndependentInstance() {
+			return this;
 		}
 	}
 }
@@ -0,0 +1,340 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.imagej.ops.Op;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.ComplexType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+
+/**
+ * Bounded least-recently-used cache for the outputs of {@link Op}s.
+ * <p>
+ * Outputs are stored under a {@link Key} which compares the op class, the
+ * identity of the op inputs and the equality of all other op arguments. The
+ * size of each output and of the arguments is estimated (see
+ * {@link #estimateBytes(Object)}); once the estimated total exceeds the byte
+ * budget of the cache, the least recently used outputs are evicted.
+ * </p>
+ * <p>
+ * The inputs are only weakly referenced by the cache: once an input is garbage
+ * collected, all outputs computed from it are dropped.
+ * </p>
+ * 
+ * @author agent
+ * @see CachedOpEnvironment
+ * @see OpCacheService
+ */
+public class OpCache {
+
+	/** Estimated size of a cache entry, besides its value. */
+	private static final long ENTRY_OVERHEAD = 64;
+
+	/** Estimated size of values with unknown size. */
+	private static final long DEFAULT_BYTES = 64;
+
+	private final long maxBytes;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16,
+		0.75f, true);
+
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+	private long bytes;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * Creates a cache with the given budget.
+	 * 
+	 * @param maxBytes estimated number of bytes which can be held by the cache
+	 */
+	public OpCache(final long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	// -- OpCache methods --
+
+	/**
+	 * Gets the value stored for the given key, or null if there is none.
+	 */
+	public synchronized Object get(final Key key) {
+		expungeCollected();
+		final Entry entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Stores the given value, evicting the least recently used values if the
+	 * budget is exceeded. Values whose estimated size exceeds the whole budget
+	 * are not stored.
+	 */
+	public synchronized void put(final Key key, final Object value) {
+		expungeCollected();
+		long size = ENTRY_OVERHEAD + estimateBytes(value);
+		for (final Object arg : key.args) {
+			size += estimateBytes(arg);
+		}
+		final Entry previous = entries.remove(key);
+		if (previous != null) bytes -= previous.bytes;
+		if (size > maxBytes) return;
+
+		// NB: The stored key registers its input references with this cache, such
+		// that the entry can be dropped once one of its inputs is collected.
+		entries.put(new Key(key, collected), new Entry(value, size));
+		bytes += size;
+
+		final Iterator<Entry> it = entries.values().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			bytes -= it.next().bytes;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/** Removes all values from the cache. */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	/** Gets the number of values in the cache. */
+	public synchronized int size() {
+		expungeCollected();
+		return entries.size();
+	}
+
+	/** Gets the estimated number of bytes held by the cache. */
+	public synchronized long getBytes() {
+		expungeCollected();
+		return bytes;
+	}
+
+	/** Gets the byte budget of the cache. */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/** Gets the number of {@link #get} calls which found a value. */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/** Gets the number of {@link #get} calls which found no value. */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/** Gets the number of values evicted to stay within the budget. */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Estimates the number of bytes held by the given object. Images are
+	 * estimated from their dimensions and pixel type, arrays and collections
+	 * from their length. All other objects are assumed to be small.
+	 */
+	public static long estimateBytes(final Object o) {
+		if (o instanceof IterableInterval) {
+			final IterableInterval<?> ii = (IterableInterval<?>) o;
+			if (ii.size() == 0) return DEFAULT_BYTES;
+			return ii.size() * bytesPerElement(ii.firstElement());
+		}
+		if (o instanceof RandomAccessibleInterval) {
+			final RandomAccessibleInterval<?> rai = (RandomAccessibleInterval<?>) o;
+			final long size = Intervals.numElements(rai);
+			if (size == 0) return DEFAULT_BYTES;
+			return size * bytesPerElement(Util.getTypeFromInterval(rai));
+		}
+		if (o != null && o.getClass().isArray()) {
+			final Class<?> component = o.getClass().getComponentType();
+			final long length = Array.getLength(o);
+			if (component == byte.class || component == boolean.class) return length;
+			if (component == short.class || component == char.class) {
+				return 2 * length;
+			}
+			if (component == int.class || component == float.class) {
+				return 4 * length;
+			}
+			return 8 * length;
+		}
+		if (o instanceof Collection) {
+			return Math.max(DEFAULT_BYTES, 8 * ((Collection<?>) o).size());
+		}
+		if (o instanceof Map) {
+			return Math.max(DEFAULT_BYTES, 16 * ((Map<?, ?>) o).size());
+		}
+		return DEFAULT_BYTES;
+	}
+
+	// -- Helper methods --
+
+	/** Removes the entries whose inputs have been garbage collected. */
+	private void expungeCollected() {
+		Object ref;
+		while ((ref = collected.poll()) != null) {
+			final Entry entry = entries.remove(((InputReference) ref).key);
+			if (entry != null) bytes -= entry.bytes;
+		}
+	}
+
+	private static long bytesPerElement(final Object type) {
+		if (type instanceof RealType) {
+			return Math.max(1, (((RealType<?>) type).getBitsPerPixel() + 7) / 8);
+		}
+		if (type instanceof ComplexType) return 16;
+		return 8;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Key of a cached op output. Two keys are equal iff they refer to the same
+	 * op class, the very same inputs and equal further arguments. The inputs are
+	 * weakly referenced.
+	 */
+	public static final class Key {
+
+		private final Class<?> opClass;
+
+		private final WeakReference<?>[] inputs;
+
+		private final Object[] args;
+
+		private final int hash;
+
+		public Key(final Class<?> opClass, final Object[] inputs,
+			final Object[] args)
+		{
+			this.opClass = opClass;
+			this.inputs = new WeakReference<?>[inputs.length];
+			this.args = args;
+
+			int h = opClass.hashCode();
+			for (int i = 0; i < inputs.length; i++) {
+				if (inputs[i] != null) {
+					this.inputs[i] = new WeakReference<>(inputs[i]);
+				}
+				h = 31 * h + System.identityHashCode(inputs[i]);
+			}
+			hash = 31 * h + Arrays.hashCode(args);
+		}
+
+		/** Copies the given key, registering its inputs with the given queue. */
+		private Key(final Key key, final ReferenceQueue<Object> queue) {
+			opClass = key.opClass;
+			inputs = new WeakReference<?>[key.inputs.length];
+			args = key.args;
+			hash = key.hash;
+			for (int i = 0; i < inputs.length; i++) {
+				final Object input = input(key.inputs[i]);
+				if (input != null) inputs[i] = new InputReference(input, queue, this);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key) obj;
+			if (hash != other.hash || opClass != other.opClass) return false;
+			if (inputs.length != other.inputs.length) return false;
+			for (int i = 0; i < inputs.length; i++) {
+				// NB: A collected input only equals itself.
+				if ((inputs[i] == null) != (other.inputs[i] == null)) return false;
+				if (inputs[i] == null) continue;
+				final Object input = inputs[i].get();
+				if (input == null || input != other.inputs[i].get()) return false;
+			}
+			return Arrays.equals(args, other.args);
+		}
+
+		private static Object input(final WeakReference<?> ref) {
+			return ref == null ? null : ref.get();
+		}
+	}
+
+	/** Weak reference to an input, knowing the key it belongs to. */
+	private static final class InputReference extends WeakReference<Object> {
+
+		private final Key key;
+
+		public InputReference(final Object input,
+			final ReferenceQueue<Object> queue, final Key key)
+		{
+			super(input, queue);
+			this.key = key;
+		}
+	}
+
+	/** Cached value together with its estimated size. */
+	private static final class Entry {
+
+		private final Object value;
+
+		private final long bytes;
+
+		public Entry(final Object value, final long bytes) {
+			this.value = value;
+			this.bytes = bytes;
+		}
+	}
+
+}
@@ -35,6 +35,7 @@ import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops;
 import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.ComplexType;
@@ -103,6 +104,18 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.imageType.ConvertRAIView.class)
+	public <I extends RealType<I>, O extends RealType<O>>
+		RandomAccessibleInterval<O> imageType(final RandomAccessibleInterval<I> in,
+			final O outType, final RealTypeConverter<I, O> typeConverter)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(Ops.Convert.ImageType.class, in,
+				outType, typeConverter);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.convert.normalizeScale.NormalizeScaleRealTypes.class)
 	public <I extends RealType<I>, O extends RealType<O>> O normalizeScale(
@@ -296,6 +309,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int8FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromDouble.class })
+	public <C extends RealType<C>> Img<ByteType> int8(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ByteType> result = (Img<ByteType>) ops().run(
+			Ops.Convert.Int8.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int8FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int8FromDouble.class })
+	public <C extends RealType<C>> Img<ByteType> int8(
+		final Img<ByteType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ByteType> result = (Img<ByteType>) ops().run(
+			Ops.Convert.Int8.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt8.class)
 	public <C extends ComplexType<C>> ByteType int8(final C in) {
 		final ByteType result = (ByteType) ops().run(
@@ -348,6 +399,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedByteType> uint8(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedByteType> result = (Img<UnsignedByteType>) ops().run(
+			Ops.Convert.Uint8.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint8FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedByteType> uint8(
+		final Img<UnsignedByteType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedByteType> result = (Img<UnsignedByteType>) ops().run(
+			Ops.Convert.Uint8.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint8.class)
 	public <C extends ComplexType<C>> UnsignedByteType uint8(final C in) {
 		final UnsignedByteType result = (UnsignedByteType) ops().run(
@@ -452,6 +541,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int16FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromDouble.class })
+	public <C extends RealType<C>> Img<ShortType> int16(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ShortType> result = (Img<ShortType>) ops().run(
+			Ops.Convert.Int16.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int16FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int16FromDouble.class })
+	public <C extends RealType<C>> Img<ShortType> int16(
+		final Img<ShortType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ShortType> result = (Img<ShortType>) ops().run(
+			Ops.Convert.Int16.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt16.class)
 	public <C extends ComplexType<C>> ShortType int16(final C in) {
 		final ShortType result = (ShortType) ops().run(
@@ -504,6 +631,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedShortType> uint16(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedShortType> result = (Img<UnsignedShortType>) ops().run(
+			Ops.Convert.Uint16.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint16FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedShortType> uint16(
+		final Img<UnsignedShortType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedShortType> result = (Img<UnsignedShortType>) ops().run(
+			Ops.Convert.Uint16.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint16.class)
 	public <C extends ComplexType<C>> UnsignedShortType uint16(final C in) {
 		final UnsignedShortType result = (UnsignedShortType) ops().run(
@@ -556,6 +721,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromDouble.class })
+	public <C extends RealType<C>> Img<IntType> int32(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<IntType> result = (Img<IntType>) ops().run(
+			Ops.Convert.Int32.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int32FromDouble.class })
+	public <C extends RealType<C>> Img<IntType> int32(
+		final Img<IntType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<IntType> result = (Img<IntType>) ops().run(
+			Ops.Convert.Int32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.IntegerToInt32.class)
 	public <T extends IntegerType<T>> IntType int32(final T in) {
 		final IntType result = (IntType) ops().run(
@@ -608,6 +811,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedIntType> uint32(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedIntType> result = (Img<UnsignedIntType>) ops().run(
+			Ops.Convert.Uint32.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Uint32FromDouble.class })
+	public <C extends RealType<C>> Img<UnsignedIntType> uint32(
+		final Img<UnsignedIntType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedIntType> result = (Img<UnsignedIntType>) ops().run(
+			Ops.Convert.Uint32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint32.class)
 	public <C extends ComplexType<C>> UnsignedIntType uint32(final C in) {
 		final UnsignedIntType result = (UnsignedIntType) ops().run(
@@ -660,6 +901,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int64FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromDouble.class })
+	public <C extends RealType<C>> Img<LongType> int64(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<LongType> result = (Img<LongType>) ops().run(
+			Ops.Convert.Int64.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Int64FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Int64FromDouble.class })
+	public <C extends RealType<C>> Img<LongType> int64(
+		final Img<LongType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<LongType> result = (Img<LongType>) ops().run(
+			Ops.Convert.Int64.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt64.class)
 	public <C extends ComplexType<C>> LongType int64(final C in) {
 		final LongType result = (LongType) ops().run(
@@ -816,6 +1095,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Float32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromDouble.class })
+	public <C extends RealType<C>> Img<FloatType> float32(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> result = (Img<FloatType>) ops().run(
+			Ops.Convert.Float32.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Float32FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Float32FromDouble.class })
+	public <C extends RealType<C>> Img<FloatType> float32(
+		final Img<FloatType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> result = (Img<FloatType>) ops().run(
+			Ops.Convert.Float32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToFloat32.class)
 	public <C extends ComplexType<C>> FloatType float32(final C in) {
 		final FloatType result = (FloatType) ops().run(
@@ -888,6 +1205,44 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Float64FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromDouble.class })
+	public <C extends RealType<C>> Img<DoubleType> float64(
+		final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<DoubleType> result = (Img<DoubleType>) ops().run(
+			Ops.Convert.Float64.class, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.convert.ConvertImagesP.Float64FromByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedByte.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedShort.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromUnsignedInt.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromLong.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromFloat.class,
+		net.imagej.ops.convert.ConvertImagesP.Float64FromDouble.class })
+	public <C extends RealType<C>> Img<DoubleType> float64(
+		final Img<DoubleType> out, final Img<C> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<DoubleType> result = (Img<DoubleType>) ops().run(
+			Ops.Convert.Float64.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToFloat64.class)
 	public <C extends ComplexType<C>> DoubleType float64(final C in) {
 		final DoubleType result = (DoubleType) ops().run(
@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.convert.imageType;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.convert.RealTypeConverter;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.converter.Converter;
+import net.imglib2.converter.Converters;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Converts a {@link RandomAccessibleInterval} lazily, by wrapping it into a
+ * read-only view (see {@link Converters}) which applies a
+ * {@link RealTypeConverter} on access.
+ * <p>
+ * Unlike {@link ConvertIIs}, nothing is allocated: values are converted
+ * whenever the view is read, e.g. when a subsequent op consumes it or writes
+ * it into an output image. Parameters which depend on the whole input (such
+ * as the min/max of {@code normalizeScale}) are computed once, on first
+ * access.
+ * </p>
+ * <p>
+ * NB: The converter's parameters are set up for the returned view, so the same
+ * converter instance must not be shared between views which are still in use.
+ * </p>
+ * 
+ * @author agent
+ */
+@Plugin(type = Ops.Convert.ImageType.class)
+public class ConvertRAIView<I extends RealType<I>, O extends RealType<O>>
+	extends
+	AbstractUnaryFunctionOp<RandomAccessibleInterval<I>, RandomAccessibleInterval<O>>
+	implements Ops.Convert.ImageType
+{
+
+	@Parameter
+	private O outType;
+
+	@Parameter
+	private RealTypeConverter<I, O> typeConverter;
+
+	@Override
+	public void initialize() {
+		// NB: The converter may have been created directly rather than matched,
+		// in which case it still needs its environment for heavier parameters.
+		if (typeConverter.ops() == null) {
+			typeConverter.setEnvironment(ops());
+			typeConverter.initialize();
+		}
+	}
+
+	@Override
+	public RandomAccessibleInterval<O> compute1(
+		final RandomAccessibleInterval<I> input)
+	{
+		typeConverter.checkInput(Util.getTypeFromInterval(input).createVariable(),
+			outType.createVariable());
+		return Converters.convert(input, new LazyConverter<>(typeConverter, Views
+			.iterable(input)), outType.createVariable());
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Adapts a {@link RealTypeConverter} to a {@link Converter}, calling
+	 * {@link RealTypeConverter#checkInput(IterableInterval)} before the first
+	 * conversion.
+	 */
+	private static class LazyConverter<I extends RealType<I>, O extends RealType<O>>
+		implements Converter<I, O>
+	{
+
+		private final RealTypeConverter<I, O> pixConvert;
+
+		private final IterableInterval<I> source;
+
+		private volatile boolean checked;
+
+		public LazyConverter(final RealTypeConverter<I, O> pixConvert,
+			final IterableInterval<I> source)
+		{
+			this.pixConvert = pixConvert;
+			this.source = source;
+		}
+
+		@Override
+		public void convert(final I input, final O output) {
+			if (!checked) check();
+			pixConvert.compute1(input, output);
+		}
+
+		private synchronized void check() {
+			if (checked) return;
+			pixConvert.checkInput(source);
+			checked = true;
+		}
+	}
+
+}
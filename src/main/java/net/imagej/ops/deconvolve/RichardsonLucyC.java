@@ -51,6 +51,7 @@ import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
 import net.imglib2.util.Util;
 import net.imglib2.view.IntervalView;
 import net.imglib2.view.Views;
@@ -121,6 +122,8 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 
 	private RandomAccessibleInterval<O> raiExtendedReblurred;
 
+	private RandomAccessibleInterval<O> raiEstimateBuffer;
+
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void initialize() {
@@ -160,20 +163,28 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 	public void compute2(RandomAccessibleInterval<I> in,
 		RandomAccessibleInterval<K> kernel, RandomAccessibleInterval<O> out)
 	{
-		// if a starting point for the estimate was not passed in then create
-		// estimate Img and use the input as the starting point
+		// if a starting point for the estimate was not passed in then use the
+		// input as the starting point
+		final RandomAccessibleInterval<O> estimate;
 		if (raiExtendedEstimate == null) {
+			raiEstimateBuffer = reuse(raiEstimateBuffer);
+			estimate = raiEstimateBuffer;
 
-			raiExtendedEstimate = create.compute1(getImgConvolutionInterval());
-
-			copy.compute1(in, raiExtendedEstimate);
+			copy.compute1(in, estimate);
+		}
+		else {
+			estimate = raiExtendedEstimate;
 		}
 
-		// create image for the reblurred
-		raiExtendedReblurred = create.compute1(getImgConvolutionInterval());
+		// NB: the reblurred image is overwritten in place by the correction
+		// factor each iteration, so one buffer serves the whole deconvolution
+		// (and subsequent calls of the same size).
+		raiExtendedReblurred = reuse(raiExtendedReblurred);
 
 		// perform fft of psf
-		fftKernel.compute1(kernel, getFFTKernel());
+		if (getPerformKernelFFT()) {
+			fftKernel.compute1(kernel, getFFTKernel());
+		}
 
 		// -- perform iterations --
 
@@ -187,24 +198,24 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 			// NOTE: the FFT of the PSF of the kernel has been passed in as a
 			// parameter. when the op was set up, and computed above, so we can use
 			// compute1
-			convolver.compute1(raiExtendedEstimate, this.raiExtendedReblurred);
+			convolver.compute1(estimate, raiExtendedReblurred);
 
 			// compute correction factor
 			rlCorrection.compute2(in, raiExtendedReblurred, raiExtendedReblurred);
 
 			// perform update to calculate new estimate
-			update.compute1(raiExtendedReblurred, raiExtendedEstimate);
+			update.compute1(raiExtendedReblurred, estimate);
 
 			// apply post processing
 			if (iterativePostProcessing != null) {
 				for (UnaryInplaceOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> pp : iterativePostProcessing) {
-					pp.mutate(raiExtendedEstimate);
+					pp.mutate(estimate);
 				}
 			}
 
 			// accelerate the algorithm by taking a larger step
 			if (getAccelerator() != null) {
-				getAccelerator().mutate(raiExtendedEstimate);
+				getAccelerator().mutate(estimate);
 			}
 		}
 
@@ -218,8 +229,23 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 			end[d] = start[d] + out.dimension(d) - 1;
 		}
 
-		copy2.compute1(Views.interval(raiExtendedEstimate, new FinalInterval(start,
+		copy2.compute1(Views.interval(estimate, new FinalInterval(start,
 			end)), out);
 	}
 
+	/**
+	 * Returns the given buffer if it matches the size of the convolution
+	 * interval, or a newly created one otherwise.
+	 */
+	private RandomAccessibleInterval<O> reuse(
+		final RandomAccessibleInterval<O> buffer)
+	{
+		if (buffer != null && Intervals.equalDimensions(buffer,
+			getImgConvolutionInterval()))
+		{
+			return buffer;
+		}
+		return create.compute1(getImgConvolutionInterval());
+	}
+
 }
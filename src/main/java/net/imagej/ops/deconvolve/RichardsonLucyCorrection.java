@@ -31,16 +31,19 @@
 package net.imagej.ops.deconvolve;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.filter.correlate.CorrelateFFTC;
-import net.imagej.ops.math.divide.DivideHandleZeroMap1;
 import net.imagej.ops.special.computer.AbstractBinaryComputerOp;
 import net.imagej.ops.special.computer.BinaryComputerOp;
 import net.imagej.ops.special.computer.Computers;
-import net.imagej.ops.special.inplace.BinaryInplace1Op;
-import net.imagej.ops.special.inplace.Inplaces;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.Priority;
 import org.scijava.plugin.Parameter;
@@ -61,7 +64,7 @@ import org.scijava.plugin.Plugin;
 public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<O>, C extends ComplexType<C>>
 	extends
 	AbstractBinaryComputerOp<RandomAccessibleInterval<I>, RandomAccessibleInterval<O>, RandomAccessibleInterval<O>>
-	implements Ops.Deconvolve.RichardsonLucyCorrection
+	implements Ops.Deconvolve.RichardsonLucyCorrection, Parallel
 {
 
 	/** fft of reblurred (will be computed) **/
@@ -72,18 +75,12 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 	@Parameter
 	private RandomAccessibleInterval<C> fftKernel;
 
-	private BinaryInplace1Op<RandomAccessibleInterval<O>, RandomAccessibleInterval<I>, RandomAccessibleInterval<O>> divide;
-
 	private BinaryComputerOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> correlate;
 
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void initialize() {
 
-		divide = (BinaryInplace1Op) Inplaces.binary1(ops(),
-			DivideHandleZeroMap1.class, RandomAccessibleInterval.class,
-			RandomAccessibleInterval.class);
-
 		correlate = (BinaryComputerOp) Computers.binary(ops(), CorrelateFFTC.class,
 			RandomAccessibleInterval.class, RandomAccessibleInterval.class,
 			RandomAccessibleInterval.class, fftBuffer, fftKernel, true, false);
@@ -99,7 +96,7 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 		RandomAccessibleInterval<O> correction)
 	{
 		// divide observed image by reblurred
-		divide.mutate1(reblurred, observed);
+		divide(observed, reblurred);
 
 		// correlate with psf to compute the correction factor
 		// Note: FFT of psf is pre-computed and set as an input parameter of the op
@@ -107,4 +104,46 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 
 	}
 
+	/**
+	 * Divides the observed image by the reblurred image in place, setting the
+	 * result to zero where the reblurred image is not positive. This is the same
+	 * computation as {@code DivideHandleZeroMap1}, but runs chunk-parallel.
+	 */
+	private void divide(final RandomAccessibleInterval<I> observed,
+		final RandomAccessibleInterval<O> reblurred)
+	{
+		final IterableInterval<I> observedIterable = Views.flatIterable(observed);
+		final IterableInterval<O> reblurredIterable = Views.flatIterable(
+			reblurred);
+
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<I> o = observedIterable.cursor();
+				final Cursor<O> r = reblurredIterable.cursor();
+				setToStart(o, startIndex);
+				setToStart(r, startIndex);
+
+				final O tmp = r.get().createVariable();
+
+				for (int i = 0; i < numSteps; i++) {
+					final O rv = r.get();
+					if (rv.getRealFloat() > 0) {
+						tmp.setReal(o.get().getRealFloat());
+						tmp.div(rv);
+						rv.set(tmp);
+					}
+					else {
+						rv.setReal(0.0);
+					}
+					o.jumpFwd(stepSize);
+					r.jumpFwd(stepSize);
+				}
+			}
+		}, reblurredIterable.size());
+	}
+
 }
@@ -132,7 +132,8 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 		createFilterComputer(RandomAccessibleInterval<I> raiExtendedInput,
 			RandomAccessibleInterval<K> raiExtendedKernel,
 			RandomAccessibleInterval<C> fftImg, RandomAccessibleInterval<C> fftKernel,
-			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval)
+			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval,
+			boolean performKernelFFT)
 	{
 		UnaryInplaceOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> accelerator =
 			null;
@@ -164,14 +165,14 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 					imgConvolutionInterval, Util.getTypeFromInterval(output), in());
 
 			return Computers.binary(ops(), RichardsonLucyC.class, output,
-				raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, true,
+				raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, performKernelFFT,
 				maxIterations, imgConvolutionInterval, accelerator, computeEstimateOp,
 				fg.compute1(raiExtendedInput), list);
 		}
 
 		// return a richardson lucy computer
 		return Computers.binary(ops(), RichardsonLucyC.class, output,
-			raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, true,
+			raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, performKernelFFT,
 			maxIterations, imgConvolutionInterval, accelerator, computeEstimateOp);
 	}
 
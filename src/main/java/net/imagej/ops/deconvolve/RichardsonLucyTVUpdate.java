@@ -33,8 +33,12 @@ package net.imagej.ops.deconvolve;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
 import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.multithreading.SimpleMultiThreading;
@@ -64,7 +68,7 @@ import org.scijava.plugin.Plugin;
 	priority = Priority.HIGH_PRIORITY)
 public class RichardsonLucyTVUpdate<T extends RealType<T> & NativeType<T>, I extends RandomAccessibleInterval<T>>
 	extends AbstractUnaryComputerOp<I, I> implements
-	Ops.Deconvolve.RichardsonLucyUpdate
+	Ops.Deconvolve.RichardsonLucyUpdate, Parallel
 {
 
 	@Parameter
@@ -87,21 +91,39 @@ public class RichardsonLucyTVUpdate<T extends RealType<T> & NativeType<T>, I ext
 
 		divUnitGradFastThread(estimate);
 
-		final Cursor<T> cursorCorrection = Views.iterable(correction).cursor();
-
-		final Cursor<T> cursorVariation = Views.iterable(variation).cursor();
-
-		final Cursor<T> cursorEstimate = Views.iterable(estimate).cursor();
-
-		while (cursorEstimate.hasNext()) {
-			cursorCorrection.fwd();
-			cursorVariation.fwd();
-			cursorEstimate.fwd();
-
-			cursorEstimate.get().mul(cursorCorrection.get());
-			cursorEstimate.get().mul(1f / (1f - regularizationFactor * cursorVariation
-				.get().getRealFloat()));
-		}
+		final IterableInterval<T> correctionIterable = Views.flatIterable(
+			correction);
+		final IterableInterval<T> variationIterable = Views.flatIterable(
+			variation);
+		final IterableInterval<T> estimateIterable = Views.flatIterable(estimate);
+
+		// multiply the estimate by the correction factor and the total variation
+		// term in one pass
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> cursorCorrection = correctionIterable.cursor();
+				final Cursor<T> cursorVariation = variationIterable.cursor();
+				final Cursor<T> cursorEstimate = estimateIterable.cursor();
+				setToStart(cursorCorrection, startIndex);
+				setToStart(cursorVariation, startIndex);
+				setToStart(cursorEstimate, startIndex);
+
+				for (int i = 0; i < numSteps; i++) {
+					final T e = cursorEstimate.get();
+					e.mul(cursorCorrection.get());
+					e.mul(1f / (1f - regularizationFactor * cursorVariation.get()
+						.getRealFloat()));
+
+					cursorCorrection.jumpFwd(stepSize);
+					cursorVariation.jumpFwd(stepSize);
+					cursorEstimate.jumpFwd(stepSize);
+				}
+			}
+		}, estimateIterable.size());
 
 	}
 
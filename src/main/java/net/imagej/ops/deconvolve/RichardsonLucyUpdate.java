@@ -31,12 +31,15 @@
 package net.imagej.ops.deconvolve;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.math.IIToIIOutputII;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
-import net.imagej.ops.special.hybrid.BinaryHybridCF;
-import net.imagej.ops.special.hybrid.Hybrids;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.Priority;
 import org.scijava.plugin.Plugin;
@@ -56,23 +59,9 @@ import org.scijava.plugin.Plugin;
 	priority = Priority.HIGH_PRIORITY)
 public class RichardsonLucyUpdate<T extends RealType<T>> extends
 	AbstractUnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>>
-	implements Ops.Deconvolve.RichardsonLucyUpdate
+	implements Ops.Deconvolve.RichardsonLucyUpdate, Parallel
 {
 
-	private BinaryHybridCF<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> mul =
-		null;
-
-	@Override
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	public void initialize() {
-
-		// TODO: comment in when problem with initialize is fixed
-		// mul = (BinaryHybridCF)Hybrids.binaryCF(ops(),
-		// IIToIIOutputII.Multiply.class,
-		// RandomAccessibleInterval.class, RandomAccessibleInterval.class,
-		// RandomAccessibleInterval.class);
-	}
-
 	/**
 	 * performs update step of the Richardson Lucy Algorithm
 	 */
@@ -80,15 +69,29 @@ public class RichardsonLucyUpdate<T extends RealType<T>> extends
 	public void compute1(RandomAccessibleInterval<T> correction,
 		RandomAccessibleInterval<T> estimate)
 	{
+		final IterableInterval<T> correctionIterable = Views.flatIterable(
+			correction);
+		final IterableInterval<T> estimateIterable = Views.flatIterable(estimate);
 
-		// TODO: delte these lines when problem in initialization is fixed
-		if (mul == null) {
+		// multiply the estimate by the correction factor
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
 
-			mul = Hybrids.binaryCF(ops(), IIToIIOutputII.Multiply.class, estimate,
-				correction, estimate);
-		}
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> c = correctionIterable.cursor();
+				final Cursor<T> e = estimateIterable.cursor();
+				setToStart(c, startIndex);
+				setToStart(e, startIndex);
 
-		mul.compute2(estimate, correction, estimate);
+				for (int i = 0; i < numSteps; i++) {
+					e.get().mul(c.get());
+					c.jumpFwd(stepSize);
+					e.jumpFwd(stepSize);
+				}
+			}
+		}, estimateIterable.size());
 	}
 
 }
@@ -30,13 +30,20 @@
 
 package net.imagej.ops.deconvolve.accelerate;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.inplace.AbstractUnaryInplaceOp;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
 import net.imglib2.Cursor;
 import net.imglib2.Dimensions;
 import net.imglib2.FinalDimensions;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgFactory;
@@ -60,12 +67,11 @@ import org.scijava.plugin.Plugin;
 	priority = Priority.NORMAL_PRIORITY)
 public class VectorAccelerator<T extends RealType<T> & NativeType<T>> extends
 	AbstractUnaryInplaceOp<RandomAccessibleInterval<T>> implements
-	Ops.Deconvolve.Accelerate
+	Ops.Deconvolve.Accelerate, Parallel
 {
 
 	Img<T> xkm1_previous = null;
 	Img<T> yk_prediction = null;
-	Img<T> hk_vector = null;
 
 	Img<T> gk;
 	Img<T> gkm1;
@@ -102,9 +108,7 @@ public class VectorAccelerator<T extends RealType<T> & NativeType<T>> extends
 
 			yk_prediction = create.compute1(dims);
 			xkm1_previous = create.compute1(dims);
-			yk_prediction = create.compute1(dims);
 			gk = create.compute1(dims);
-			hk_vector = create.compute1(dims);
 
 		}
 
@@ -127,133 +131,160 @@ public class VectorAccelerator<T extends RealType<T> & NativeType<T>> extends
 				accelerationFactor = 1.0f;
 			}
 		}
-
-		// current estimate for x is yk_iterated
-		RandomAccessibleInterval<T> xk_estimate = yk_iterated;
-
-		// calculate the change vector between x and x previous
-		if (accelerationFactor > 0) {
-			Subtract(xk_estimate, xkm1_previous, hk_vector);
-
-			// make the next prediction
-			yk_prediction = AddAndScale(xk_estimate, hk_vector,
-				(float) accelerationFactor);
-		}
 		else {
-
 			// TODO: Revisit where initialization should be done
 			initialize(yk_iterated);
-
-			Copy(xk_estimate, yk_prediction);
 		}
 
-		// make a copy of the estimate to use as previous next time
-		Copy(xk_estimate, xkm1_previous);
-
-		// HACK: TODO: look over how to transfer the memory
-		Copy(yk_prediction, yk_iterated);
+		// current estimate for x is yk_iterated, make the next prediction from
+		// the change vector between x and x previous, and keep x as previous for
+		// the next iteration -- all in one pass
+		predict(yk_iterated, (float) accelerationFactor);
 	}
 
 	double computeAccelerationFactor(RandomAccessibleInterval<T> yk_iterated) {
-		// gk=StaticFunctions.Subtract(yk_iterated, yk_prediction);
-		Subtract(yk_iterated, yk_prediction, gk);
-
-		if (gkm1 != null) {
-			double numerator = DotProduct(gk, gkm1);
-			double denominator = DotProduct(gkm1, gkm1);
-
-			gkm1 = gk.copy();
-			return numerator / denominator;
 
+		if (gk == null) {
+			gk = create.compute1(yk_prediction);
 		}
 
-		gkm1 = gk.copy();
-
-		return 0.0;
-
-	}
-
-	/*
-	 * multiply inputOutput by input and place the result in input
-	 */
-	public double DotProduct(final Img<T> image1, final Img<T> image2) {
-		final Cursor<T> cursorImage1 = image1.cursor();
-		final Cursor<T> cursorImage2 = image2.cursor();
-
-		double dotProduct = 0.0d;
+		// gk = yk_iterated - yk_prediction, together with the dot products
+		// gk.gkm1 and gkm1.gkm1
+		final double[] products = subtractAndDot(yk_iterated, yk_prediction, gk,
+			gkm1);
 
-		while (cursorImage1.hasNext()) {
-			cursorImage1.fwd();
-			cursorImage2.fwd();
+		// NB: swap the buffers rather than copying gk
+		final Img<T> temp = gkm1;
+		gkm1 = gk;
+		gk = temp;
 
-			float val1 = cursorImage1.get().getRealFloat();
-			float val2 = cursorImage2.get().getRealFloat();
+		if (products == null) return 0.0;
 
-			dotProduct += val1 * val2;
-		}
-
-		return dotProduct;
+		return products[0] / products[1];
 	}
 
-	// TODO replace with Op
-	// copy a into b
-	protected void Copy(RandomAccessibleInterval<T> a,
-		RandomAccessibleInterval<T> b)
-	{
-
-		final Cursor<T> cursorA = Views.iterable(a).cursor();
-		final Cursor<T> cursorB = Views.iterable(b).cursor();
-
-		while (cursorA.hasNext()) {
-			cursorA.fwd();
-			cursorB.fwd();
-
-			cursorB.get().set(cursorA.get());
-		}
-	}
-
-	// TODO replace with op.
-	protected void Subtract(RandomAccessibleInterval<T> a,
-		RandomAccessibleInterval<T> input, RandomAccessibleInterval<T> output)
+	/**
+	 * Computes {@code g = a - b} and, if {@code gPrevious} is not null, returns
+	 * the dot products {@code g.gPrevious} and {@code gPrevious.gPrevious}.
+	 */
+	private double[] subtractAndDot(final RandomAccessibleInterval<T> a,
+		final Img<T> b, final Img<T> g, final Img<T> gPrevious)
 	{
+		final IterableInterval<T> aIterable = Views.flatIterable(a);
+		final IterableInterval<T> bIterable = Views.flatIterable(b);
+		final IterableInterval<T> gIterable = Views.flatIterable(g);
+		final IterableInterval<T> gPreviousIterable = gPrevious == null ? null
+			: Views.flatIterable(gPrevious);
+
+		// partial sums per chunk, summed up in chunk order for reproducibility
+		final Map<Integer, double[]> partials = new TreeMap<>();
+
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> cursorA = aIterable.cursor();
+				final Cursor<T> cursorB = bIterable.cursor();
+				final Cursor<T> cursorG = gIterable.cursor();
+				final Cursor<T> cursorGPrevious = gPreviousIterable == null ? null
+					: gPreviousIterable.cursor();
+				setToStart(cursorA, startIndex);
+				setToStart(cursorB, startIndex);
+				setToStart(cursorG, startIndex);
+				if (cursorGPrevious != null) setToStart(cursorGPrevious, startIndex);
+
+				double numerator = 0.0d;
+				double denominator = 0.0d;
+
+				for (int i = 0; i < numSteps; i++) {
+					final T g = cursorG.get();
+					g.set(cursorA.get());
+					g.sub(cursorB.get());
+
+					if (cursorGPrevious != null) {
+						final float val1 = g.getRealFloat();
+						final float val2 = cursorGPrevious.get().getRealFloat();
+						numerator += val1 * val2;
+						denominator += val2 * val2;
+						cursorGPrevious.jumpFwd(stepSize);
+					}
+
+					cursorA.jumpFwd(stepSize);
+					cursorB.jumpFwd(stepSize);
+					cursorG.jumpFwd(stepSize);
+				}
+
+				synchronized (partials) {
+					partials.put(startIndex, new double[] { numerator, denominator });
+				}
+			}
+		}, gIterable.size());
 
-		final Cursor<T> cursorA = Views.iterable(a).cursor();
-		final Cursor<T> cursorInput = Views.iterable(input).cursor();
-		final Cursor<T> cursorOutput = Views.iterable(output).cursor();
-
-		while (cursorA.hasNext()) {
-			cursorA.fwd();
-			cursorInput.fwd();
-			cursorOutput.fwd();
+		if (gPrevious == null) return null;
 
-			cursorOutput.get().set(cursorA.get());
-			cursorOutput.get().sub(cursorInput.get());
+		final double[] products = new double[2];
+		for (final double[] partial : partials.values()) {
+			products[0] += partial[0];
+			products[1] += partial[1];
 		}
+		return products;
 	}
 
-	// TODO: replace with op
-	public Img<T> AddAndScale(final RandomAccessibleInterval<T> img1,
-		final Img<T> img2, final float a)
-	{
-		Img<T> out = create.compute1(img1);
-
-		final Cursor<T> cursor1 = Views.iterable(img1).cursor();
-		final Cursor<T> cursor2 = img2.cursor();
-		final Cursor<T> cursorOut = out.cursor();
-
-		while (cursor1.hasNext()) {
-			cursor1.fwd();
-			cursor2.fwd();
-			cursorOut.fwd();
-
-			float val1 = cursor1.get().getRealFloat();
-			float val2 = cursor2.get().getRealFloat();
-
-			float val3 = Math.max(val1 + a * val2, 0.0001f);
-
-			cursorOut.get().setReal(val3);
-		}
-
-		return out;
+	/**
+	 * Writes the next prediction {@code y = max(x + a * (x - xPrevious),
+	 * 0.0001)} to both the prediction buffer and x, and stores the old x as
+	 * previous. For {@code a == 0} the prediction is x itself.
+	 */
+	private void predict(final RandomAccessibleInterval<T> x, final float a) {
+		final IterableInterval<T> xIterable = Views.flatIterable(x);
+		final IterableInterval<T> previousIterable = Views.flatIterable(
+			xkm1_previous);
+		final IterableInterval<T> predictionIterable = Views.flatIterable(
+			yk_prediction);
+
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> cursorX = xIterable.cursor();
+				final Cursor<T> cursorPrevious = previousIterable.cursor();
+				final Cursor<T> cursorPrediction = predictionIterable.cursor();
+				setToStart(cursorX, startIndex);
+				setToStart(cursorPrevious, startIndex);
+				setToStart(cursorPrediction, startIndex);
+
+				final T h = cursorX.get().createVariable();
+
+				for (int i = 0; i < numSteps; i++) {
+					final T xk = cursorX.get();
+					final T previous = cursorPrevious.get();
+					final T prediction = cursorPrediction.get();
+
+					if (a > 0) {
+						h.set(xk);
+						h.sub(previous);
+
+						final float val = Math.max(xk.getRealFloat() + a * h
+							.getRealFloat(), 0.0001f);
+
+						previous.set(xk);
+						prediction.setReal(val);
+						xk.setReal(val);
+					}
+					else {
+						previous.set(xk);
+						prediction.set(xk);
+					}
+
+					cursorX.jumpFwd(stepSize);
+					cursorPrevious.jumpFwd(stepSize);
+					cursorPrediction.jumpFwd(stepSize);
+				}
+			}
+		}, xIterable.size());
 	}
 }
@@ -0,0 +1,464 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.eval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.Ops;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.img.Img;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Intervals;
+
+import org.scijava.sjep.ExpressionParser;
+import org.scijava.sjep.Operator;
+import org.scijava.sjep.Operators;
+import org.scijava.sjep.Variable;
+
+/**
+ * An expression over images, compiled into a single per-pixel kernel.
+ * <p>
+ * Instead of executing one op per operator, which creates an intermediate
+ * image for each of them, the kernel evaluates the whole expression for one
+ * pixel at a time and writes the result to a single output image.
+ * Subexpressions of floating point constants are folded. The pixels are
+ * processed in parallel chunks.
+ * </p>
+ * <p>
+ * The kernel computes in double precision. If all images are
+ * {@link FloatType} images, constants and the result of each instruction are
+ * rounded to float, just like the ops compute each intermediate image.
+ * </p>
+ * <p>
+ * The operands must be {@link IterableInterval}s of {@link RealType}s with
+ * the same dimensions and iteration order, numbers or booleans, and the
+ * operators must be arithmetic, relational or logical ones. Expressions
+ * yielding a number or doing arithmetic on images must only use
+ * {@link FloatType} or only {@link DoubleType} images, since ops on integer
+ * images compute each intermediate image in the integer type. Expressions
+ * yielding a boolean produce a {@link BitType} image. All other expressions,
+ * and those combining integer constants, are left to the {@link OpEvaluator}.
+ * </p>
+ * 
+ * @author agent
+ */
+public final class CompiledExpression {
+
+	/** Images with fewer pixels are processed on the calling thread. */
+	private static final long PARALLEL_THRESHOLD = 1 << 14;
+
+	// -- Instructions --
+
+	private static final int CONSTANT = 0;
+	private static final int IMAGE = 1;
+	private static final int NEG = 2;
+	private static final int POW = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	private static final int MOD = 6;
+	private static final int ADD = 7;
+	private static final int SUB = 8;
+	private static final int LESS_THAN = 9;
+	private static final int GREATER_THAN = 10;
+	private static final int LESS_THAN_OR_EQUAL = 11;
+	private static final int GREATER_THAN_OR_EQUAL = 12;
+	private static final int EQUAL = 13;
+	private static final int NOT_EQUAL = 14;
+	private static final int LOGICAL_AND = 15;
+	private static final int LOGICAL_OR = 16;
+
+	/** Marks operators which leave their operand unchanged. */
+	private static final int NONE = 17;
+
+	/** Instructions of the kernel, in postfix order. */
+	private final int[] code;
+
+	/** Index of the constant or image of each instruction. */
+	private final int[] args;
+
+	private final double[] constants;
+
+	private final List<IterableInterval<? extends RealType<?>>> images;
+
+	private final int stackSize;
+
+	private final boolean booleanResult;
+
+	/** Whether the result of each instruction is rounded to float. */
+	private final boolean floatPrecision;
+
+	private CompiledExpression(final int[] code, final int[] args,
+		final double[] constants,
+		final List<IterableInterval<? extends RealType<?>>> images,
+		final int stackSize, final boolean floatPrecision)
+	{
+		this.code = code;
+		this.args = args;
+		this.constants = constants;
+		this.images = images;
+		this.stackSize = stackSize;
+		this.floatPrecision = floatPrecision;
+		final int last = code[code.length - 1];
+		booleanResult = last >= LESS_THAN && last <= LOGICAL_OR;
+	}
+
+	// -- CompiledExpression methods --
+
+	/**
+	 * Compiles the given expression.
+	 * 
+	 * @param evaluator the evaluator whose variables are used
+	 * @param expression the expression to compile
+	 * @return the compiled expression, or null if the expression cannot be
+	 *         evaluated by a single kernel
+	 */
+	public static CompiledExpression compile(final OpEvaluator evaluator,
+		final String expression)
+	{
+		final LinkedList<Object> tokens = new ExpressionParser().parsePostfix(
+			expression);
+
+		// NB: Check all operators before any variable is resolved, so that
+		// function names and assignment targets are never looked up.
+		for (final Object token : tokens) {
+			if (token instanceof Operator && instruction((Operator) token) < 0) {
+				return null;
+			}
+		}
+
+		// NB: Resolve all operands first, since the precision of the kernel
+		// depends on the types of all images.
+		final List<Object> values = new ArrayList<>();
+		int numImages = 0;
+		int numFloatImages = 0;
+		int numDoubleImages = 0;
+		for (final Object token : tokens) {
+			if (token instanceof Operator) continue;
+			final Object value = evaluator.value(token);
+			values.add(value);
+			if (value instanceof IterableInterval) {
+				final Object type = ((IterableInterval<?>) value).firstElement();
+				numImages++;
+				if (type instanceof FloatType) numFloatImages++;
+				if (type instanceof DoubleType) numDoubleImages++;
+			}
+		}
+		final boolean floatPrecision = numImages > 0 &&
+			numFloatImages == numImages;
+
+		final int[] code = new int[tokens.size()];
+		final int[] args = new int[tokens.size()];
+		final double[] constants = new double[tokens.size()];
+		final boolean[] integral = new boolean[tokens.size()];
+		final List<IterableInterval<? extends RealType<?>>> images =
+			new ArrayList<>();
+		int numValues = 0;
+		int length = 0;
+		int numConstants = 0;
+		int depth = 0;
+		int maxDepth = 0;
+		boolean arithmetic = false;
+		for (final Object token : tokens) {
+			if (token instanceof Operator) {
+				final Operator op = (Operator) token;
+				final int instruction = instruction(op);
+				if (instruction == NONE) continue;
+				final int arity = op.getArity();
+				if (allConstant(code, length, arity)) {
+					final boolean integer = integral[args[length - 1]];
+					// NB: The ops compute integer constants in integer arithmetic.
+					if (arity > 1 && (integer || integral[args[length - arity]])) {
+						return null;
+					}
+					// fold the constant operands into one constant
+					final double a = constants[args[length - arity]];
+					final double b = constants[args[length - 1]];
+					numConstants -= arity;
+					length -= arity;
+					constants[numConstants] = round(apply(instruction, a, b),
+						floatPrecision);
+					integral[numConstants] = arity == 1 && integer;
+					code[length] = CONSTANT;
+					args[length++] = numConstants++;
+				}
+				else {
+					if (instruction <= SUB) arithmetic = true;
+					code[length++] = instruction;
+				}
+				depth -= arity - 1;
+				continue;
+			}
+
+			final Object value = values.get(numValues++);
+			if (value instanceof IterableInterval) {
+				final IterableInterval<?> image = (IterableInterval<?>) value;
+				int index = images.indexOf(image);
+				if (index < 0) {
+					if (!(image.firstElement() instanceof RealType)) return null;
+					if (!images.isEmpty() && !compatible(images.get(0), image)) {
+						return null;
+					}
+					@SuppressWarnings("unchecked")
+					final IterableInterval<? extends RealType<?>> realImage =
+						(IterableInterval<? extends RealType<?>>) image;
+					index = images.size();
+					images.add(realImage);
+				}
+				code[length] = IMAGE;
+				args[length++] = index;
+			}
+			else {
+				final double constant;
+				if (value instanceof Number) constant = ((Number) value).doubleValue();
+				else if (value instanceof Boolean) constant = (Boolean) value ? 1 : 0;
+				else if (value instanceof RealType) {
+					constant = ((RealType<?>) value).getRealDouble();
+				}
+				else return null;
+				constants[numConstants] = round(constant, floatPrecision);
+				integral[numConstants] = !(value instanceof Double ||
+					value instanceof Float || value instanceof FloatType ||
+					value instanceof DoubleType);
+				code[length] = CONSTANT;
+				args[length++] = numConstants++;
+			}
+			maxDepth = Math.max(maxDepth, ++depth);
+		}
+		if (images.isEmpty() || depth != 1) return null;
+
+		final CompiledExpression compiled = new CompiledExpression(Arrays.copyOf(
+			code, length), Arrays.copyOf(args, length), Arrays.copyOf(constants,
+				numConstants), images, maxDepth, floatPrecision);
+		if ((arithmetic || !compiled.booleanResult) && !floatPrecision &&
+			numDoubleImages != numImages)
+		{
+			return null;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Evaluates the expression for each pixel.
+	 * 
+	 * @return an image with the result of each pixel, or null if no output
+	 *         image with the iteration order of the operands can be created
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Img<?> evaluate(final OpEnvironment ops) {
+		final RealType type = booleanResult ? new BitType() : (RealType) images
+			.get(0).firstElement().createVariable();
+		return evaluate(ops, type);
+	}
+
+	/** Evaluates the expression for the given values of the images. */
+	public double evaluate(final double[] values, final double[] stack) {
+		int sp = 0;
+		for (int i = 0; i < code.length; i++) {
+			switch (code[i]) {
+				case CONSTANT:
+					stack[sp++] = constants[args[i]];
+					break;
+				case IMAGE:
+					stack[sp++] = values[args[i]];
+					break;
+				case NEG:
+					stack[sp - 1] = -stack[sp - 1];
+					break;
+				default:
+					sp--;
+					stack[sp - 1] = round(apply(code[i], stack[sp - 1], stack[sp]),
+						floatPrecision);
+			}
+		}
+		return stack[0];
+	}
+
+	// -- Helper methods --
+
+	private <O extends RealType<O>> Img<O> evaluate(final OpEnvironment ops,
+		final O type)
+	{
+		final IterableInterval<? extends RealType<?>> first = images.get(0);
+		@SuppressWarnings("unchecked")
+		final Img<O> output = (Img<O>) ops.run(Ops.Create.Img.class, first, type);
+		if (!compatible(first, output)) return null;
+
+		if (output.size() < PARALLEL_THRESHOLD) {
+			evaluate(output, 0, 1, output.size());
+		}
+		else {
+			ops.run(ChunkerOp.class, new CursorBasedChunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					evaluate(output, startIndex, stepSize, numSteps);
+				}
+			}, output.size());
+		}
+		return output;
+	}
+
+	private <O extends RealType<O>> void evaluate(final Img<O> output,
+		final int startIndex, final int stepSize, final long numSteps)
+	{
+		final List<Cursor<? extends RealType<?>>> cursors = new ArrayList<>();
+		for (final IterableInterval<? extends RealType<?>> image : images) {
+			final Cursor<? extends RealType<?>> cursor = image.cursor();
+			CursorBasedChunk.setToStart(cursor, startIndex);
+			cursors.add(cursor);
+		}
+		final Cursor<O> out = output.cursor();
+		CursorBasedChunk.setToStart(out, startIndex);
+
+		final double[] values = new double[cursors.size()];
+		final double[] stack = new double[stackSize];
+		for (long step = 0; step < numSteps; step++) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = cursors.get(i).get().getRealDouble();
+			}
+			out.get().setReal(evaluate(values, stack));
+			if (step + 1 == numSteps) break;
+			for (final Cursor<?> cursor : cursors) {
+				cursor.jumpFwd(stepSize);
+			}
+			out.jumpFwd(stepSize);
+		}
+	}
+
+	private static boolean compatible(final IterableInterval<?> a,
+		final IterableInterval<?> b)
+	{
+		return Intervals.equalDimensions(a, b) && a.iterationOrder().equals(b
+			.iterationOrder());
+	}
+
+	private static double round(final double value,
+		final boolean floatPrecision)
+	{
+		return floatPrecision ? (float) value : value;
+	}
+
+	private static boolean allConstant(final int[] code, final int length,
+		final int arity)
+	{
+		for (int i = length - arity; i < length; i++) {
+			if (code[i] != CONSTANT) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the instruction of the given operator, {@link #NONE} for
+	 *         parentheses around a single expression, or -1 if the operator is
+	 *         not supported
+	 */
+	private static int instruction(final Operator op) {
+		if (is(op, Operators.PARENS)) return op.getArity() == 1 ? NONE : -1;
+		if (is(op, Operators.POS)) return NONE;
+		if (is(op, Operators.NEG)) return NEG;
+		if (is(op, Operators.POW)) return POW;
+		if (is(op, Operators.MUL)) return MUL;
+		if (is(op, Operators.DIV)) return DIV;
+		if (is(op, Operators.MOD)) return MOD;
+		if (is(op, Operators.ADD)) return ADD;
+		if (is(op, Operators.SUB)) return SUB;
+		if (is(op, Operators.LESS_THAN)) return LESS_THAN;
+		if (is(op, Operators.GREATER_THAN)) return GREATER_THAN;
+		if (is(op, Operators.LESS_THAN_OR_EQUAL)) return LESS_THAN_OR_EQUAL;
+		if (is(op, Operators.GREATER_THAN_OR_EQUAL)) return GREATER_THAN_OR_EQUAL;
+		if (is(op, Operators.EQUAL)) return EQUAL;
+		if (is(op, Operators.NOT_EQUAL)) return NOT_EQUAL;
+		if (is(op, Operators.LOGICAL_AND)) return LOGICAL_AND;
+		if (is(op, Operators.LOGICAL_OR)) return LOGICAL_OR;
+		return -1;
+	}
+
+	private static boolean is(final Operator op, final Operator standard) {
+		// NB: Groups are instantiated per occurrence, with their own arity.
+		if (op == standard) return true;
+		if (!op.getToken().equals(standard.getToken())) return false;
+		return standard == Operators.PARENS || op.getArity() == standard
+			.getArity();
+	}
+
+	private static double apply(final int instruction, final double a,
+		final double b)
+	{
+		switch (instruction) {
+			case NEG:
+				return -a;
+			case POW:
+				return Math.pow(a, b);
+			case MUL:
+				return a * b;
+			case DIV:
+				return a / b;
+			case MOD:
+				return a % b;
+			case ADD:
+				return a + b;
+			case SUB:
+				return a - b;
+			case LESS_THAN:
+				return a < b ? 1 : 0;
+			case GREATER_THAN:
+				return a > b ? 1 : 0;
+			case LESS_THAN_OR_EQUAL:
+				return a <= b ? 1 : 0;
+			case GREATER_THAN_OR_EQUAL:
+				return a >= b ? 1 : 0;
+			case EQUAL:
+				return a == b ? 1 : 0;
+			case NOT_EQUAL:
+				return a != b ? 1 : 0;
+			case LOGICAL_AND:
+				return a != 0 && b != 0 ? 1 : 0;
+			case LOGICAL_OR:
+				return a != 0 || b != 0 ? 1 : 0;
+			default:
+				throw new IllegalArgumentException("Unknown instruction: " +
+					instruction);
+		}
+	}
+
+}
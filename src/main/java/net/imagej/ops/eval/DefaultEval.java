@@ -33,6 +33,7 @@ package net.imagej.ops.eval;
 import java.util.Map;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
 
 import org.scijava.plugin.Parameter;
@@ -45,13 +46,18 @@ import org.scijava.plugin.Plugin;
  * <a href="https://github.com/scijava/scijava-expression-parser">SJEP</a>, then
  * evaluated by invoking available ops.
  * </p>
+ * <p>
+ * Arithmetic and relational expressions over images are compiled into a
+ * single per-pixel kernel instead, see {@link CompiledExpression}.
+ * </p>
  * 
  * @author Curtis Rueden
  * @see OpEvaluator
+ * @see CompiledExpression
  */
 @Plugin(type = Ops.Eval.class)
 public class DefaultEval extends AbstractUnaryFunctionOp<String, Object>
-	implements Ops.Eval
+	implements Ops.Eval, Parallel
 {
 
 	@Parameter(required = false)
@@ -67,6 +73,11 @@ public class DefaultEval extends AbstractUnaryFunctionOp<String, Object>
 
 	@Override
 	public Object compute1(final String input) {
+		final CompiledExpression compiled = CompiledExpression.compile(e, input);
+		if (compiled != null) {
+			final Object result = compiled.evaluate(ops());
+			if (result != null) return result;
+		}
 		return e.evaluate(input);
 	}
 
@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.haralick;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.image.cooccurrenceMatrix.CooccurrenceMatrixBuilder;
+import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation;
+import net.imagej.ops.image.cooccurrenceMatrix.SparseCooccurrenceMatrix;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Computes all Haralick features of an image at once, for several distances
+ * and orientations.
+ * <p>
+ * Unlike the single feature ops, which each build their own co-occurrence
+ * matrix, the matrices of all distances and orientations are built in one
+ * pass over the image, and all features are derived from each of them, see
+ * {@link HaralickFeatures}. The matrices are only kept as their non-zero
+ * entries, see {@link CooccurrenceMatrixBuilder#buildSparse}.
+ * </p>
+ * <p>
+ * The features are returned by distance, then by orientation, each keyed by
+ * the name of the corresponding single feature op.
+ * </p>
+ *
+ * @author agent
+ * @param <T>
+ */
+@Plugin(type = Ops.Haralick.FeatureSet.class,
+	label = "Haralick: Feature Set")
+public class DefaultHaralickFeatureSet<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>>>
+	implements Ops.Haralick.FeatureSet, Contingent
+{
+
+	@Parameter
+	private int numGreyLevels = 32;
+
+	@Parameter
+	private int[] distances;
+
+	@Parameter
+	private MatrixOrientation[] orientations;
+
+	@Override
+	public Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>>
+		compute1(final IterableInterval<T> input)
+	{
+		final SparseCooccurrenceMatrix[][] matrices =
+			new CooccurrenceMatrixBuilder(numGreyLevels, distances, orientations)
+				.buildSparse(ops(), input);
+		final Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>> features =
+			new LinkedHashMap<>();
+		for (int d = 0; d < distances.length; d++) {
+			final Map<MatrixOrientation, Map<String, DoubleType>> byOrientation =
+				new LinkedHashMap<>();
+			for (int o = 0; o < orientations.length; o++) {
+				byOrientation.put(orientations[o], HaralickFeatures.compute(
+					matrices[d][o]));
+			}
+			features.put(distances[d], byOrientation);
+		}
+		return features;
+	}
+
+	@Override
+	public boolean conforms() {
+		for (final MatrixOrientation orientation : orientations) {
+			if (orientation.numDims() != in().numDimensions()) return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.haralick;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.image.cooccurrenceMatrix.SparseCooccurrenceMatrix;
+import net.imglib2.type.numeric.real.DoubleType;
+
+/**
+ * Computes all Haralick features from one co-occurrence matrix.
+ * <p>
+ * The marginal distributions and their means, variances and entropies are
+ * computed once and shared by all features; the features themselves only
+ * visit the non-zero entries of the matrix. Each feature follows the
+ * definition of the corresponding op of the {@code haralick} namespace.
+ * </p>
+ *
+ * @author agent
+ */
+public final class HaralickFeatures {
+
+	private static final double EPSILON = 0.00000001f;
+
+	private HaralickFeatures() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Computes all Haralick features of the given co-occurrence matrix.
+	 *
+	 * @return the features, keyed by the name of the corresponding op (e.g.
+	 *         {@link Ops.Haralick.ASM#NAME})
+	 */
+	public static Map<String, DoubleType> compute(
+		final SparseCooccurrenceMatrix matrix)
+	{
+		final int n = matrix.getNumGreyLevels();
+
+		// -- marginals (see the ops in the helper package) --
+
+		final double[] px = new double[n];
+		final double[] py = new double[n];
+		final double[] pxplusy = new double[2 * n + 1];
+		final double[] pxminusy = new double[n];
+		for (int k = 0; k < matrix.size(); k++) {
+			final int i = matrix.row(k);
+			final int j = matrix.col(k);
+			final double p = matrix.value(k);
+			px[j] += p;
+			py[i] += p;
+			pxplusy[i + j + 2] += p;
+			pxminusy[Math.abs(i - j)] += p;
+		}
+
+		double meanx = 0;
+		double meany = 0;
+		for (int i = 0; i < n; i++) {
+			meanx += i * px[i];
+			meany += i * py[i];
+		}
+		double stdx = 0;
+		double stdy = 0;
+		double hx = 0;
+		double hy = 0;
+		for (int i = 0; i < n; i++) {
+			stdx += (i - meanx) * (i - meanx) * px[i];
+			stdy += (i - meany) * (i - meany) * py[i];
+			hx -= px[i] * Math.log(px[i] + EPSILON);
+			hy -= py[i] * Math.log(py[i] + EPSILON);
+		}
+		// NB: Pairs with a zero marginal contribute nothing to hxy2, so only the
+		// grey levels occurring in the matrix need to be visited.
+		final int[] nonZeroX = nonZero(px);
+		final int[] nonZeroY = nonZero(py);
+		double hxy2 = 0;
+		for (final int i : nonZeroX) {
+			for (final int j : nonZeroY) {
+				final double pxy = px[i] * py[j];
+				hxy2 -= pxy * Math.log(pxy + EPSILON);
+			}
+		}
+
+		// -- features of the matrix entries --
+
+		double asm = 0;
+		double clusterPromenence = 0;
+		double clusterShade = 0;
+		double correlation = 0;
+		double entropy = 0;
+		double hxy1 = 0;
+		double ifdm = 0;
+		double maxProbability = 0;
+		double textureHomogeneity = 0;
+		double variance = 0;
+		for (int k = 0; k < matrix.size(); k++) {
+			final int i = matrix.row(k);
+			final int j = matrix.col(k);
+			final double p = matrix.value(k);
+			final double sum = i + j - meanx - meany;
+
+			asm += p * p;
+			clusterPromenence += sum * sum * sum * sum * p;
+			clusterShade += sum * sum * sum * p;
+			correlation += ((i - meanx) * (j - meany)) * (p / (stdx * stdy));
+			entropy -= p * Math.log10(p + EPSILON);
+			hxy1 -= p * Math.log(px[i] * py[j] + EPSILON);
+			if (i != j) ifdm += p / Math.abs(i - j);
+			if (p > maxProbability) maxProbability = p;
+			textureHomogeneity += p / (1 + Math.abs(i - j));
+			variance += (i - meanx) * (i - meanx) * p + (j - meany) * (j - meany) *
+				p;
+		}
+		// NB: The dense computation yields NaN (reported as 0) whenever the
+		// product of the deviations is zero, due to the 0 / 0 of empty entries.
+		if (stdx * stdy == 0 || Double.isNaN(correlation)) correlation = 0;
+
+		// -- features of the difference and sum distributions --
+
+		double contrast = 0;
+		double differenceEntropy = 0;
+		double differenceMean = 0;
+		for (int k = 0; k < n; k++) {
+			contrast += k * k * pxminusy[k];
+			differenceEntropy -= pxminusy[k] * Math.log(pxminusy[k] + EPSILON);
+			differenceMean += k * pxminusy[k];
+		}
+		double differenceVariance = 0;
+		for (int k = 0; k < n; k++) {
+			differenceVariance += (k - differenceMean) * pxminusy[k];
+		}
+
+		double sumAverage = 0;
+		double sumEntropy = 0;
+		for (int k = 2; k <= 2 * n; k++) {
+			sumAverage += k * pxplusy[k];
+			sumEntropy -= pxplusy[k] * Math.log10(pxplusy[k] + EPSILON);
+		}
+		double sumVariance = 0;
+		for (int k = 2; k <= 2 * n; k++) {
+			sumVariance += (k - sumAverage) * (k - sumAverage) * pxplusy[k];
+		}
+
+		final double icm1 = (entropy - hxy1) / (hx > hy ? hx : hy);
+		double icm2 = Math.sqrt(1 - Math.exp(-2 * (hxy2 - entropy)));
+		if (Double.isNaN(icm2)) icm2 = 0;
+
+		final Map<String, DoubleType> features = new LinkedHashMap<>();
+		features.put(Ops.Haralick.ASM.NAME, new DoubleType(asm));
+		features.put(Ops.Haralick.ClusterPromenence.NAME, new DoubleType(
+			clusterPromenence));
+		features.put(Ops.Haralick.ClusterShade.NAME, new DoubleType(
+			clusterShade));
+		features.put(Ops.Haralick.Contrast.NAME, new DoubleType(contrast));
+		features.put(Ops.Haralick.Correlation.NAME, new DoubleType(correlation));
+		features.put(Ops.Haralick.DifferenceEntropy.NAME, new DoubleType(
+			differenceEntropy));
+		features.put(Ops.Haralick.DifferenceVariance.NAME, new DoubleType(
+			differenceVariance));
+		features.put(Ops.Haralick.Entropy.NAME, new DoubleType(entropy));
+		features.put(Ops.Haralick.ICM1.NAME, new DoubleType(icm1));
+		features.put(Ops.Haralick.ICM2.NAME, new DoubleType(icm2));
+		features.put(Ops.Haralick.IFDM.NAME, new DoubleType(ifdm));
+		features.put(Ops.Haralick.MaxProbability.NAME, new DoubleType(
+			maxProbability));
+		features.put(Ops.Haralick.SumAverage.NAME, new DoubleType(sumAverage));
+		features.put(Ops.Haralick.SumEntropy.NAME, new DoubleType(sumEntropy));
+		features.put(Ops.Haralick.SumVariance.NAME, new DoubleType(sumVariance));
+		features.put(Ops.Haralick.TextureHomogeneity.NAME, new DoubleType(
+			textureHomogeneity));
+		features.put(Ops.Haralick.Variance.NAME, new DoubleType(variance / 2));
+		return features;
+	}
+
+	// -- Helper methods --
+
+	/** @return the indices of the non-zero elements of the given array */
+	private static int[] nonZero(final double[] values) {
+		int size = 0;
+		for (final double value : values) {
+			if (value != 0) size++;
+		}
+		final int[] indices = new int[size];
+		int k = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != 0) indices[k++] = i;
+		}
+		return indices;
+	}
+
+}
@@ -30,6 +30,8 @@
 
 package net.imagej.ops.features.haralick;
 
+import java.util.Map;
+
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
@@ -235,6 +237,20 @@ public class HaralickNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.features.haralick.DefaultHaralickFeatureSet.class)
+	public <T extends RealType<T>>
+		Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>> featureSet(
+			final IterableInterval<T> in, final int numGreyLevels,
+			final int[] distances, final MatrixOrientation... orientations)
+	{
+		@SuppressWarnings("unchecked")
+		final Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>> result =
+			(Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>>) ops()
+				.run(net.imagej.ops.Ops.Haralick.FeatureSet.class, in, numGreyLevels,
+					distances, orientations);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.features.haralick.DefaultICM1.class)
 	public <T extends RealType<T>> DoubleType icm1(final IterableInterval<T> in,
 		final int numGreyLevels, final int distance,
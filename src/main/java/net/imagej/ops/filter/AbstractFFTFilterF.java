@@ -101,6 +101,9 @@ public abstract class AbstractFFTFilterF<I extends RealType<I>, O extends RealTy
 	@Parameter(required = false)
 	private ComplexType<C> fftType;
 
+	@Parameter(required = false)
+	private FFTBufferService fftBuffers;
+
 	/**
 	 * Op used to pad the input
 	 */
@@ -227,20 +230,42 @@ public abstract class AbstractFFTFilterF<I extends RealType<I>, O extends RealTy
 		RandomAccessibleInterval<K> paddedKernel = padKernelOp.compute2(kernel,
 			new FinalDimensions(paddedSize));
 
-		RandomAccessibleInterval<C> fftImage = createOp.compute1(
-			new FinalDimensions(paddedSize));
+		// 2. Get the FFT buffers from the pool. If the spectrum of this kernel
+		// was computed at the same size before, reuse it.
 
-		RandomAccessibleInterval<C> fftKernel = createOp.compute1(
-			new FinalDimensions(paddedSize));
+		// NB: Without the service, the buffers are not reused across calls.
+		final FFTBufferPool pool = fftBuffers == null ? new FFTBufferPool()
+			: fftBuffers.getPool();
+
+		RandomAccessibleInterval<C> fftImage = pool.acquire(paddedSize, fftType);
+		if (fftImage == null) {
+			fftImage = createOp.compute1(new FinalDimensions(paddedSize));
+		}
+
+		final long fingerprint = FFTBufferPool.fingerprint(kernel);
+
+		RandomAccessibleInterval<C> fftKernel = pool.getSpectrum(kernel,
+			fingerprint, paddedSize, fftType);
+		final boolean performKernelFFT = fftKernel == null;
+		if (performKernelFFT) {
+			fftKernel = createOp.compute1(new FinalDimensions(paddedSize));
+		}
 
 		// TODO: in this case it is difficult to match the filter op in the
 		// 'initialize' as we don't know the size yet, thus we can't create memory
 		// for the FFTs
 		filter = createFilterComputer(paddedInput, paddedKernel, fftImage,
-			fftKernel, output, paddedInput);
+			fftKernel, output, paddedInput, performKernelFFT);
 
 		filter.compute2(paddedInput, paddedKernel, output);
 
+		// NB: the filter only reads the kernel spectrum, while the image buffer
+		// is scratch and can be handed to the next call.
+		if (performKernelFFT) {
+			pool.putSpectrum(kernel, fingerprint, paddedSize, fftType, fftKernel);
+		}
+		pool.release(paddedSize, fftType, fftImage);
+
 		return output;
 
 	}
@@ -255,13 +280,16 @@ public abstract class AbstractFFTFilterF<I extends RealType<I>, O extends RealTy
 	 * @param fftKernel
 	 * @param output
 	 * @param imgConvolutionInterval
+	 * @param performKernelFFT false if fftKernel already holds the (read-only)
+	 *          spectrum of the kernel
 	 */
 	abstract public
 		BinaryComputerOp<RandomAccessibleInterval<I>, RandomAccessibleInterval<K>, RandomAccessibleInterval<O>>
 		createFilterComputer(RandomAccessibleInterval<I> raiExtendedInput,
 			RandomAccessibleInterval<K> raiExtendedKernel,
 			RandomAccessibleInterval<C> fftImg, RandomAccessibleInterval<C> fftKernel,
-			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval);
+			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval,
+			boolean performKernelFFT);
 
 	protected long[] getBorderSize() {
 		return borderSize;
@@ -0,0 +1,297 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter;
+
+import java.util.Arrays;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.algorithm.neighborhood.Shape;
+import net.imglib2.outofbounds.OutOfBoundsBorderFactory;
+import net.imglib2.outofbounds.OutOfBoundsFactory;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+
+/**
+ * Abstract rank filter (percentile, median, min, max) for 8- and 16-bit
+ * unsigned integer images and {@link RectangleShape}s.
+ * <p>
+ * Instead of sorting every neighborhood, a histogram of the current window is
+ * maintained while sliding along dimension 0 (T. Huang, G. Yang, G. Tang,
+ * "A fast two-dimensional median filtering algorithm", IEEE Trans. Acoust.,
+ * Speech, Signal Process. 27(1), 1979): moving the window by one pixel removes
+ * the trailing and adds the leading hyperplane of the box. The rank is then
+ * looked up in a two-level histogram, so the cost per pixel is independent of
+ * the number of grey levels in the window and only grows with the size of the
+ * box cross section, i.e. it is {@code O(r^(d-1))} for a box of span
+ * {@code r} in {@code d} dimensions. The lines of the output are processed in
+ * parallel.
+ * </p>
+ * <p>
+ * The constant time algorithm of S. Perreault and P. H&eacute;bert ("Median
+ * filtering in constant time", IEEE Trans. Image Process. 16(9), 2007) is
+ * deliberately not used: it merges whole column histograms at every step,
+ * which costs {@code O(numBins)} and thus only pays off for 8-bit images with
+ * large spans, while it would make 16-bit images much slower and forces the
+ * lines to be processed in sequence.
+ * </p>
+ * 
+ * @author agent
+ * @param <T> input type
+ * @param <V> output type
+ */
+public abstract class AbstractSlidingHistogramFilter<T extends IntegerType<T>, V extends RealType<V>>
+	extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<T>, IterableInterval<V>>
+	implements Contingent, Parallel
+{
+
+	@Parameter
+	private Shape shape;
+
+	@Parameter(required = false)
+	private OutOfBoundsFactory<T, RandomAccessibleInterval<T>> outOfBoundsFactory =
+		new OutOfBoundsBorderFactory<>();
+
+	@Override
+	public void compute1(final RandomAccessibleInterval<T> input,
+		final IterableInterval<V> output)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<V> out = (RandomAccessibleInterval<V>) output;
+		final OutOfBoundsFactory<T, RandomAccessibleInterval<T>> oob =
+			outOfBoundsFactory == null
+				? new OutOfBoundsBorderFactory<T, RandomAccessibleInterval<T>>()
+				: outOfBoundsFactory;
+		final RandomAccessibleInterval<T> in = Views.interval(Views.extend(input,
+			oob), input);
+
+		final int span = ((RectangleShape) shape).getSpan();
+		final int numBins = numBins(Util.getTypeFromInterval(input));
+		final double percentile = getPercentile();
+		final long[] min = Intervals.minAsLongArray(out);
+		final long[] dims = Intervals.dimensionsAsLongArray(out);
+		final long[][] offsets = crossSectionOffsets(dims.length, span);
+
+		long numLines = 1;
+		for (int d = 1; d < dims.length; d++) {
+			numLines *= dims[d];
+		}
+
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final RandomAccess<T> inAccess = in.randomAccess();
+				final RandomAccess<V> outAccess = out.randomAccess();
+				final Histogram histogram = new Histogram(numBins);
+				final long[] position = new long[dims.length];
+
+				for (int i = 0; i < numSteps; i++) {
+					// position at the start of the line
+					long line = startIndex + (long) i * stepSize;
+					position[0] = min[0];
+					for (int d = 1; d < dims.length; d++) {
+						position[d] = min[d] + line % dims[d];
+						line /= dims[d];
+					}
+
+					histogram.clear();
+					for (long x = position[0] - span; x <= position[0] + span; x++) {
+						update(histogram, inAccess, position, x, offsets, 1);
+					}
+
+					outAccess.setPosition(position);
+					for (long x = 0; x < dims[0]; x++) {
+						if (x > 0) {
+							final long center = position[0] + x;
+							update(histogram, inAccess, position, center - span - 1, offsets,
+								-1);
+							update(histogram, inAccess, position, center + span, offsets, 1);
+						}
+						final int n = histogram.count;
+						final int rank = (int) (n * (percentile / 100.0));
+						outAccess.get().setReal(histogram.get(Math.min(n - 1, rank)));
+						outAccess.fwd(0);
+					}
+				}
+			}
+		}, numLines);
+	}
+
+	@Override
+	public boolean conforms() {
+		if (!(shape instanceof RectangleShape)) return false;
+		if (out() != null && (!(out() instanceof RandomAccessibleInterval) ||
+			!Intervals.contains(in(), out()))) return false;
+
+		// reject shapes skipping the center
+		final int span = ((RectangleShape) shape).getSpan();
+		final long size = shape.neighborhoodsRandomAccessible(in()).randomAccess()
+			.get().size();
+		if (size != (long) Math.pow(2 * span + 1, in().numDimensions())) {
+			return false;
+		}
+
+		return numBins(Util.getTypeFromInterval(in())) > 0;
+	}
+
+	/**
+	 * Get the shape (structuring element) used by this filter.
+	 * 
+	 * @return the shape
+	 */
+	public Shape getShape() {
+		return shape;
+	}
+
+	/**
+	 * @return the percentile (in the range [0, 100]) of the neighborhood values
+	 *         which is written to the output.
+	 */
+	protected abstract double getPercentile();
+
+	// -- Helper methods --
+
+	/**
+	 * Gets the number of histogram bins needed for the given type, or 0 if the
+	 * type is not supported.
+	 */
+	private static int numBins(final Object type) {
+		if (type instanceof UnsignedByteType) return 1 << 8;
+		if (type instanceof UnsignedShortType) return 1 << 16;
+		return 0;
+	}
+
+	/**
+	 * Enumerates the offsets of all positions in the cross section of the box
+	 * perpendicular to dimension 0.
+	 */
+	private static long[][] crossSectionOffsets(final int numDimensions,
+		final int span)
+	{
+		final int width = 2 * span + 1;
+		int count = 1;
+		for (int d = 1; d < numDimensions; d++) {
+			count *= width;
+		}
+		final long[][] offsets = new long[count][numDimensions];
+		for (int i = 0; i < count; i++) {
+			int index = i;
+			for (int d = 1; d < numDimensions; d++) {
+				offsets[i][d] = index % width - span;
+				index /= width;
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Adds (sign = 1) or removes (sign = -1) the values of the box cross section
+	 * at the given coordinate along dimension 0 to or from the histogram.
+	 */
+	private static <T extends IntegerType<T>> void update(
+		final Histogram histogram, final RandomAccess<T> access,
+		final long[] linePosition, final long x, final long[][] offsets,
+		final int sign)
+	{
+		access.setPosition(x, 0);
+		for (final long[] offset : offsets) {
+			for (int d = 1; d < offset.length; d++) {
+				access.setPosition(linePosition[d] + offset[d], d);
+			}
+			histogram.add(access.get().getInteger(), sign);
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Histogram with an additional coarse level of blocks, such that a rank can
+	 * be found by scanning ~2 * sqrt(numBins) counts.
+	 */
+	private static final class Histogram {
+
+		private final int[] bins;
+		private final int[] blocks;
+		private final int shift;
+		private int count;
+
+		public Histogram(final int numBins) {
+			shift = Integer.numberOfTrailingZeros(numBins) / 2;
+			bins = new int[numBins];
+			blocks = new int[numBins >> shift];
+		}
+
+		public void add(final int value, final int sign) {
+			bins[value] += sign;
+			blocks[value >> shift] += sign;
+			count += sign;
+		}
+
+		public void clear() {
+			Arrays.fill(bins, 0);
+			Arrays.fill(blocks, 0);
+			count = 0;
+		}
+
+		/** Gets the value with the given (zero-based) rank. */
+		public int get(final int rank) {
+			int k = rank;
+			int block = 0;
+			while (k >= blocks[block]) {
+				k -= blocks[block++];
+			}
+			int value = block << shift;
+			while (k >= bins[value]) {
+				k -= bins[value++];
+			}
+			return value;
+		}
+	}
+
+}
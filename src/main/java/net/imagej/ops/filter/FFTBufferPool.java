@@ -0,0 +1,253 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
+
+/**
+ * Pool of complex FFT buffers shared by the {@link AbstractFFTFilterF} ops of
+ * a context, see {@link FFTBufferService}.
+ * <p>
+ * Buffers are pooled by padded size and complex type, so that repeated
+ * filtering of images of the same size does not reallocate the (large)
+ * frequency domain buffers. In addition the pool caches the spectrum of
+ * recently used kernels: a spectrum is only reused if it was computed from the
+ * same kernel instance with the same content (see {@link #fingerprint}) at the
+ * same padded size.
+ * </p>
+ * <p>
+ * Free buffers and cached spectra are only softly referenced and are thus
+ * reclaimed by the garbage collector under memory pressure. Cached kernel spectra are never
+ * handed out as scratch buffers and must be treated as read-only.
+ * </p>
+ * 
+ * @author agent
+ */
+public final class FFTBufferPool {
+
+	/** Maximum number of free buffers kept per size and type. */
+	private static final int MAX_FREE = 4;
+
+	/** Maximum number of cached kernel spectra. */
+	private static final int MAX_SPECTRA = 8;
+
+	private final Map<Key, Deque<SoftReference<RandomAccessibleInterval<?>>>> free =
+		new HashMap<>();
+
+	private final LinkedHashMap<Key, Spectrum> spectra = new LinkedHashMap<Key, Spectrum>(
+		16, 0.75f, true)
+	{
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, Spectrum> eldest) {
+			return size() > MAX_SPECTRA;
+		}
+	};
+
+	private long spectrumHits;
+
+	private long spectrumMisses;
+
+	// -- Buffers --
+
+	/**
+	 * Takes a free buffer of the given padded size and complex type out of the
+	 * pool.
+	 * 
+	 * @return the buffer, or null if there is no free buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <C> RandomAccessibleInterval<C> acquire(
+		final long[] paddedSize, final Object fftType)
+	{
+		final Deque<SoftReference<RandomAccessibleInterval<?>>> buffers = free.get(
+			new Key(paddedSize, fftType));
+		if (buffers == null) return null;
+		while (!buffers.isEmpty()) {
+			final RandomAccessibleInterval<?> buffer = buffers.pop().get();
+			if (buffer != null) return (RandomAccessibleInterval<C>) buffer;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a buffer obtained from {@link #acquire} (or newly created for the
+	 * given padded size and complex type) to the pool. The caller must not use
+	 * the buffer afterwards.
+	 */
+	public synchronized void release(final long[] paddedSize,
+		final Object fftType, final RandomAccessibleInterval<?> buffer)
+	{
+		final Key key = new Key(paddedSize, fftType);
+		Deque<SoftReference<RandomAccessibleInterval<?>>> buffers = free.get(key);
+		if (buffers == null) {
+			buffers = new ArrayDeque<>();
+			free.put(key, buffers);
+		}
+		// NB: Drop references which have already been cleared.
+		final Iterator<SoftReference<RandomAccessibleInterval<?>>> it = buffers
+			.iterator();
+		while (it.hasNext()) {
+			if (it.next().get() == null) it.remove();
+		}
+		if (buffers.size() < MAX_FREE) buffers.push(new SoftReference<>(buffer));
+	}
+
+	// -- Kernel spectra --
+
+	/**
+	 * Gets the cached spectrum of the given kernel.
+	 * 
+	 * @param kernel the kernel the spectrum was computed from
+	 * @param fingerprint the {@link #fingerprint} of the kernel
+	 * @return the spectrum, or null if it is not cached
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <C> RandomAccessibleInterval<C> getSpectrum(
+		final Object kernel, final long fingerprint, final long[] paddedSize,
+		final Object fftType)
+	{
+		final Spectrum spectrum = spectra.get(new Key(paddedSize, fftType));
+		final RandomAccessibleInterval<?> buffer = spectrum == null ? null
+			: spectrum.spectrum.get();
+		if (buffer == null || spectrum.kernel.get() != kernel ||
+			spectrum.fingerprint != fingerprint)
+		{
+			spectrumMisses++;
+			return null;
+		}
+		spectrumHits++;
+		return (RandomAccessibleInterval<C>) buffer;
+	}
+
+	/**
+	 * Caches the spectrum of the given kernel, replacing the spectrum previously
+	 * cached for the same padded size and complex type. The spectrum must not be
+	 * modified afterwards.
+	 */
+	public synchronized void putSpectrum(final Object kernel,
+		final long fingerprint, final long[] paddedSize, final Object fftType,
+		final RandomAccessibleInterval<?> spectrum)
+	{
+		spectra.put(new Key(paddedSize, fftType), new Spectrum(kernel,
+			fingerprint, spectrum));
+	}
+
+	public synchronized long getSpectrumHits() {
+		return spectrumHits;
+	}
+
+	public synchronized long getSpectrumMisses() {
+		return spectrumMisses;
+	}
+
+	/** Removes all free buffers and cached kernel spectra. */
+	public synchronized void clear() {
+		free.clear();
+		spectra.clear();
+	}
+
+	/**
+	 * Computes a hash of the dimensions and values of the given kernel, used to
+	 * detect modifications of a kernel between two calls.
+	 */
+	public static long fingerprint(
+		final RandomAccessibleInterval<? extends RealType<?>> kernel)
+	{
+		long hash = Arrays.hashCode(Intervals.dimensionsAsLongArray(kernel));
+		final Cursor<? extends RealType<?>> c = Views.flatIterable(kernel)
+			.cursor();
+		while (c.hasNext()) {
+			hash = 31 * hash + Double.doubleToLongBits(c.next().getRealDouble());
+		}
+		return hash;
+	}
+
+	// -- Helper classes --
+
+	private static final class Key {
+
+		private final long[] paddedSize;
+
+		private final Class<?> typeClass;
+
+		private Key(final long[] paddedSize, final Object fftType) {
+			this.paddedSize = paddedSize.clone();
+			this.typeClass = fftType.getClass();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key) obj;
+			return typeClass == other.typeClass && Arrays.equals(paddedSize,
+				other.paddedSize);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(paddedSize) + typeClass.hashCode();
+		}
+	}
+
+	private static final class Spectrum {
+
+		private final WeakReference<Object> kernel;
+
+		private final long fingerprint;
+
+		private final SoftReference<RandomAccessibleInterval<?>> spectrum;
+
+		private Spectrum(final Object kernel, final long fingerprint,
+			final RandomAccessibleInterval<?> spectrum)
+		{
+			this.kernel = new WeakReference<>(kernel);
+			this.fingerprint = fingerprint;
+			this.spectrum = new SoftReference<RandomAccessibleInterval<?>>(
+				spectrum);
+		}
+	}
+
+}
@@ -973,77 +973,80 @@ public class FilterNamespace extends AbstractNamespace {
 	// -- non-linear filters --
 
 	/** Executes the "max" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.max.DefaultMaxFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.max.DefaultMaxFilter.class,
+		net.imagej.ops.filter.max.HistogramMaxFilter.class })
 	public <T extends RealType<T>, V extends RealType<V>> IterableInterval<T> max(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.max.DefaultMaxFilter.class, out, in, shape);
+			Ops.Filter.Max.class, out, in, shape);
 		return result;
 	}
 
 	/** Executes the "max" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.max.DefaultMaxFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.max.DefaultMaxFilter.class,
+		net.imagej.ops.filter.max.HistogramMaxFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> max(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape, final OutOfBoundsFactory<T, T> outOfBoundsFactory)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.max.DefaultMaxFilter.class, out, in, shape,
-			outOfBoundsFactory);
+			Ops.Filter.Max.class, out, in, shape, outOfBoundsFactory);
 		return result;
 	}
 
 	/** Executes the "median" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.median.DefaultMedianFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.median.DefaultMedianFilter.class,
+		net.imagej.ops.filter.median.HistogramMedianFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> median(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.median.DefaultMedianFilter.class, out, in, shape);
+			Ops.Filter.Median.class, out, in, shape);
 		return result;
 	}
 
 	/** Executes the "median" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.median.DefaultMedianFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.median.DefaultMedianFilter.class,
+		net.imagej.ops.filter.median.HistogramMedianFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> median(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape, final OutOfBoundsFactory<T, T> outOfBoundsFactory)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.median.DefaultMedianFilter.class, out, in, shape,
-			outOfBoundsFactory);
+			Ops.Filter.Median.class, out, in, shape, outOfBoundsFactory);
 		return result;
 	}
 
 	/** Executes the "min" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.min.DefaultMinFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.min.DefaultMinFilter.class,
+		net.imagej.ops.filter.min.HistogramMinFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> min(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.min.DefaultMinFilter.class, out, in, shape);
+			Ops.Filter.Min.class, out, in, shape);
 		return result;
 	}
 
 	/** Executes the "min" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.min.DefaultMinFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.min.DefaultMinFilter.class,
+		net.imagej.ops.filter.min.HistogramMinFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> min(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape, final OutOfBoundsFactory<T, T> outOfBoundsFactory)
 	{
 		@SuppressWarnings("unchecked")
 		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
-			net.imagej.ops.filter.min.DefaultMinFilter.class, out, in, shape,
-			outOfBoundsFactory);
+			Ops.Filter.Min.class, out, in, shape, outOfBoundsFactory);
 		return result;
 	}
 
@@ -1178,6 +1181,36 @@ public class FilterNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	/** Executes the "percentile" filter operation on the given arguments. */
+	@OpMethod(ops = {
+		net.imagej.ops.filter.percentile.DefaultPercentileFilter.class,
+		net.imagej.ops.filter.percentile.HistogramPercentileFilter.class })
+	public <T extends RealType<T>> IterableInterval<T> percentile(
+		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
+		final Shape shape, final double percentile)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
+			Ops.Filter.Percentile.class, out, in, shape, percentile);
+		return result;
+	}
+
+	/** Executes the "percentile" filter operation on the given arguments. */
+	@OpMethod(ops = {
+		net.imagej.ops.filter.percentile.DefaultPercentileFilter.class,
+		net.imagej.ops.filter.percentile.HistogramPercentileFilter.class })
+	public <T extends RealType<T>> IterableInterval<T> percentile(
+		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
+		final Shape shape, final OutOfBoundsFactory<T, T> outOfBoundsFactory,
+		final double percentile)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<T> result = (IterableInterval<T>) ops().run(
+			Ops.Filter.Percentile.class, out, in, shape, outOfBoundsFactory,
+			percentile);
+		return result;
+	}
+
 	/** Executes the "sigma" filter operation on the given arguments. */
 	@OpMethod(op = net.imagej.ops.filter.sigma.DefaultSigmaFilter.class)
 	public <T extends RealType<T>> IterableInterval<T> sigma(
@@ -85,10 +85,12 @@ public class CorrelateFFTF<I extends RealType<I> & NativeType<I>, O extends Real
 		createFilterComputer(RandomAccessibleInterval<I> raiExtendedInput,
 			RandomAccessibleInterval<K> raiExtendedKernel,
 			RandomAccessibleInterval<C> fftImg, RandomAccessibleInterval<C> fftKernel,
-			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval)
+			RandomAccessibleInterval<O> output, Interval imgConvolutionInterval,
+			boolean performKernelFFT)
 	{
 		return Computers.binary(ops(), CorrelateFFTC.class, output,
-			raiExtendedInput, raiExtendedKernel, fftImg, fftKernel);
+			raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true,
+			performKernelFFT);
 	}
 
 	@Override
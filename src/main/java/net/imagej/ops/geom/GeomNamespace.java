@@ -30,13 +30,20 @@
 
 package net.imagej.ops.geom;
 
+import java.util.List;
+
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
+import net.imagej.ops.Op;
 import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops.Geometric.Voxelization;
+import net.imagej.ops.geom.geom2d.CaliperDescriptor;
 import net.imagej.ops.geom.geom2d.DefaultConvexHull2D;
+import net.imagej.ops.geom.geom2d.ShapeFeatureTable;
+import net.imagej.ops.geom.geom3d.ArrayConvexHull3D;
 import net.imagej.ops.geom.geom3d.CovarianceOf2ndMultiVariate3D;
 import net.imagej.ops.geom.geom3d.DefaultConvexHull3D;
+import net.imagej.ops.geom.geom3d.mesh.ArrayMesh;
 import net.imagej.ops.geom.geom3d.mesh.Mesh;
 import net.imagej.ops.geom.geom3d.mesh.VertexInterpolator;
 import net.imglib2.IterableInterval;
@@ -44,10 +51,12 @@ import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.RealLocalizable;
 import net.imglib2.roi.IterableRegion;
 import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.roi.labeling.ImgLabeling;
 import net.imglib2.roi.labeling.LabelRegion;
 import net.imglib2.type.BooleanType;
 import net.imglib2.type.Type;
 import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.IntegerType;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.real.DoubleType;
 import net.imglib2.util.Pair;
@@ -195,6 +204,13 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 	
+	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultCalipers.class)
+	public CaliperDescriptor calipers(final Polygon in) {
+		final CaliperDescriptor result = (CaliperDescriptor) ops().run(
+			net.imagej.ops.Ops.Geometric.Calipers.class, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.geom.DefaultCenterOfGravity.class)
 	public <T extends RealType<T>> RealLocalizable centerOfGravity(final IterableInterval<T> in) {
 		final RealLocalizable result = (RealLocalizable) ops().run(net.imagej.ops.Ops.Geometric.CenterOfGravity.class,
@@ -276,7 +292,7 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(op = DefaultConvexHull3D.class)
+	@OpMethod(ops = { ArrayConvexHull3D.class, DefaultConvexHull3D.class })
 	public Mesh convexHull(final Mesh in) {
 		final Mesh result = (Mesh) ops().run(
 			net.imagej.ops.Ops.Geometric.ConvexHull.class, in);
@@ -332,7 +348,8 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultFeret.class)
+	@OpMethod(ops = { net.imagej.ops.geom.geom2d.CalipersFeret.class,
+		net.imagej.ops.geom.geom2d.DefaultFeret.class })
 	public Pair<RealLocalizable, RealLocalizable> feret(final Polygon in) {
 		@SuppressWarnings("unchecked")
 		final Pair<RealLocalizable, RealLocalizable> result =
@@ -413,7 +430,8 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(op = net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class)
+	@OpMethod(ops = { net.imagej.ops.geom.geom3d.ArrayMarchingCubes.class,
+		net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class })
 	public <T extends Type<T>> Mesh marchingCubes(
 		final RandomAccessibleInterval<T> in)
 	{
@@ -422,7 +440,8 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(op = net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class)
+	@OpMethod(ops = { net.imagej.ops.geom.geom3d.ArrayMarchingCubes.class,
+		net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class })
 	public <T extends Type<T>> Mesh marchingCubes(
 		final RandomAccessibleInterval<T> in, final double isolevel)
 	{
@@ -431,7 +450,8 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(op = net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class)
+	@OpMethod(ops = { net.imagej.ops.geom.geom3d.ArrayMarchingCubes.class,
+		net.imagej.ops.geom.geom3d.DefaultMarchingCubes.class })
 	public <T extends Type<T>> Mesh marchingCubes(
 		final RandomAccessibleInterval<T> in, final double isolevel,
 		final VertexInterpolator interpolatorClass)
@@ -533,6 +553,16 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultShapeFeatures.class)
+	public <L, I extends IntegerType<I>> ShapeFeatureTable<L> shapeFeatures(
+		final ImgLabeling<L, I> in, final List<Class<? extends Op>> features)
+	{
+		@SuppressWarnings("unchecked")
+		final ShapeFeatureTable<L> result = (ShapeFeatureTable<L>) ops().run(
+			net.imagej.ops.Ops.Geometric.ShapeFeatures.class, in, features);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultSizePolygon.class)
 	public DoubleType size(final Polygon in) {
 		final DoubleType result =
@@ -561,6 +591,13 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 	
+	@OpMethod(op = net.imagej.ops.geom.geom3d.mesh.ArrayMeshVolume.class)
+	public DoubleType size(final ArrayMesh in) {
+		final DoubleType result = (DoubleType) ops().run(
+			net.imagej.ops.Ops.Geometric.Size.class, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.geom.geom2d.SizeConvexHullPolygon.class)
 	public DoubleType sizeConvexHull(final Polygon in) {
 		final DoubleType result = (DoubleType) ops().run(
@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom2d;
+
+import net.imglib2.RealLocalizable;
+import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.util.Pair;
+
+/**
+ * The shape descriptors of a polygon which are measured with rotating
+ * calipers, see {@link DefaultCalipers}.
+ * <p>
+ * Angles are given in degrees. The angle of the maximum Feret diameter is
+ * measured like {@code geom.feretsAngle}, from the first to the second of the
+ * {@link #getMaxFeretPoints()}; the angle of the minimum Feret diameter is
+ * measured between the x-axis and its direction, in the range
+ * {@code [0, 180)}.
+ * </p>
+ *
+ * @author agent
+ */
+public class CaliperDescriptor {
+
+	private final Pair<RealLocalizable, RealLocalizable> maxFeretPoints;
+
+	private final double maxFeretDiameter;
+
+	private final double maxFeretAngle;
+
+	private final double minFeretDiameter;
+
+	private final double minFeretAngle;
+
+	private final Polygon minAreaRectangle;
+
+	private final double minAreaRectangleArea;
+
+	public CaliperDescriptor(
+		final Pair<RealLocalizable, RealLocalizable> maxFeretPoints,
+		final double maxFeretDiameter, final double maxFeretAngle,
+		final double minFeretDiameter, final double minFeretAngle,
+		final Polygon minAreaRectangle, final double minAreaRectangleArea)
+	{
+		this.maxFeretPoints = maxFeretPoints;
+		this.maxFeretDiameter = maxFeretDiameter;
+		this.maxFeretAngle = maxFeretAngle;
+		this.minFeretDiameter = minFeretDiameter;
+		this.minFeretAngle = minFeretAngle;
+		this.minAreaRectangle = minAreaRectangle;
+		this.minAreaRectangleArea = minAreaRectangleArea;
+	}
+
+	/** @return the two vertices which are farthest apart */
+	public Pair<RealLocalizable, RealLocalizable> getMaxFeretPoints() {
+		return maxFeretPoints;
+	}
+
+	/** @return the largest distance between two vertices */
+	public double getMaxFeretDiameter() {
+		return maxFeretDiameter;
+	}
+
+	/** @return the angle of the line through the {@link #getMaxFeretPoints()} */
+	public double getMaxFeretAngle() {
+		return maxFeretAngle;
+	}
+
+	/** @return the smallest width of the polygon */
+	public double getMinFeretDiameter() {
+		return minFeretDiameter;
+	}
+
+	/** @return the direction in which the smallest width is measured */
+	public double getMinFeretAngle() {
+		return minFeretAngle;
+	}
+
+	/** @return the rectangle of smallest area enclosing the polygon */
+	public Polygon getMinAreaRectangle() {
+		return minAreaRectangle;
+	}
+
+	/** @return the area of the {@link #getMinAreaRectangle()} */
+	public double getMinAreaRectangleArea() {
+		return minAreaRectangleArea;
+	}
+
+}
@@ -0,0 +1,283 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom2d;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.util.Pair;
+import net.imglib2.util.ValuePair;
+
+import org.scijava.plugin.Plugin;
+
+/**
+ * Generic implementation of {@code geom.calipers}.
+ * <p>
+ * The Feret diameters, their angles and the minimum area enclosing rectangle
+ * are measured together by rotating calipers around the convex hull of the
+ * polygon. For each edge of the hull, the vertices which are farthest from the
+ * edge and the vertices which extend farthest along the edge are tracked by
+ * pointers which only ever move forward, so after computing the hull in
+ * {@code O(n log n)} all descriptors are found in {@code O(n)}.
+ * </p>
+ * <p>
+ * Of several pairs of vertices with the largest distance, the same pair as
+ * {@link DefaultFeret} is reported, i.e. the one which comes first in the
+ * order of the vertices of the polygon, and its angle is measured like
+ * {@link DefaultFeretsAngle} does.
+ * </p>
+ *
+ * @author agent
+ */
+@Plugin(type = Ops.Geometric.Calipers.class,
+	label = "Geometric (2D): Rotating Calipers")
+public class DefaultCalipers extends
+	AbstractUnaryFunctionOp<Polygon, CaliperDescriptor> implements
+	Ops.Geometric.Calipers
+{
+
+	private UnaryFunctionOp<Polygon, Polygon> convexHullFunc;
+
+	@Override
+	public void initialize() {
+		convexHullFunc = Functions.unary(ops(), Ops.Geometric.ConvexHull.class,
+			Polygon.class, in());
+	}
+
+	@Override
+	public CaliperDescriptor compute1(final Polygon input) {
+		List<? extends RealLocalizable> vertices = convexHullFunc.compute1(input)
+			.getVertices();
+		// NB: The hull of a single point is empty.
+		if (vertices.isEmpty()) vertices = input.getVertices();
+		final int n = vertices.size();
+
+		// NB: The calipers rely on the hull being in counter-clockwise order.
+		double signedArea = 0;
+		for (int i = 0; i < n; i++) {
+			final RealLocalizable p = vertices.get(i);
+			final RealLocalizable q = vertices.get((i + 1) % n);
+			signedArea += p.getDoublePosition(0) * q.getDoublePosition(1) - q
+				.getDoublePosition(0) * p.getDoublePosition(1);
+		}
+		final int[] order = new int[n];
+		final double[] xs = new double[n];
+		final double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = signedArea < 0 ? n - 1 - i : i;
+			xs[i] = vertices.get(order[i]).getDoublePosition(0);
+			ys[i] = vertices.get(order[i]).getDoublePosition(1);
+		}
+
+		// NB: Ties between the Feret diameters are broken by the index of the
+		// first vertex of the polygon at the same position.
+		final List<? extends RealLocalizable> polygon = input.getVertices();
+		final Map<List<Double>, Integer> firstIndices = new HashMap<>();
+		for (int i = polygon.size() - 1; i >= 0; i--) {
+			firstIndices.put(position(polygon.get(i)), i);
+		}
+		final int[] indices = new int[n];
+		for (int i = 0; i < n; i++) {
+			indices[i] = firstIndices.get(Arrays.asList(xs[i], ys[i]));
+		}
+
+		if (n < 3) return degenerate(polygon, indices, xs, ys);
+
+		double maxSquaredDistance = -1;
+		int max0 = 0;
+		int max1 = 0;
+		double minWidth = Double.POSITIVE_INFINITY;
+		double minWidthAngle = 0;
+		double minArea = Double.POSITIVE_INFINITY;
+		double[] rectangle = null;
+
+		int right = 1;
+		int top = 1;
+		int left = 0;
+		for (int i = 0; i < n; i++) {
+			final int j = (i + 1) % n;
+			final double length = Math.hypot(xs[j] - xs[i], ys[j] - ys[i]);
+			final double ux = (xs[j] - xs[i]) / length;
+			final double uy = (ys[j] - ys[i]) / length;
+
+			// vertex extending farthest along the edge
+			if (i == 0) right = j;
+			while (along(ux, uy, xs, ys, (right + 1) % n) > along(ux, uy, xs, ys,
+				right))
+			{
+				right = (right + 1) % n;
+			}
+
+			// vertex farthest away from the edge
+			if (i == 0) top = right;
+			while (height(ux, uy, xs, ys, i, (top + 1) % n) > height(ux, uy, xs, ys,
+				i, top))
+			{
+				top = (top + 1) % n;
+			}
+
+			// vertex extending farthest against the edge
+			if (i == 0) left = top;
+			while (along(ux, uy, xs, ys, (left + 1) % n) < along(ux, uy, xs, ys,
+				left))
+			{
+				left = (left + 1) % n;
+			}
+
+			// NB: If the opposite edge is parallel, both of its vertices are
+			// antipodal to this edge.
+			for (int c = 0; c < 4; c++) {
+				final int p = c % 2 == 0 ? i : j;
+				final int q = c < 2 ? top : (top + 1) % n;
+				final double dx = xs[p] - xs[q];
+				final double dy = ys[p] - ys[q];
+				final double squaredDistance = dx * dx + dy * dy;
+				if (squaredDistance > maxSquaredDistance ||
+					squaredDistance == maxSquaredDistance && precedes(indices, p, q, max0,
+						max1))
+				{
+					maxSquaredDistance = squaredDistance;
+					max0 = p;
+					max1 = q;
+				}
+			}
+
+			final double width = height(ux, uy, xs, ys, i, top);
+			if (width < minWidth) {
+				minWidth = width;
+				minWidthAngle = angle(-uy, ux);
+			}
+
+			final double start = along(ux, uy, xs, ys, left) - along(ux, uy, xs, ys,
+				i);
+			final double end = along(ux, uy, xs, ys, right) - along(ux, uy, xs, ys,
+				i);
+			final double area = width * (end - start);
+			if (area < minArea) {
+				minArea = area;
+				rectangle = new double[] { //
+					xs[i] + ux * start, ys[i] + uy * start, //
+					xs[i] + ux * end, ys[i] + uy * end, //
+					xs[i] + ux * end - uy * width, ys[i] + uy * end + ux * width, //
+					xs[i] + ux * start - uy * width, ys[i] + uy * start + ux * width };
+			}
+		}
+
+		final Pair<RealLocalizable, RealLocalizable> feret = feret(polygon,
+			indices[max0], indices[max1]);
+		return new CaliperDescriptor(feret, Math.sqrt(maxSquaredDistance),
+			DefaultFeretsAngle.angle(feret.getA(), feret.getB()), minWidth,
+			minWidthAngle, rectangle(rectangle), minArea);
+	}
+
+	// -- Helper methods --
+
+	/** Describes a hull with one or two vertices. */
+	private CaliperDescriptor degenerate(
+		final List<? extends RealLocalizable> polygon, final int[] indices,
+		final double[] xs, final double[] ys)
+	{
+		final int last = xs.length - 1;
+		final double dx = xs[last] - xs[0];
+		final double dy = ys[last] - ys[0];
+		final Pair<RealLocalizable, RealLocalizable> feret = feret(polygon,
+			indices[0], indices[last]);
+		return new CaliperDescriptor(feret, Math.hypot(dx, dy), DefaultFeretsAngle
+			.angle(feret.getA(), feret.getB()), 0, angle(-dy, dx), rectangle(
+				new double[] { xs[0], ys[0], xs[last], ys[last], xs[last], ys[last],
+					xs[0], ys[0] }), 0);
+	}
+
+	/** The vertices {@code i} and {@code j} of the polygon, in their order. */
+	private static Pair<RealLocalizable, RealLocalizable> feret(
+		final List<? extends RealLocalizable> polygon, final int i, final int j)
+	{
+		return new ValuePair<RealLocalizable, RealLocalizable>(polygon.get(Math
+			.min(i, j)), polygon.get(Math.max(i, j)));
+	}
+
+	/**
+	 * Whether the pair of hull vertices {@code p} and {@code q} comes before the
+	 * pair {@code r} and {@code s} in the order of the polygon.
+	 */
+	private static boolean precedes(final int[] indices, final int p,
+		final int q, final int r, final int s)
+	{
+		final int first = Math.min(indices[p], indices[q]);
+		final int other = Math.min(indices[r], indices[s]);
+		if (first != other) return first < other;
+		return Math.max(indices[p], indices[q]) < Math.max(indices[r], indices[s]);
+	}
+
+	private static List<Double> position(final RealLocalizable vertex) {
+		return Arrays.asList(vertex.getDoublePosition(0), vertex
+			.getDoublePosition(1));
+	}
+
+	/** Projects vertex {@code k} onto the direction {@code (ux, uy)}. */
+	private static double along(final double ux, final double uy,
+		final double[] xs, final double[] ys, final int k)
+	{
+		return ux * xs[k] + uy * ys[k];
+	}
+
+	/** Distance of vertex {@code k} to the line through vertex {@code i}. */
+	private static double height(final double ux, final double uy,
+		final double[] xs, final double[] ys, final int i, final int k)
+	{
+		return ux * (ys[k] - ys[i]) - uy * (xs[k] - xs[i]);
+	}
+
+	/** Angle of the direction {@code (dx, dy)} in degrees in [0, 180). */
+	private static double angle(final double dx, final double dy) {
+		double angle = Math.toDegrees(Math.atan2(dy, dx));
+		if (angle < 0) angle += 180;
+		return angle >= 180 ? angle - 180 : angle;
+	}
+
+	private static Polygon rectangle(final double[] corners) {
+		return new Polygon(Arrays.<RealLocalizable> asList( //
+			new RealPoint(corners[0], corners[1]), //
+			new RealPoint(corners[2], corners[3]), //
+			new RealPoint(corners[4], corners[5]), //
+			new RealPoint(corners[6], corners[7])));
+	}
+
+}
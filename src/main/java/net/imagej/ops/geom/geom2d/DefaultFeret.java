@@ -30,6 +30,8 @@
 
 package net.imagej.ops.geom.geom2d;
 
+import java.util.List;
+
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
 import net.imglib2.RealLocalizable;
@@ -41,6 +43,10 @@ import org.scijava.plugin.Plugin;
 
 /**
  * Generic implementation of {@code geom.feret}.
+ * <p>
+ * Compares all pairs of vertices; {@link CalipersFeret} finds the same pair
+ * faster.
+ * </p>
  * 
  * @author Daniel Seebacher (University of Konstanz)
  */
@@ -52,21 +58,23 @@ public class DefaultFeret extends
 
 	@Override
 	public Pair<RealLocalizable, RealLocalizable> compute1(final Polygon input) {
+		final List<? extends RealLocalizable> vertices = input.getVertices();
 		double distance = Double.NEGATIVE_INFINITY;
 		int in0 = -1;
 		int in1 = -1;
 
-		for (int i = 0; i < input.getVertices().size(); i++) {
-			for (int j = i + 1; j < input.getVertices().size(); j++) {
-				RealLocalizable temp0 = input.getVertices().get(i);
-				RealLocalizable temp1 = input.getVertices().get(j);
+		// NB: Comparing squared distances selects the same pair.
+		for (int i = 0; i < vertices.size(); i++) {
+			final RealLocalizable temp0 = vertices.get(i);
+			for (int j = i + 1; j < vertices.size(); j++) {
+				final RealLocalizable temp1 = vertices.get(j);
 
 				double sum = 0;
 				for (int k = 0; k < temp0.numDimensions(); k++) {
-					sum += Math.pow(temp0.getDoublePosition(k) - temp1.getDoublePosition(
-						k), 2);
+					final double d = temp0.getDoublePosition(k) - temp1
+						.getDoublePosition(k);
+					sum += d * d;
 				}
-				sum = Math.sqrt(sum);
 
 				if (sum > distance) {
 					distance = sum;
@@ -62,17 +62,16 @@ public class DefaultFeretsAngle extends AbstractUnaryHybridCF<Polygon, DoubleTyp
 
 	@Override
 	public void compute1(final Polygon input, final DoubleType output) {
-		double result;
 		final Pair<RealLocalizable, RealLocalizable> ferets = function.compute1(
 			input);
+		output.set(angle(ferets.getA(), ferets.getB()));
+	}
 
-		RealLocalizable p1 = ferets.getA();
-		RealLocalizable p2 = ferets.getB();
-
-		if (p1.getDoublePosition(0) == p2.getDoublePosition(0)) {
-			result = 90;
-		}
-
+	/**
+	 * Computes the angle of the line from {@code p1} to {@code p2} in degrees,
+	 * as reported by {@code geom.feretsAngle}.
+	 */
+	static double angle(final RealLocalizable p1, final RealLocalizable p2) {
 		// tan alpha = opposite leg / adjacent leg
 		// angle in radiants = atan(alpha)
 		// angle in degree = atan(alpha) * (180/pi)
@@ -82,10 +81,9 @@ public class DefaultFeretsAngle extends AbstractUnaryHybridCF<Polygon, DoubleTyp
 		if (adjLeg < 0) {
 			degree = 180 - degree;
 		}
-		result = Math.abs(degree);
-		output.set(result);
+		return Math.abs(degree);
 	}
-	
+
 	@Override
 	public DoubleType createOutput(Polygon input) {
 		return new DoubleType();
@@ -0,0 +1,164 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom2d;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.cached.CachedOpEnvironment;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.roi.labeling.LabelRegions;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Generic implementation of {@code geom.shapeFeatures}.
+ * <p>
+ * Computes the given 2D geometric features, e.g.
+ * {@link Ops.Geometric.Circularity} or {@link Ops.Geometric.Solidity}, of all
+ * regions of a labeling. The regions are processed in parallel. The contour of
+ * each region is traced once, and all features are computed in a
+ * {@link CachedOpEnvironment}, so intermediate results such as the convex hull
+ * are shared by all features of a region.
+ * </p>
+ *
+ * @author agent
+ * @param <L> the type of the labels
+ * @param <I> the type of the index image of the labeling
+ */
+@Plugin(type = Ops.Geometric.ShapeFeatures.class,
+	label = "Geometric (2D): Shape Features")
+public class DefaultShapeFeatures<L, I extends IntegerType<I>> extends
+	AbstractUnaryFunctionOp<ImgLabeling<L, I>, ShapeFeatureTable<L>> implements
+	Ops.Geometric.ShapeFeatures, Contingent, Parallel
+{
+
+	/** Labelings with fewer regions are processed on the calling thread. */
+	private static final int PARALLEL_THRESHOLD = 64;
+
+	@Parameter(description = "The ops computing a DoubleType from a Polygon.")
+	private List<Class<? extends Op>> features;
+
+	@Override
+	public ShapeFeatureTable<L> compute1(final ImgLabeling<L, I> input) {
+		final LabelRegions<L> labelRegions = new LabelRegions<>(input);
+		final List<L> labels = new ArrayList<>(labelRegions.getExistingLabels());
+
+		// NB: The regions are looked up on the calling thread, as LabelRegions
+		// updates its internal state lazily.
+		final List<LabelRegion<L>> regions = new ArrayList<>(labels.size());
+		for (final L label : labels) {
+			regions.add(labelRegions.getLabelRegion(label));
+		}
+
+		final double[][] columns = new double[features.size()][regions.size()];
+		if (regions.size() < PARALLEL_THRESHOLD) {
+			evaluate(regions, columns, 0, 1, regions.size());
+		}
+		else {
+			ops().run(ChunkerOp.class, new Chunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					evaluate(regions, columns, startIndex, stepSize, numSteps);
+				}
+			}, regions.size());
+		}
+
+		final Map<Class<? extends Op>, double[]> table = new LinkedHashMap<>();
+		for (int f = 0; f < features.size(); f++) {
+			table.put(features.get(f), columns[f]);
+		}
+		return new ShapeFeatureTable<>(labels, table);
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2;
+	}
+
+	// -- Helper methods --
+
+	/** Computes the features of a chunk of regions. */
+	private void evaluate(final List<LabelRegion<L>> regions,
+		final double[][] columns, final int startIndex, final int stepSize,
+		final int numSteps)
+	{
+		// NB: Each chunk matches its own ops, as they are not thread-safe.
+		final CachedOpEnvironment env = new CachedOpEnvironment(ops());
+		UnaryFunctionOp<LabelRegion<L>, Polygon> contourFunc = null;
+		List<UnaryFunctionOp<Polygon, DoubleType>> featureFuncs = null;
+
+		for (int i = 0; i < numSteps; i++) {
+			final int row = startIndex + i * stepSize;
+			final LabelRegion<L> region = regions.get(row);
+			if (contourFunc == null) {
+				contourFunc = Functions.unary(env, Ops.Geometric.Contour.class,
+					Polygon.class, region, true, true);
+			}
+			final Polygon contour = contourFunc.compute1(region);
+
+			if (featureFuncs == null) {
+				featureFuncs = new ArrayList<>(features.size());
+				for (final Class<? extends Op> feature : features) {
+					featureFuncs.add(Functions.unary(env, feature, DoubleType.class,
+						contour));
+				}
+			}
+			for (int f = 0; f < featureFuncs.size(); f++) {
+				columns[f][row] = featureFuncs.get(f).compute1(contour).get();
+			}
+
+			// NB: The cached results are keyed by the identity of the inputs, so
+			// they can not be reused for other regions.
+			env.getCache().clear();
+		}
+	}
+
+}
@@ -69,7 +69,8 @@ public class LabelRegionToPolygonConverter extends
 			contourFunc = (UnaryFunctionOp) Functions.unary(ops, Ops.Geometric.Contour.class, dest, src, true,
 				true);
 		}
-		// FIXME: can we make this faster?
+		// NB: To compute features of many regions, use geom.shapeFeatures, which
+		// traces each contour only once.
 		final Polygon p = (Polygon) contourFunc.compute1(src);
 		return (T) p;
 	}
@@ -0,0 +1,89 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom2d;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.imagej.ops.Op;
+
+/**
+ * The shape features of the regions of a labeling, stored column-wise: each
+ * feature is one {@code double[]} holding the value of each region, see
+ * {@link DefaultShapeFeatures}.
+ *
+ * @author agent
+ * @param <L> the type of the labels
+ */
+public class ShapeFeatureTable<L> {
+
+	private final List<L> labels;
+
+	private final Map<Class<? extends Op>, double[]> columns;
+
+	/**
+	 * @param labels the label of each row
+	 * @param columns the values of each feature, ordered like the labels
+	 */
+	public ShapeFeatureTable(final List<L> labels,
+		final Map<Class<? extends Op>, double[]> columns)
+	{
+		this.labels = labels;
+		this.columns = columns;
+	}
+
+	/** @return the label of each row */
+	public List<L> getLabels() {
+		return labels;
+	}
+
+	/** @return the number of rows, i.e. regions */
+	public int getRowCount() {
+		return labels.size();
+	}
+
+	/** @return the ops computing the features, in the order of the columns */
+	public Set<Class<? extends Op>> getFeatures() {
+		return columns.keySet();
+	}
+
+	/** @return the values of the given feature, ordered like the labels */
+	public double[] getColumn(final Class<? extends Op> feature) {
+		return columns.get(feature);
+	}
+
+	/** @return the value of the given feature in the given row */
+	public double get(final Class<? extends Op> feature, final int row) {
+		return columns.get(feature)[row];
+	}
+
+}
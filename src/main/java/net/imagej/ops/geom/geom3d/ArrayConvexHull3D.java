@@ -0,0 +1,763 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom3d;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.geom.geom3d.mesh.DefaultMesh;
+import net.imagej.ops.geom.geom3d.mesh.Mesh;
+import net.imagej.ops.geom.geom3d.mesh.TriangularFacet;
+import net.imagej.ops.geom.geom3d.mesh.Vertex;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RealLocalizable;
+
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Quickhull implementation which stores points, facets and their neighbors in
+ * primitive arrays.
+ * <p>
+ * It takes the same steps as {@link DefaultConvexHull3D}: the same initial
+ * simplex, the same order in which facets are processed, the same horizon
+ * merges and the same point assignment. Therefore it computes the same hull
+ * with the same vertices. Facets with points in front are processed from a
+ * FIFO queue of facet indices, and facets which are merged into a horizon are
+ * only flagged as removed. The assignment of points to new facets runs in
+ * parallel for large point sets.
+ * </p>
+ * 
+ * @author agent
+ */
+@Plugin(type = Ops.Geometric.ConvexHull.class,
+	priority = Priority.HIGH_PRIORITY)
+public class ArrayConvexHull3D extends AbstractUnaryFunctionOp<Mesh, Mesh>
+	implements Ops.Geometric.ConvexHull, Parallel
+{
+
+	/**
+	 * Precision of a double.
+	 */
+	private static final double DOUBLE_PREC = 2.2204460492503131e-16;
+
+	/**
+	 * Point assignments with fewer point-facet distances are computed on the
+	 * calling thread.
+	 */
+	private static final long PARALLEL_THRESHOLD = 1 << 14;
+
+	@Override
+	public Mesh compute1(final Mesh input) {
+		final Hull hull = new Hull(input.getVertices());
+		hull.compute();
+
+		final DefaultMesh output = new DefaultMesh();
+		final Vertex[] vertices = new Vertex[hull.numPoints];
+		for (int f = 0; f < hull.numFacets; f++) {
+			if (hull.removed[f]) continue;
+			output.addFace(new TriangularFacet(hull.vertex(vertices, f, 0), hull
+				.vertex(vertices, f, 1), hull.vertex(vertices, f, 2)));
+		}
+		output.setEpsilon(hull.epsilon);
+		return output;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * The state of one hull computation. Facet {@code f} consists of the points
+	 * {@code corners[3 * f + i]}, and {@code neighbors[3 * f + i]} is the facet
+	 * on the other side of the edge which ends in corner {@code i}, as in
+	 * {@link TriangularFacet}.
+	 */
+	private final class Hull {
+
+		/** x, y and z coordinate of each point. */
+		private final double[] points;
+
+		private final int numPoints;
+
+		/** Next point in the same outside set, or -1. */
+		private final int[] next;
+
+		private double epsilon;
+
+		private int numFacets;
+
+		private int[] corners = new int[3 * 64];
+
+		private int[] neighbors = new int[3 * 64];
+
+		/** Unit normal and offset of each facet. */
+		private double[] planes = new double[4 * 64];
+
+		/** First and last point of the outside set of each facet, or -1. */
+		private int[] outsideHead = new int[64];
+
+		private int[] outsideTail = new int[64];
+
+		/** Distance of the first point of each outside set. */
+		private double[] outsideDistance = new double[64];
+
+		private boolean[] removed = new boolean[64];
+
+		/** Facets with points in front, in the order they get processed. */
+		private int[] queue = new int[64];
+
+		private int queueStart;
+
+		private int queueEnd;
+
+		/** Points which have to be (re)assigned to the new facets. */
+		private final IntList pending = new IntList();
+
+		private final IntList newFacets = new IntList();
+
+		private final IntList horizonVertices = new IntList();
+
+		private final IntList horizonNeighbors = new IntList();
+
+		private int[] assignedFacet = new int[0];
+
+		private double[] assignedDistance = new double[0];
+
+		public Hull(final Set<RealLocalizable> vertices) {
+			numPoints = vertices.size();
+			points = new double[3 * numPoints];
+			next = new int[numPoints];
+			int i = 0;
+			for (final RealLocalizable v : vertices) {
+				points[i++] = v.getDoublePosition(0);
+				points[i++] = v.getDoublePosition(1);
+				points[i++] = v.getDoublePosition(2);
+			}
+		}
+
+		public void compute() {
+			createSimplex();
+			while (queueStart < queueEnd) {
+				final int facet = queue[queueStart++];
+				// NB: Facets merged into a horizon stay in the queue.
+				if (!removed[facet]) replaceFacet(facet);
+			}
+		}
+
+		/** Gets corner {@code i} of facet {@code f}, creating it if needed. */
+		public Vertex vertex(final Vertex[] vertices, final int f, final int i) {
+			final int p = corners[3 * f + i];
+			if (vertices[p] == null) {
+				vertices[p] = new Vertex(points[3 * p], points[3 * p + 1], points[3 *
+					p + 2]);
+			}
+			return vertices[p];
+		}
+
+		// -- Quickhull steps --
+
+		/**
+		 * Replaces a facet with at least three new facets.
+		 */
+		private void replaceFacet(final int facet) {
+			final int top = outsideHead[facet];
+			outsideHead[facet] = next[top];
+			computeHorizon(facet, top);
+			createFacets(top);
+			assignPointsToFacets();
+		}
+
+		/**
+		 * Merges all facets in front of {@code top} into the horizon, starting
+		 * with {@code front}. Their outside points are collected for
+		 * reassignment.
+		 */
+		private void computeHorizon(final int front, final int top) {
+			pending.clear();
+			collectOutside(front);
+			removed[front] = true;
+
+			horizonVertices.clear();
+			horizonNeighbors.clear();
+			for (int i = 0; i < 3; i++) {
+				horizonVertices.add(corners[3 * front + i]);
+				horizonNeighbors.add(neighbors[3 * front + i]);
+			}
+
+			int merge = nextFacetToMerge(top);
+			while (merge >= 0) {
+				collectOutside(merge);
+				removed[merge] = true;
+
+				final boolean complex = horizonContainsAll(merge);
+				updateNeighbors(front, merge);
+				if (complex) complexMerge(merge);
+				else simpleMerge(merge);
+				merge = nextFacetToMerge(top);
+			}
+		}
+
+		/**
+		 * Neighbors of {@code merge} outside of the horizon now border the
+		 * horizon, which keeps the index of the front facet.
+		 */
+		private void updateNeighbors(final int front, final int merge) {
+			for (int i = 0; i < 3; i++) {
+				final int f = neighbors[3 * merge + i];
+				if (f != front) {
+					neighbors[3 * f + indexOfNeighbor(f, merge)] = front;
+				}
+			}
+		}
+
+		/**
+		 * @return a facet in front of {@code top} which borders the horizon, or
+		 *         -1 if there is none
+		 */
+		private int nextFacetToMerge(final int top) {
+			for (int i = 0; i < horizonNeighbors.size; i++) {
+				final int f = horizonNeighbors.data[i];
+				if (distanceToPlane(f, top) > epsilon) {
+					// if the horizon contains all vertices of f it either is
+					// connected with two edges or one edge
+					if (horizonContainsAll(f)) {
+						final int v0 = corners[3 * f];
+						final int v1 = corners[3 * f + 1];
+						final int v2 = corners[3 * f + 2];
+						int numEdges = 0;
+						if (horizonHasEdge(v0, v2)) numEdges++;
+						if (horizonHasEdge(v2, v1)) numEdges++;
+						if (horizonHasEdge(v1, v0)) numEdges++;
+						// NB: Merged later, once it is connected with two edges.
+						if (numEdges == 1) continue;
+					}
+					return f;
+				}
+			}
+			return -1;
+		}
+
+		/** Merges a facet which shares exactly one edge with the horizon. */
+		private void simpleMerge(final int f) {
+			int neighborIndex = horizonNeighbors.indexOf(f);
+			int newVertex = -1;
+			for (int i = 0; i < 3; i++) {
+				if (horizonVertices.indexOf(corners[3 * f + i]) == -1) {
+					newVertex = i;
+					break;
+				}
+			}
+			horizonVertices.add(neighborIndex, corners[3 * f + newVertex]);
+			horizonNeighbors.set(neighborIndex, neighbors[3 * f + newVertex]);
+			neighborIndex = (neighborIndex + 1) % (horizonNeighbors.size + 1);
+			newVertex = (newVertex + 1) % 3;
+			horizonNeighbors.add(neighborIndex, neighbors[3 * f + newVertex]);
+		}
+
+		/** Merges a facet which shares two edges with the horizon. */
+		private void complexMerge(final int f) {
+			final int v0 = corners[3 * f];
+			final int v1 = corners[3 * f + 1];
+			final int v2 = corners[3 * f + 2];
+			if (horizonHasEdge(v0, v2)) {
+				if (horizonHasEdge(v1, v0)) mergeTwoAdjacentEdges(f, v0, 2);
+				else if (horizonHasEdge(v2, v1)) mergeTwoAdjacentEdges(f, v2, 1);
+			}
+			else if (horizonHasEdge(v2, v1)) {
+				if (horizonHasEdge(v0, v2)) mergeTwoAdjacentEdges(f, v2, 1);
+				else if (horizonHasEdge(v1, v0)) mergeTwoAdjacentEdges(f, v1, 0);
+			}
+			else if (horizonHasEdge(v1, v0)) {
+				if (horizonHasEdge(v2, v1)) mergeTwoAdjacentEdges(f, v1, 0);
+				else if (horizonHasEdge(v0, v2)) mergeTwoAdjacentEdges(f, v0, 2);
+			}
+		}
+
+		private void mergeTwoAdjacentEdges(final int f, final int v,
+			final int neighborIndex)
+		{
+			int i = horizonVertices.indexOf(v);
+			horizonVertices.remove(i);
+			horizonNeighbors.remove(i);
+			i = i % horizonNeighbors.size;
+			horizonNeighbors.set(i, neighbors[3 * f + neighborIndex]);
+		}
+
+		/**
+		 * Adds for each edge of the horizon a new facet with the point
+		 * {@code top}. The new facets build a cone.
+		 */
+		private void createFacets(final int top) {
+			newFacets.clear();
+			final int n = horizonVertices.size;
+			for (int i = 1; i < n; i++) {
+				createFacet(horizonVertices.data[i], top, horizonVertices.data[i - 1],
+					horizonNeighbors.data[i]);
+			}
+			// this facet connects the last facet with the first one
+			createFacet(horizonVertices.data[0], top, horizonVertices.data[n - 1],
+				horizonNeighbors.data[0]);
+
+			final int last = newFacets.size - 1;
+			for (int i = 0; i <= last; i++) {
+				final int f = newFacets.data[i];
+				neighbors[3 * f + 1] = newFacets.data[i == last ? 0 : i + 1];
+				neighbors[3 * f + 2] = newFacets.data[i == 0 ? last : i - 1];
+			}
+		}
+
+		private void createFacet(final int vRight, final int vTop,
+			final int vLeft, final int neighbor)
+		{
+			final int f = addFacet(vRight, vTop, vLeft);
+			neighbors[3 * neighbor + indexOfCorner(neighbor, vLeft)] = f;
+			neighbors[3 * f] = neighbor;
+			newFacets.add(f);
+		}
+
+		/**
+		 * Assigns each pending point to the new facet it is farthest in front
+		 * of. Points which are behind all new facets are inside of the hull and
+		 * are dropped.
+		 */
+		private void assignPointsToFacets() {
+			final int n = pending.size;
+			if (assignedFacet.length < n) {
+				assignedFacet = new int[Math.max(n, 2 * assignedFacet.length)];
+				assignedDistance = new double[assignedFacet.length];
+			}
+
+			if ((long) n * newFacets.size < PARALLEL_THRESHOLD) {
+				findFacets(0, 1, n);
+			}
+			else {
+				ops().run(ChunkerOp.class, new Chunk() {
+
+					@Override
+					public void execute(final int startIndex, final int stepSize,
+						final int numSteps)
+					{
+						findFacets(startIndex, stepSize, numSteps);
+					}
+				}, n);
+			}
+
+			// NB: Sequential, so that the outside sets do not depend on threading.
+			for (int i = 0; i < n; i++) {
+				if (assignedFacet[i] >= 0) {
+					addToOutside(assignedFacet[i], pending.data[i],
+						assignedDistance[i]);
+				}
+			}
+			pending.clear();
+		}
+
+		private void findFacets(final int startIndex, final int stepSize,
+			final int numSteps)
+		{
+			for (int s = 0; s < numSteps; s++) {
+				final int i = startIndex + s * stepSize;
+				final int p = pending.data[i];
+				int maxFacet = -1;
+				double maxDistance = epsilon;
+				for (int j = 0; j < newFacets.size; j++) {
+					final int f = newFacets.data[j];
+					final double distance = distanceToPlane(f, p);
+					// point is assigned to the facet with maximum distance
+					if (distance > maxDistance) {
+						maxDistance = distance;
+						maxFacet = f;
+					}
+				}
+				assignedFacet[i] = maxFacet;
+				assignedDistance[i] = maxDistance;
+			}
+		}
+
+		/**
+		 * Computes an initial simplex of four facets, see
+		 * {@link DefaultConvexHull3D}.
+		 */
+		private void createSimplex() {
+			final int[] minMax = computeMinMax();
+
+			final int i = getMaxDistPointIndex(minMax);
+			final int v0 = minMax[i];
+			final int v1 = minMax[i + 3];
+			final int v2 = getV2(v0, v1);
+			final int v3 = v2 < 0 ? -1 : getV3(v0, v1, v2);
+			if (v3 < 0) {
+				throw new IllegalArgumentException(
+					"The points must not all lie in a plane.");
+			}
+
+			int f0 = addFacet(v0, v1, v2);
+			if (distanceToPlane(f0, v3) > epsilon) {
+				// change triangle orientation to counter clockwise
+				numFacets = 0;
+				f0 = addFacet(v0, v2, v1);
+			}
+			final int a = corners[3 * f0 + 1];
+			final int b = corners[3 * f0 + 2];
+			final int f1 = addFacet(a, v0, v3);
+			final int f2 = addFacet(b, a, v3);
+			final int f3 = addFacet(v0, b, v3);
+			setNeighbors(f0, f3, f1, f2);
+			setNeighbors(f1, f2, f0, f3);
+			setNeighbors(f2, f3, f0, f1);
+			setNeighbors(f3, f1, f0, f2);
+
+			pending.clear();
+			for (int p = 0; p < numPoints; p++) {
+				if (p != v0 && p != v1 && p != v2 && p != v3) pending.add(p);
+			}
+			newFacets.clear();
+			newFacets.add(f0);
+			newFacets.add(f1);
+			newFacets.add(f2);
+			newFacets.add(f3);
+			assignPointsToFacets();
+		}
+
+		/**
+		 * @return the point with the largest distance to the plane described by
+		 *         v0, v1, v2, or -1
+		 */
+		private int getV3(final int v0, final int v1, final int v2) {
+			final double d0x = x(v1) - x(v0);
+			final double d0y = y(v1) - y(v0);
+			final double d0z = z(v1) - z(v0);
+			final double d1x = x(v2) - x(v0);
+			final double d1y = y(v2) - y(v0);
+			final double d1z = z(v2) - z(v0);
+			double nx = MathArrays.linearCombination(d0y, d1z, -d0z, d1y);
+			double ny = MathArrays.linearCombination(d0z, d1x, -d0x, d1z);
+			double nz = MathArrays.linearCombination(d0x, d1y, -d0y, d1x);
+			final double scale = 1 / FastMath.sqrt(nx * nx + ny * ny + nz * nz);
+			nx *= scale;
+			ny *= scale;
+			nz *= scale;
+
+			double distPlanePoint = epsilon;
+			int v3 = -1;
+			for (int v = 0; v < numPoints; v++) {
+				if (v == v0 || v == v1 || v == v2) continue;
+				final double d = Math.abs(MathArrays.linearCombination(nx, x(v) - x(
+					v0), ny, y(v) - y(v0), nz, z(v) - z(v0)));
+				if (d > distPlanePoint) {
+					distPlanePoint = d;
+					v3 = v;
+				}
+			}
+			return v3;
+		}
+
+		/**
+		 * @return the point with the largest distance to the line described by
+		 *         v0, v1, or -1
+		 */
+		private int getV2(final int v0, final int v1) {
+			// d = |(v - v0) x (v - v1)| / |(v1 - v0)|
+			// We can omit the common denominator because it does not change over
+			// all computations.
+			double distLinePoint = epsilon;
+			int v2 = -1;
+			for (int v = 0; v < numPoints; v++) {
+				if (v == v0 || v == v1) continue;
+				final double d0x = x(v) - x(v1);
+				final double d0y = y(v) - y(v1);
+				final double d0z = z(v) - z(v1);
+				final double d1x = x(v) - x(v0);
+				final double d1y = y(v) - y(v0);
+				final double d1z = z(v) - z(v0);
+				final double cx = MathArrays.linearCombination(d0y, d1z, -d0z, d1y);
+				final double cy = MathArrays.linearCombination(d0z, d1x, -d0x, d1z);
+				final double cz = MathArrays.linearCombination(d0x, d1y, -d0y, d1x);
+				final double lengthSq = cx * cx + cy * cy + cz * cz;
+				if (lengthSq > distLinePoint) {
+					distLinePoint = lengthSq;
+					v2 = v;
+				}
+			}
+			return v2;
+		}
+
+		/**
+		 * @return index of the dimension with the largest distance between two
+		 *         points.
+		 */
+		private int getMaxDistPointIndex(final int[] minMax) {
+			final double[] diff = new double[] { x(minMax[3]) - x(minMax[0]), y(
+				minMax[4]) - y(minMax[1]), z(minMax[5]) - z(minMax[2]) };
+
+			double max = 0;
+			int imax = 0;
+			for (int i = 0; i < diff.length; i++) {
+				if (diff[i] > max) {
+					max = diff[i];
+					imax = i;
+				}
+			}
+			return imax;
+		}
+
+		/**
+		 * Finds the min and max point of each dimension, exactly like
+		 * {@link DefaultConvexHull3D} does, and computes the epsilon.
+		 */
+		private int[] computeMinMax() {
+			if (numPoints == 0) {
+				throw new IllegalArgumentException("The mesh has no vertices.");
+			}
+			final int[] minMax = new int[6];
+			double minX = x(0), maxX = minX;
+			double minY = y(0), maxY = minY;
+			double minZ = z(0), maxZ = minZ;
+			for (int v = 1; v < numPoints; v++) {
+				if (x(v) > maxX) {
+					maxX = x(v);
+					minMax[3] = v;
+				}
+				else if (x(v) < minX) {
+					minX = x(v);
+					minMax[0] = v;
+				}
+				if (y(v) > maxY) {
+					maxY = y(v);
+					minMax[4] = v;
+				}
+				else if (y(v) < minY) {
+					minY = y(v);
+					minMax[2] = v;
+				}
+				if (z(v) > maxZ) {
+					maxZ = z(v);
+					minMax[5] = v;
+				}
+				else if (z(v) < minZ) {
+					minZ = z(v);
+					minMax[3] = v;
+				}
+			}
+
+			// This epsilon formula comes from John Lloyd's quickhull
+			// implementation http://www.cs.ubc.ca/~lloyd/java/quickhull3d.html
+			epsilon = 3 * DOUBLE_PREC * (Math.max(Math.abs(maxX), Math.abs(minX)) +
+				Math.max(Math.abs(maxY), Math.abs(minY)) + Math.max(Math.abs(maxZ),
+					Math.abs(minZ)));
+			return minMax;
+		}
+
+		// -- Facet storage --
+
+		/**
+		 * Adds a facet and computes its plane the same way
+		 * {@link TriangularFacet} does.
+		 */
+		private int addFacet(final int v0, final int v1, final int v2) {
+			final int f = numFacets++;
+			if (f == removed.length) grow();
+			corners[3 * f] = v0;
+			corners[3 * f + 1] = v1;
+			corners[3 * f + 2] = v2;
+			outsideHead[f] = -1;
+			outsideTail[f] = -1;
+			removed[f] = false;
+
+			final double ax = x(v1) - x(v0);
+			final double ay = y(v1) - y(v0);
+			final double az = z(v1) - z(v0);
+			final double bx = x(v2) - x(v0);
+			final double by = y(v2) - y(v0);
+			final double bz = z(v2) - z(v0);
+			double nx = MathArrays.linearCombination(ay, bz, -az, by);
+			double ny = MathArrays.linearCombination(az, bx, -ax, bz);
+			double nz = MathArrays.linearCombination(ax, by, -ay, bx);
+			final double scale = 1 / FastMath.sqrt(nx * nx + ny * ny + nz * nz);
+			nx *= scale;
+			ny *= scale;
+			nz *= scale;
+			final double third = 1 / (double) 3;
+			final double cx = (x(v0) + x(v1) + x(v2)) * third;
+			final double cy = (y(v0) + y(v1) + y(v2)) * third;
+			final double cz = (z(v0) + z(v1) + z(v2)) * third;
+			planes[4 * f] = nx;
+			planes[4 * f + 1] = ny;
+			planes[4 * f + 2] = nz;
+			planes[4 * f + 3] = MathArrays.linearCombination(nx, cx, ny, cy, nz, cz);
+			return f;
+		}
+
+		private void grow() {
+			final int capacity = 2 * removed.length;
+			corners = Arrays.copyOf(corners, 3 * capacity);
+			neighbors = Arrays.copyOf(neighbors, 3 * capacity);
+			planes = Arrays.copyOf(planes, 4 * capacity);
+			outsideHead = Arrays.copyOf(outsideHead, capacity);
+			outsideTail = Arrays.copyOf(outsideTail, capacity);
+			outsideDistance = Arrays.copyOf(outsideDistance, capacity);
+			removed = Arrays.copyOf(removed, capacity);
+		}
+
+		private void setNeighbors(final int f, final int n0, final int n1,
+			final int n2)
+		{
+			neighbors[3 * f] = n0;
+			neighbors[3 * f + 1] = n1;
+			neighbors[3 * f + 2] = n2;
+		}
+
+		private double distanceToPlane(final int f, final int p) {
+			return MathArrays.linearCombination(planes[4 * f], x(p), planes[4 * f +
+				1], y(p), planes[4 * f + 2], z(p)) - planes[4 * f + 3];
+		}
+
+		/**
+		 * Adds a point to the outside set of a facet. Like in
+		 * {@link TriangularFacet}, the point goes first if it is farther away
+		 * than the current first point, and last otherwise.
+		 */
+		private void addToOutside(final int f, final int p,
+			final double distance)
+		{
+			if (outsideHead[f] < 0) {
+				next[p] = -1;
+				outsideHead[f] = p;
+				outsideTail[f] = p;
+				outsideDistance[f] = distance;
+				if (queueEnd == queue.length) {
+					queue = Arrays.copyOf(queue, 2 * queue.length);
+				}
+				queue[queueEnd++] = f;
+			}
+			else if (outsideDistance[f] < distance) {
+				next[p] = outsideHead[f];
+				outsideHead[f] = p;
+				outsideDistance[f] = distance;
+			}
+			else {
+				next[p] = -1;
+				next[outsideTail[f]] = p;
+				outsideTail[f] = p;
+			}
+		}
+
+		private void collectOutside(final int f) {
+			for (int p = outsideHead[f]; p >= 0; p = next[p]) {
+				pending.add(p);
+			}
+		}
+
+		private int indexOfCorner(final int f, final int v) {
+			for (int i = 0; i < 3; i++) {
+				if (corners[3 * f + i] == v) return i;
+			}
+			return -1;
+		}
+
+		private int indexOfNeighbor(final int f, final int n) {
+			for (int i = 0; i < 3; i++) {
+				if (neighbors[3 * f + i] == n) return i;
+			}
+			return -1;
+		}
+
+		private boolean horizonContainsAll(final int f) {
+			return horizonVertices.indexOf(corners[3 * f]) >= 0 && horizonVertices
+				.indexOf(corners[3 * f + 1]) >= 0 && horizonVertices.indexOf(
+					corners[3 * f + 2]) >= 0;
+		}
+
+		private boolean horizonHasEdge(final int tail, final int head) {
+			final int start = horizonVertices.indexOf(tail);
+			final int end = horizonVertices.indexOf(head);
+			if (start == -1 || end == -1) return false;
+			return (start + 1) % horizonVertices.size == end;
+		}
+
+		private double x(final int p) {
+			return points[3 * p];
+		}
+
+		private double y(final int p) {
+			return points[3 * p + 1];
+		}
+
+		private double z(final int p) {
+			return points[3 * p + 2];
+		}
+	}
+
+	/** Growable list of ints. */
+	private static final class IntList {
+
+		private int[] data = new int[16];
+
+		private int size;
+
+		public void add(final int value) {
+			add(size, value);
+		}
+
+		public void add(final int index, final int value) {
+			if (size == data.length) data = Arrays.copyOf(data, 2 * size);
+			System.arraycopy(data, index, data, index + 1, size - index);
+			data[index] = value;
+			size++;
+		}
+
+		public void set(final int index, final int value) {
+			data[index] = value;
+		}
+
+		public void remove(final int index) {
+			System.arraycopy(data, index + 1, data, index, size - index - 1);
+			size--;
+		}
+
+		public int indexOf(final int value) {
+			for (int i = 0; i < size; i++) {
+				if (data[i] == value) return i;
+			}
+			return -1;
+		}
+
+		public void clear() {
+			size = 0;
+		}
+	}
+
+}
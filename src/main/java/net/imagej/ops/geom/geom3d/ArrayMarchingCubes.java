@@ -0,0 +1,378 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom3d;
+
+import java.util.Arrays;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.geom.geom3d.mesh.ArrayMesh;
+import net.imagej.ops.geom.geom3d.mesh.BitTypeVertexInterpolator;
+import net.imagej.ops.geom.geom3d.mesh.Mesh;
+import net.imagej.ops.geom.geom3d.mesh.VertexInterpolator;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessible;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.BooleanType;
+import net.imglib2.type.logic.BoolType;
+import net.imglib2.view.Views;
+
+import org.scijava.ItemIO;
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Marching cubes implementation which writes into an {@link ArrayMesh}.
+ * <p>
+ * It produces the same triangles in the same order as
+ * {@link DefaultMarchingCubes}, but each vertex is stored once: a vertex lies
+ * on an edge of the voxel grid, and the vertices of each edge are looked up in
+ * a hash table. The layers of cubes along the z-axis are processed in
+ * parallel, and merged in order afterwards. The interpolator is always called
+ * with the lower end of an edge first, so that the vertex of an edge does not
+ * depend on the cube it is computed for.
+ * </p>
+ * 
+ * @author agent
+ * @param <T> BooleanType
+ */
+@Plugin(type = Ops.Geometric.MarchingCubes.class,
+	priority = Priority.HIGH_PRIORITY)
+public class ArrayMarchingCubes<T extends BooleanType<T>> extends
+	AbstractUnaryFunctionOp<RandomAccessibleInterval<T>, Mesh> implements
+	Ops.Geometric.MarchingCubes, Contingent, Parallel
+{
+
+	/** Inputs with fewer cubes are processed on the calling thread. */
+	private static final long PARALLEL_THRESHOLD = 1 << 14;
+
+	/**
+	 * Origin of each edge of a cube, relative to the cube, using the corner
+	 * numbering of the lookup tables.
+	 */
+	private static final int[][] EDGE_ORIGIN = { { 0, 0, 0 }, { 1, 0, 0 }, { 0,
+		0, 1 }, { 0, 0, 0 }, { 0, 1, 0 }, { 1, 1, 0 }, { 0, 1, 1 }, { 0, 1, 0 }, {
+			0, 0, 0 }, { 1, 0, 0 }, { 1, 0, 1 }, { 0, 0, 1 } };
+
+	/** Direction of each edge of a cube. */
+	private static final int[] EDGE_DIRECTION = { 0, 2, 0, 2, 0, 2, 0, 2, 1, 1,
+		1, 1 };
+
+	/** Position of each corner of a cube, in the order of the lookup tables. */
+	private static final int[][] CORNER = { { 0, 0, 0 }, { 1, 0, 0 }, { 1, 0,
+		1 }, { 0, 0, 1 }, { 0, 1, 0 }, { 1, 1, 0 }, { 1, 1, 1 }, { 0, 1, 1 } };
+
+	@Parameter(type = ItemIO.INPUT, required = false)
+	private double isolevel = 1;
+
+	@Parameter(type = ItemIO.INPUT, required = false)
+	private VertexInterpolator interpolatorClass =
+		new BitTypeVertexInterpolator();
+
+	/** Minimum of the grid of cube corners. */
+	private long[] min;
+
+	/** Number of cube corners along x and y. */
+	private int width;
+
+	private int height;
+
+	@SuppressWarnings({ "unchecked" })
+	@Override
+	public ArrayMesh compute1(final RandomAccessibleInterval<T> input) {
+		final RandomAccessible<T> extended = Views.extendValue(input,
+			(T) new BoolType(false));
+		min = new long[] { input.min(0) - 1, input.min(1) - 1, input.min(2) - 1 };
+		width = (int) input.dimension(0) + 3;
+		height = (int) input.dimension(1) + 3;
+		final int numLayers = (int) input.dimension(2) + 2;
+
+		final Layer[] layers = new Layer[numLayers];
+		if ((long) width * height * numLayers < PARALLEL_THRESHOLD) {
+			for (int z = 0; z < numLayers; z++) {
+				layers[z] = march(extended, z);
+			}
+		}
+		else {
+			ops().run(ChunkerOp.class, new Chunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					for (int i = 0; i < numSteps; i++) {
+						final int z = startIndex + i * stepSize;
+						layers[z] = march(extended, z);
+					}
+				}
+			}, numLayers);
+		}
+
+		return merge(layers);
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 3;
+	}
+
+	// -- Helper methods --
+
+	/** Computes the triangles of the cubes between the planes z and z + 1. */
+	private Layer march(final RandomAccessible<T> extended, final int z) {
+		final boolean[] lower = plane(extended, z);
+		final boolean[] upper = plane(extended, z + 1);
+		final Layer layer = new Layer();
+		final double[] values = new double[8];
+
+		for (int y = 0; y < height - 1; y++) {
+			for (int x = 0; x < width - 1; x++) {
+				int cubeindex = 0;
+				for (int i = 0; i < 8; i++) {
+					final int[] c = CORNER[i];
+					final boolean[] plane = c[2] == 0 ? lower : upper;
+					values[i] = plane[(y + c[1]) * width + x + c[0]] ? 1 : 0;
+					if (values[i] < isolevel) cubeindex |= 1 << i;
+				}
+				if (cubeindex == 0) continue;
+
+				final int[] edges = DefaultMarchingCubes.TRIANGLE_TABLE[cubeindex];
+				for (int i = 0; edges[i] != -1; i += 3) {
+					// NB: Same vertex order as in DefaultMarchingCubes.
+					layer.addTriangle(vertex(layer, x, y, z, edges[i + 2], lower, upper),
+						vertex(layer, x, y, z, edges[i + 1], lower, upper), vertex(layer, x,
+							y, z, edges[i], lower, upper));
+				}
+			}
+		}
+		return layer;
+	}
+
+	/** Reads the plane of cube corners at index z. */
+	private boolean[] plane(final RandomAccessible<T> extended, final int z) {
+		final boolean[] plane = new boolean[width * height];
+		final RandomAccess<T> access = extended.randomAccess();
+		access.setPosition(min[2] + z, 2);
+		for (int y = 0; y < height; y++) {
+			access.setPosition(min[1] + y, 1);
+			access.setPosition(min[0], 0);
+			for (int x = 0; x < width; x++) {
+				plane[y * width + x] = access.get().get();
+				access.fwd(0);
+			}
+		}
+		return plane;
+	}
+
+	/**
+	 * Gets the index of the vertex on the given edge of the cube at x, y, z,
+	 * creating it if it does not exist yet.
+	 */
+	private int vertex(final Layer layer, final int x, final int y, final int z,
+		final int edge, final boolean[] lower, final boolean[] upper)
+	{
+		final int[] origin = EDGE_ORIGIN[edge];
+		final int direction = EDGE_DIRECTION[edge];
+		final int gx = x + origin[0];
+		final int gy = y + origin[1];
+		final int gz = z + origin[2];
+		final long key = ((gz * (long) height + gy) * width + gx) * 3 + direction;
+
+		int index = layer.edges.get(key);
+		if (index < 0) {
+			final int[] p1 = { (int) (min[0] + gx), (int) (min[1] + gy),
+				(int) (min[2] + gz) };
+			final int[] p2 = p1.clone();
+			p2[direction]++;
+			final double v1 = value(gx, gy, origin[2], lower, upper) ? 1 : 0;
+			final double v2 = value(gx + (direction == 0 ? 1 : 0), gy +
+				(direction == 1 ? 1 : 0), origin[2] + (direction == 2 ? 1 : 0), lower,
+				upper) ? 1 : 0;
+			index = layer.addVertex(key, interpolatePoint(p1, p2, v1, v2));
+		}
+		return index;
+	}
+
+	private boolean value(final int gx, final int gy, final int dz,
+		final boolean[] lower, final boolean[] upper)
+	{
+		return (dz == 0 ? lower : upper)[gy * width + gx];
+	}
+
+	private double[] interpolatePoint(final int[] p0, final int[] p1,
+		final double v0, final double v1)
+	{
+		if (interpolatorClass.getClass() == BitTypeVertexInterpolator.class) {
+			return new double[] { (p0[0] + p1[0]) / 2.0, (p0[1] + p1[1]) / 2.0,
+				(p0[2] + p1[2]) / 2.0 };
+		}
+		// NB: The interpolator is not thread-safe.
+		synchronized (interpolatorClass) {
+			interpolatorClass.setPoint1(p0);
+			interpolatorClass.setPoint2(p1);
+			interpolatorClass.setValue1(v0);
+			interpolatorClass.setValue2(v1);
+			interpolatorClass.setIsoLevel(isolevel);
+			interpolatorClass.run();
+			return interpolatorClass.getOutput();
+		}
+	}
+
+	/** Concatenates the layers, merging the vertices they share. */
+	private ArrayMesh merge(final Layer[] layers) {
+		int numVertices = 0;
+		int numTriangles = 0;
+		for (final Layer layer : layers) {
+			numVertices += layer.numVertices;
+			numTriangles += layer.numTriangles;
+		}
+
+		final EdgeMap edges = new EdgeMap();
+		final float[] vertices = new float[3 * numVertices];
+		final int[] triangles = new int[3 * numTriangles];
+		int v = 0;
+		int t = 0;
+		for (final Layer layer : layers) {
+			final int[] indices = new int[layer.numVertices];
+			for (int i = 0; i < layer.numVertices; i++) {
+				int index = edges.get(layer.keys[i]);
+				if (index < 0) {
+					index = v++;
+					edges.put(layer.keys[i], index);
+					System.arraycopy(layer.vertices, 3 * i, vertices, 3 * index, 3);
+				}
+				indices[i] = index;
+			}
+			for (int i = 0; i < 3 * layer.numTriangles; i++) {
+				triangles[t++] = indices[layer.triangles[i]];
+			}
+		}
+		return new ArrayMesh(vertices, v, triangles, numTriangles);
+	}
+
+	// -- Helper classes --
+
+	/** The vertices and triangles of one layer of cubes. */
+	private static final class Layer {
+
+		private final EdgeMap edges = new EdgeMap();
+
+		private long[] keys = new long[64];
+
+		private float[] vertices = new float[3 * 64];
+
+		private int numVertices;
+
+		private int[] triangles = new int[3 * 64];
+
+		private int numTriangles;
+
+		public int addVertex(final long key, final double[] position) {
+			if (numVertices == keys.length) {
+				keys = Arrays.copyOf(keys, 2 * keys.length);
+				vertices = Arrays.copyOf(vertices, 2 * vertices.length);
+			}
+			keys[numVertices] = key;
+			vertices[3 * numVertices] = (float) position[0];
+			vertices[3 * numVertices + 1] = (float) position[1];
+			vertices[3 * numVertices + 2] = (float) position[2];
+			edges.put(key, numVertices);
+			return numVertices++;
+		}
+
+		public void addTriangle(final int v0, final int v1, final int v2) {
+			if (3 * numTriangles == triangles.length) {
+				triangles = Arrays.copyOf(triangles, 2 * triangles.length);
+			}
+			triangles[3 * numTriangles] = v0;
+			triangles[3 * numTriangles + 1] = v1;
+			triangles[3 * numTriangles + 2] = v2;
+			numTriangles++;
+		}
+	}
+
+	/**
+	 * Open addressing hash table from the (non-negative) key of an edge to the
+	 * index of its vertex.
+	 */
+	private static final class EdgeMap {
+
+		private long[] keys = new long[64];
+
+		private int[] values = new int[64];
+
+		private int size;
+
+		/** @return the value of the key, or -1 if there is none */
+		public int get(final long key) {
+			final int mask = keys.length - 1;
+			for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+				// NB: Keys are stored incremented by one, so 0 marks empty slots.
+				if (keys[i] == 0) return -1;
+				if (keys[i] == key + 1) return values[i];
+			}
+		}
+
+		public void put(final long key, final int value) {
+			if (2 * (size + 1) > keys.length) grow();
+			final int mask = keys.length - 1;
+			int i = hash(key) & mask;
+			while (keys[i] != 0 && keys[i] != key + 1) {
+				i = (i + 1) & mask;
+			}
+			if (keys[i] == 0) size++;
+			keys[i] = key + 1;
+			values[i] = value;
+		}
+
+		private void grow() {
+			final long[] oldKeys = keys;
+			final int[] oldValues = values;
+			keys = new long[2 * oldKeys.length];
+			values = new int[2 * oldValues.length];
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != 0) put(oldKeys[i] - 1, oldValues[i]);
+			}
+		}
+
+		private static int hash(final long key) {
+			final long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+
+}
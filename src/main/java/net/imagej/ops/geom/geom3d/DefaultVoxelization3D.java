@@ -2,7 +2,6 @@ package net.imagej.ops.geom.geom3d;
 
 import net.imagej.ops.OpService;
 import net.imagej.ops.Ops;
-import net.imagej.ops.geom.geom3d.mesh.DefaultMesh;
 import net.imagej.ops.geom.geom3d.mesh.Facet;
 import net.imagej.ops.geom.geom3d.mesh.Mesh;
 import net.imagej.ops.geom.geom3d.mesh.TriangularFacet;
@@ -60,7 +59,7 @@ public class DefaultVoxelization3D extends AbstractUnaryFunctionOp<Mesh, RandomA
 
 		Img<BitType> outImg = ops.create().img(new FinalInterval(width, height, depth), new BitType());
 
-		DefaultMesh dMesh = (DefaultMesh) input;
+		Mesh dMesh = input;
 
 		Set<RealLocalizable> verts = dMesh.getVertices();
 
@@ -0,0 +1,212 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom3d.mesh;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.imglib2.RealLocalizable;
+
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * A triangle {@link Mesh} stored in two primitive arrays: the coordinates of
+ * its vertices, and three vertex indices per triangle. Vertices are shared by
+ * all triangles they belong to.
+ * <p>
+ * The {@link Facet}s and the vertex set required by the {@link Mesh} interface
+ * are created on first access; ops which know this class can read the arrays
+ * directly instead, see {@link #getVertexBuffer()} and
+ * {@link #getIndexBuffer()}.
+ * </p>
+ *
+ * @author agent
+ */
+public class ArrayMesh implements Mesh {
+
+	/** x, y and z coordinate of each vertex. */
+	private final float[] vertices;
+
+	private final int numVertices;
+
+	/** Indices of the three vertices of each triangle. */
+	private final int[] triangles;
+
+	private final int numTriangles;
+
+	private double area = -1;
+
+	private Vertex[] vertexObjects;
+
+	private Set<RealLocalizable> vertexSet;
+
+	private List<Facet> facets;
+
+	/**
+	 * @param vertices the x, y and z coordinate of each vertex
+	 * @param numVertices the number of vertices
+	 * @param triangles the indices of the three vertices of each triangle
+	 * @param numTriangles the number of triangles
+	 */
+	public ArrayMesh(final float[] vertices, final int numVertices,
+		final int[] triangles, final int numTriangles)
+	{
+		this.vertices = vertices;
+		this.numVertices = numVertices;
+		this.triangles = triangles;
+		this.numTriangles = numTriangles;
+	}
+
+	/** @return the number of vertices */
+	public int getVertexCount() {
+		return numVertices;
+	}
+
+	/** @return the number of triangles */
+	public int getTriangleCount() {
+		return numTriangles;
+	}
+
+	/**
+	 * @return the x, y and z coordinate of each vertex; the array may be longer
+	 *         than {@code 3 * getVertexCount()}
+	 */
+	public float[] getVertexBuffer() {
+		return vertices;
+	}
+
+	/**
+	 * @return the indices of the three vertices of each triangle; the array may
+	 *         be longer than {@code 3 * getTriangleCount()}
+	 */
+	public int[] getIndexBuffer() {
+		return triangles;
+	}
+
+	/** @return coordinate {@code d} of the given vertex */
+	public double getVertexPosition(final int vertex, final int d) {
+		return vertices[3 * vertex + d];
+	}
+
+	/** @return the index of vertex {@code corner} of the given triangle */
+	public int getTriangleVertex(final int triangle, final int corner) {
+		return triangles[3 * triangle + corner];
+	}
+
+	/** Copies the coordinates of the vertices of the given triangle. */
+	public void triangle(final int triangle, final double[] p0,
+		final double[] p1, final double[] p2)
+	{
+		vertex(triangles[3 * triangle], p0);
+		vertex(triangles[3 * triangle + 1], p1);
+		vertex(triangles[3 * triangle + 2], p2);
+	}
+
+	// -- Mesh methods --
+
+	@Override
+	public synchronized Set<RealLocalizable> getVertices() {
+		if (vertexSet == null) {
+			vertexSet = new LinkedHashSet<>();
+			for (final Vertex v : vertexObjects()) {
+				vertexSet.add(v);
+			}
+		}
+		return vertexSet;
+	}
+
+	@Override
+	public synchronized List<Facet> getFacets() {
+		if (facets == null) {
+			final Vertex[] v = vertexObjects();
+			facets = new ArrayList<>(numTriangles);
+			for (int t = 0; t < numTriangles; t++) {
+				facets.add(new TriangularFacet(v[triangles[3 * t]], v[triangles[3 * t +
+					1]], v[triangles[3 * t + 2]]));
+			}
+		}
+		return facets;
+	}
+
+	@Override
+	public boolean triangularFacets() {
+		return true;
+	}
+
+	@Override
+	public synchronized double getSurfaceArea() {
+		if (area < 0) {
+			// NB: Computed like TriangularFacet#getArea(), without creating facets.
+			double sum = 0;
+			final double[] p0 = new double[3];
+			final double[] p1 = new double[3];
+			final double[] p2 = new double[3];
+			for (int t = 0; t < numTriangles; t++) {
+				triangle(t, p0, p1, p2);
+				final double ax = p0[0] - p1[0];
+				final double ay = p0[1] - p1[1];
+				final double az = p0[2] - p1[2];
+				final double bx = p2[0] - p0[0];
+				final double by = p2[1] - p0[1];
+				final double bz = p2[2] - p0[2];
+				final double cx = MathArrays.linearCombination(ay, bz, -az, by);
+				final double cy = MathArrays.linearCombination(az, bx, -ax, bz);
+				final double cz = MathArrays.linearCombination(ax, by, -ay, bx);
+				sum += FastMath.sqrt(cx * cx + cy * cy + cz * cz) * 0.5;
+			}
+			area = sum;
+		}
+		return area;
+	}
+
+	// -- Helper methods --
+
+	private void vertex(final int vertex, final double[] p) {
+		p[0] = vertices[3 * vertex];
+		p[1] = vertices[3 * vertex + 1];
+		p[2] = vertices[3 * vertex + 2];
+	}
+
+	private Vertex[] vertexObjects() {
+		if (vertexObjects == null) {
+			vertexObjects = new Vertex[numVertices];
+			for (int i = 0; i < numVertices; i++) {
+				vertexObjects[i] = new Vertex(vertices[3 * i], vertices[3 * i + 1],
+					vertices[3 * i + 2]);
+			}
+		}
+		return vertexObjects;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.geom.geom3d.mesh;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.apache.commons.math3.util.MathArrays;
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Computes the {@link net.imagej.ops.Ops.Geometric.Size} of an
+ * {@link ArrayMesh} like {@link DefaultVolume}, but directly from its arrays.
+ * 
+ * @author agent
+ */
+@Plugin(type = Ops.Geometric.Size.class, label = "Geometric3D: Volume",
+	priority = Priority.VERY_HIGH_PRIORITY)
+public class ArrayMeshVolume extends
+	AbstractUnaryFunctionOp<ArrayMesh, DoubleType> implements Ops.Geometric.Size
+{
+
+	@Override
+	public DoubleType compute1(final ArrayMesh input) {
+		final double[] p0 = new double[3];
+		final double[] p1 = new double[3];
+		final double[] p2 = new double[3];
+		double volume = 0;
+		for (int t = 0; t < input.getTriangleCount(); t++) {
+			input.triangle(t, p0, p1, p2);
+			// NB: p0 . (p1 x p2), computed like Vector3D does.
+			final double cx = MathArrays.linearCombination(p1[1], p2[2], -p1[2],
+				p2[1]);
+			final double cy = MathArrays.linearCombination(p1[2], p2[0], -p1[0],
+				p2[2]);
+			final double cz = MathArrays.linearCombination(p1[0], p2[1], -p1[1],
+				p2[0]);
+			volume += MathArrays.linearCombination(p0[0], cx, p0[1], cy, p0[2], cz) /
+				6.0f;
+		}
+		return new DoubleType(Math.abs(volume));
+	}
+
+}
@@ -96,6 +96,17 @@ public class ImageNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.image.cooccurrenceMatrix.CooccurrenceMatrices.class)
+	public <T extends RealType<T>> double[][][][] cooccurrenceMatrix(
+			final IterableInterval<T> in, final int nrGreyLevels,
+			final int[] distances, final MatrixOrientation... orientations) {
+		final double[][][][] result = (double[][][][]) ops().run(
+				Ops.Image.CooccurrenceMatrix.class, in, nrGreyLevels, distances,
+				orientations);
+		return result;
+	}
+
 	// -- distance transform --
 
 	/** Executes the "distancetransform" operation on the given arguments. */
@@ -181,20 +192,21 @@ public class ImageNamespace extends AbstractNamespace {
 	//-- integral --
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@OpMethod(op = net.imagej.ops.image.integral.DefaultIntegralImg.class)
+	@OpMethod(ops = { net.imagej.ops.image.integral.DefaultIntegralImg.class,
+		net.imagej.ops.image.integral.ArrayIntegralImg.class })
 	public <T extends RealType<T>> RandomAccessibleInterval<RealType> integral(
 		final RandomAccessibleInterval<RealType> out,
 		final RandomAccessibleInterval<T> in)
 	{
 		final RandomAccessibleInterval<RealType> result =
-			(RandomAccessibleInterval) ops().run(
-				net.imagej.ops.image.integral.DefaultIntegralImg.class, out, in);
+			(RandomAccessibleInterval) ops().run(Ops.Image.Integral.class, out, in);
 		return result;
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@OpMethod(ops = { net.imagej.ops.image.integral.DefaultIntegralImg.class,
-		net.imagej.ops.image.integral.WrappedIntegralImg.class })
+		net.imagej.ops.image.integral.WrappedIntegralImg.class,
+		net.imagej.ops.image.integral.ArrayIntegralImg.class })
 	public <T extends RealType<T>> RandomAccessibleInterval<RealType> integral(
 		final RandomAccessibleInterval<T> in)
 	{
@@ -205,7 +217,8 @@ public class ImageNamespace extends AbstractNamespace {
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@OpMethod(op = net.imagej.ops.image.integral.SquareIntegralImg.class)
+	@OpMethod(ops = { net.imagej.ops.image.integral.SquareIntegralImg.class,
+		net.imagej.ops.image.integral.ArraySquareIntegralImg.class })
 	public <T extends RealType<T>> RandomAccessibleInterval<RealType>
 		squareIntegral(final RandomAccessibleInterval<RealType> out,
 			final RandomAccessibleInterval<T> in)
@@ -217,7 +230,8 @@ public class ImageNamespace extends AbstractNamespace {
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@OpMethod(op = net.imagej.ops.image.integral.SquareIntegralImg.class)
+	@OpMethod(ops = { net.imagej.ops.image.integral.SquareIntegralImg.class,
+		net.imagej.ops.image.integral.ArraySquareIntegralImg.class })
 	public <T extends RealType<T>> RandomAccessibleInterval<RealType>
 		squareIntegral(final RandomAccessibleInterval<T> in)
 	{
@@ -0,0 +1,83 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.cooccurrenceMatrix;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Calculates the coocccurrence matrices of an {@link IterableInterval} for
+ * several distances and orientations at once.
+ * <p>
+ * All matrices are built by a {@link CooccurrenceMatrixBuilder} in a single
+ * pass over the input. They are indexed as
+ * {@code [distanceIndex][orientationIndex][row][col]}.
+ * </p>
+ *
+ * @author agent
+ */
+@Plugin(type = Ops.Image.CooccurrenceMatrix.class)
+public class CooccurrenceMatrices<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, double[][][][]> implements
+	Ops.Image.CooccurrenceMatrix, Contingent, Parallel
+{
+
+	@Parameter(label = "Number of Gray Levels", min = "0", max = "128",
+		stepSize = "1", initializer = "32")
+	private int nrGreyLevels;
+
+	@Parameter(label = "Distances")
+	private int[] distances;
+
+	@Parameter(label = "Matrix Orientations")
+	private MatrixOrientation[] orientations;
+
+	@Override
+	public double[][][][] compute1(final IterableInterval<T> input) {
+		return new CooccurrenceMatrixBuilder(nrGreyLevels, distances, orientations)
+			.build(ops(), input);
+	}
+
+	@Override
+	public boolean conforms() {
+		for (final MatrixOrientation orientation : orientations) {
+			if (!orientation.isCompatible(in().numDimensions())) return false;
+		}
+		return true;
+	}
+}
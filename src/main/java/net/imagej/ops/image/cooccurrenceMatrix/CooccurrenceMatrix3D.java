@@ -31,20 +31,19 @@ package net.imagej.ops.image.cooccurrenceMatrix;
 
 import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
-import net.imagej.ops.Ops.Stats.MinMax;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
-import net.imagej.ops.special.function.Functions;
-import net.imagej.ops.special.function.UnaryFunctionOp;
-import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
 import net.imglib2.type.numeric.RealType;
-import net.imglib2.util.Pair;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
 /**
  * Calculates coocccurrence matrix from an 3D-{@link IterableInterval}.
+ * <p>
+ * The matrix is built by a {@link CooccurrenceMatrixBuilder}.
+ * </p>
  * 
  * @author Stephan Sellien (University of Konstanz)
  * @author Andreas Graumann (University of Konstanz)
@@ -53,7 +52,7 @@ import org.scijava.plugin.Plugin;
 @Plugin(type = Ops.Image.CooccurrenceMatrix.class)
 public class CooccurrenceMatrix3D<T extends RealType<T>> extends
 		AbstractUnaryFunctionOp<IterableInterval<T>, double[][]> implements
-		Ops.Image.CooccurrenceMatrix, Contingent {
+		Ops.Image.CooccurrenceMatrix, Contingent, Parallel {
 
 	@Parameter(label = "Number of Gray Levels", min = "0", max = "128", stepSize = "1", initializer = "32")
 	private int nrGreyLevels;
@@ -64,86 +63,10 @@ public class CooccurrenceMatrix3D<T extends RealType<T>> extends
 	@Parameter(label = "Matrix Orientation")
 	private MatrixOrientation orientation;
 
-	private UnaryFunctionOp<IterableInterval<T>, Pair<T, T>> minmax;
-
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@Override
-	public void initialize() {
-		super.initialize();
-		minmax = (UnaryFunctionOp) Functions.unary(ops(), MinMax.class, Pair.class, in());
-	}
-	
 	@Override
 	public double[][] compute1(final IterableInterval<T> input) {
-
-		double[][] matrix = new double[nrGreyLevels][nrGreyLevels];
-
-		final Cursor<T> cursor = input.localizingCursor();
-	  final Pair<T, T> minMax = minmax.compute1(input);
-
-		double localMin = minMax.getA().getRealDouble();
-		double localMax = minMax.getB().getRealDouble();
-
-		final int[][][] pixels = new int[(int) input.dimension(2)][(int) input
-				.dimension(1)][(int) input.dimension(0)];
-
-		final int minimumX = (int) input.min(0);
-		final int minimumY = (int) input.min(1);
-		final int minimumZ = (int) input.min(2);
-		
-		final double diff = localMax - localMin;
-		while (cursor.hasNext()) {
-			cursor.fwd();
-			pixels[cursor.getIntPosition(2) - minimumZ][cursor
-					.getIntPosition(1) - minimumY][cursor
-					.getIntPosition(0) - minimumX] = (int) (((cursor
-					.get().getRealDouble() - localMin) / diff) * (nrGreyLevels - 1));
-		}
-
-		
-		final double orientationAtX = orientation.getValueAtDim(0) * distance;
-		final double orientationAtY = orientation.getValueAtDim(1) * distance;
-		final double orientationAtZ = orientation.getValueAtDim(2) * distance;
-
-		int nrPairs = 0;
-		for (int z = 0; z < pixels.length; z++) {
-			for (int y = 0; y < pixels[z].length; y++) {
-				for (int x = 0; x < pixels[z][y].length; x++) {
-
-					// ignore pixels not in mask
-					if (pixels[z][y][x] == Integer.MAX_VALUE) {
-						continue;
-					}
-
-					// get second pixel
-					final int sx = (int) (x + orientationAtX);
-					final int sy = (int) (y + orientationAtY);
-					final int sz = (int) (z + orientationAtZ);
-
-					// second pixel in interval and mask
-					if (sx >= 0 && sy >= 0 && sz >= 0 && sz < pixels.length
-							&& sy < pixels[sz].length
-							&& sx < pixels[sz][sy].length) {
-
-						matrix[pixels[z][y][x]][pixels[sz][sy][sx]]++;
-						nrPairs++;
-
-					}
-				}
-			}
-		}
-
-		// normalize matrix
-		if (nrPairs > 0) {
-			double divisor = 1.0 / nrPairs;
-			for (int row = 0; row < matrix.length; row++) {
-				for (int col = 0; col < matrix[row].length; col++) {
-					matrix[row][col] *= divisor;
-				}
-			}
-		}
-
-		return matrix;
+		return new CooccurrenceMatrixBuilder(nrGreyLevels, new int[] { distance },
+			orientation).build(ops(), input)[0][0];
 	}
 
 	@Override
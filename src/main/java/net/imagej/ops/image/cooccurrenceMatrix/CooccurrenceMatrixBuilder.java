@@ -0,0 +1,394 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.cooccurrenceMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Pair;
+
+/**
+ * Builds the co-occurrence matrices of an {@link IterableInterval} for several
+ * orientations and distances in a single sweep.
+ * <p>
+ * Grey levels are quantised on the fly. If the input covers its whole
+ * interval and is random accessible, the second element of each pair is read
+ * directly from the input; otherwise the quantised grey levels are cached in
+ * a flat {@code short[]} spanning the bounding box, in which elements outside
+ * of the input are marked as {@code -1} and skipped. Large inputs are split
+ * into chunks; each thread counts pairs into its own matrices, which are
+ * summed up at the end.
+ * </p>
+ * <p>
+ * The matrices are either returned as dense arrays, see {@link #build}, or as
+ * {@link SparseCooccurrenceMatrix sparse matrices} built from the non-zero
+ * counts, see {@link #buildSparse}.
+ * </p>
+ *
+ * @author agent
+ */
+public final class CooccurrenceMatrixBuilder {
+
+	/** Inputs smaller than this are processed on the calling thread. */
+	private static final long PARALLEL_THRESHOLD = 1 << 14;
+
+	private final int numGreyLevels;
+
+	private final int[] distances;
+
+	private final MatrixOrientation[] orientations;
+
+	/**
+	 * @param numGreyLevels the number of rows and columns of the matrices
+	 * @param distances the distances between the elements of a pair
+	 * @param orientations the orientations of the pairs
+	 */
+	public CooccurrenceMatrixBuilder(final int numGreyLevels,
+		final int[] distances, final MatrixOrientation... orientations)
+	{
+		if (numGreyLevels < 1 || numGreyLevels > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid number of grey levels: " +
+				numGreyLevels);
+		}
+		this.numGreyLevels = numGreyLevels;
+		this.distances = distances.clone();
+		this.orientations = orientations.clone();
+	}
+
+	/**
+	 * Computes the normalised co-occurrence matrices of the given input.
+	 *
+	 * @param ops the environment used to compute the grey level range and to
+	 *          run the chunks
+	 * @param input the elements to pair up
+	 * @return the matrices, indexed as
+	 *         {@code [distanceIndex][orientationIndex][row][col]}
+	 */
+	public <T extends RealType<T>> double[][][][] build(final OpEnvironment ops,
+		final IterableInterval<T> input)
+	{
+		final long[] pairs = new long[distances.length * orientations.length];
+		final long[][] counts = count(ops, input, pairs);
+
+		final double[][][][] matrices = new double[distances.length][][][];
+		for (int d = 0; d < distances.length; d++) {
+			matrices[d] = new double[orientations.length][][];
+			for (int o = 0; o < orientations.length; o++) {
+				final int offset = d * orientations.length + o;
+				matrices[d][o] = normalize(counts[offset], pairs[offset]);
+			}
+		}
+		return matrices;
+	}
+
+	/**
+	 * Computes the normalised co-occurrence matrices of the given input, keeping
+	 * only their non-zero entries.
+	 *
+	 * @param ops the environment used to compute the grey level range and to
+	 *          run the chunks
+	 * @param input the elements to pair up
+	 * @return the matrices, indexed as {@code [distanceIndex][orientationIndex]}
+	 */
+	public <T extends RealType<T>> SparseCooccurrenceMatrix[][] buildSparse(
+		final OpEnvironment ops, final IterableInterval<T> input)
+	{
+		final long[] pairs = new long[distances.length * orientations.length];
+		final long[][] counts = count(ops, input, pairs);
+
+		final SparseCooccurrenceMatrix[][] matrices =
+			new SparseCooccurrenceMatrix[distances.length][];
+		for (int d = 0; d < distances.length; d++) {
+			matrices[d] = new SparseCooccurrenceMatrix[orientations.length];
+			for (int o = 0; o < orientations.length; o++) {
+				final int offset = d * orientations.length + o;
+				matrices[d][o] = sparse(counts[offset], pairs[offset]);
+			}
+		}
+		return matrices;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Counts the pairs of each offset, indexed as
+	 * {@code [offset][row * numGreyLevels + col]}, and stores the total number
+	 * of pairs of each offset in {@code pairs}.
+	 */
+	private <T extends RealType<T>> long[][] count(final OpEnvironment ops,
+		final IterableInterval<T> input, final long[] pairs)
+	{
+		final int numDims = input.numDimensions();
+		for (final MatrixOrientation orientation : orientations) {
+			if (!orientation.isCompatible(numDims)) {
+				throw new IllegalArgumentException("Orientation " + orientation +
+					" is not compatible with " + numDims + " dimensions");
+			}
+		}
+
+		final long[][] offsets = new long[distances.length *
+			orientations.length][numDims];
+		for (int d = 0; d < distances.length; d++) {
+			for (int o = 0; o < orientations.length; o++) {
+				for (int k = 0; k < numDims; k++) {
+					offsets[d * orientations.length + o][k] = orientations[o]
+						.getValueAtDim(k) * distances[d];
+				}
+			}
+		}
+
+		final Pair<T, T> minMax = ops.stats().minMax(input);
+		final Sweep<T> sweep = new Sweep<>(input, offsets, numGreyLevels, minMax
+			.getA().getRealDouble(), minMax.getB().getRealDouble());
+
+		final long[][] counts = new long[offsets.length][numGreyLevels *
+			numGreyLevels];
+		if (input.size() < PARALLEL_THRESHOLD) {
+			final Cursor<T> cursor = input.localizingCursor();
+			if (cursor.hasNext()) {
+				cursor.fwd();
+				sweep.count(cursor, 1, input.size(), counts, pairs);
+			}
+		}
+		else {
+			// NB: Each thread runs its chunks one after the other, so it may count
+			// into its own matrices without synchronization.
+			final ConcurrentHashMap<Thread, long[][]> partialCounts =
+				new ConcurrentHashMap<>();
+			final ConcurrentHashMap<Thread, long[]> partialPairs =
+				new ConcurrentHashMap<>();
+			ops.run(ChunkerOp.class, new CursorBasedChunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					final Thread thread = Thread.currentThread();
+					long[][] c = partialCounts.get(thread);
+					long[] p = partialPairs.get(thread);
+					if (c == null) {
+						c = new long[offsets.length][numGreyLevels * numGreyLevels];
+						p = new long[offsets.length];
+						partialCounts.put(thread, c);
+						partialPairs.put(thread, p);
+					}
+					final Cursor<T> cursor = input.localizingCursor();
+					setToStart(cursor, startIndex);
+					sweep.count(cursor, stepSize, numSteps, c, p);
+				}
+			}, input.size());
+
+			// NB: Counts are integral, so the order of summation does not matter.
+			for (final Thread thread : partialCounts.keySet()) {
+				final long[][] c = partialCounts.get(thread);
+				final long[] p = partialPairs.get(thread);
+				for (int o = 0; o < offsets.length; o++) {
+					for (int i = 0; i < c[o].length; i++) {
+						counts[o][i] += c[o][i];
+					}
+					pairs[o] += p[o];
+				}
+			}
+		}
+		return counts;
+	}
+
+	private double[][] normalize(final long[] counts, final long pairs) {
+		final double[][] matrix = new double[numGreyLevels][numGreyLevels];
+		final double divisor = pairs > 0 ? 1.0 / pairs : 1;
+		for (int row = 0; row < numGreyLevels; row++) {
+			for (int col = 0; col < numGreyLevels; col++) {
+				matrix[row][col] = counts[row * numGreyLevels + col] * divisor;
+			}
+		}
+		return matrix;
+	}
+
+	private SparseCooccurrenceMatrix sparse(final long[] counts,
+		final long pairs)
+	{
+		int size = 0;
+		for (final long count : counts) {
+			if (count != 0) size++;
+		}
+
+		final int[] rows = new int[size];
+		final int[] cols = new int[size];
+		final double[] values = new double[size];
+		final double divisor = pairs > 0 ? 1.0 / pairs : 1;
+		int k = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0) continue;
+			rows[k] = i / numGreyLevels;
+			cols[k] = i % numGreyLevels;
+			values[k++] = counts[i] * divisor;
+		}
+		return new SparseCooccurrenceMatrix(numGreyLevels, rows, cols, values,
+			size);
+	}
+
+	// -- Helper classes --
+
+	/** Counts the pairs of a sequence of elements for all offsets. */
+	private static final class Sweep<T extends RealType<T>> {
+
+		private final long[][] offsets;
+
+		private final int numGreyLevels;
+
+		private final double min;
+
+		private final double diff;
+
+		private final long[] intervalMin;
+
+		private final long[] intervalMax;
+
+		/** The input if it is read directly, or {@code null}. */
+		private final RandomAccessibleInterval<T> source;
+
+		/** The cached grey levels if the input is not read directly. */
+		private final short[] quantised;
+
+		private final long[] strides;
+
+		@SuppressWarnings("unchecked")
+		public Sweep(final IterableInterval<T> input, final long[][] offsets,
+			final int numGreyLevels, final double min, final double max)
+		{
+			this.offsets = offsets;
+			this.numGreyLevels = numGreyLevels;
+			this.min = min;
+			this.diff = max - min;
+			intervalMin = Intervals.minAsLongArray(input);
+			intervalMax = Intervals.maxAsLongArray(input);
+
+			strides = new long[input.numDimensions()];
+			long numElements = 1;
+			for (int k = 0; k < strides.length; k++) {
+				strides[k] = numElements;
+				numElements *= input.dimension(k);
+			}
+
+			if (input instanceof RandomAccessibleInterval && input
+				.size() == numElements)
+			{
+				source = (RandomAccessibleInterval<T>) input;
+				quantised = null;
+			}
+			else {
+				if (numElements > Integer.MAX_VALUE) {
+					throw new IllegalArgumentException(
+						"Bounding box of input is too large: " + numElements);
+				}
+				source = null;
+				quantised = new short[(int) numElements];
+				Arrays.fill(quantised, (short) -1);
+				final long[] position = new long[strides.length];
+				final Cursor<T> cursor = input.localizingCursor();
+				while (cursor.hasNext()) {
+					cursor.fwd();
+					cursor.localize(position);
+					quantised[index(position)] = (short) quantise(cursor.get());
+				}
+			}
+		}
+
+		/**
+		 * Counts the pairs of {@code numSteps} elements, starting with the
+		 * current element of the cursor.
+		 */
+		public void count(final Cursor<T> cursor, final int stepSize,
+			final long numSteps, final long[][] counts, final long[] pairs)
+		{
+			final long[] position = new long[strides.length];
+			final long[] neighbor = new long[strides.length];
+			final RandomAccess<T> access = source == null ? null : source
+				.randomAccess();
+
+			for (long i = 0; i < numSteps; i++) {
+				cursor.localize(position);
+				final int first = quantise(cursor.get());
+
+				offsets:
+				for (int o = 0; o < offsets.length; o++) {
+					for (int k = 0; k < position.length; k++) {
+						neighbor[k] = position[k] + offsets[o][k];
+						if (neighbor[k] < intervalMin[k] ||
+							neighbor[k] > intervalMax[k])
+						{
+							continue offsets;
+						}
+					}
+
+					final int second;
+					if (access == null) {
+						second = quantised[index(neighbor)];
+						// ignore elements not in mask
+						if (second < 0) continue;
+					}
+					else {
+						access.setPosition(neighbor);
+						second = quantise(access.get());
+					}
+
+					counts[o][first * numGreyLevels + second]++;
+					pairs[o]++;
+				}
+				cursor.jumpFwd(stepSize);
+			}
+		}
+
+		private int quantise(final T value) {
+			// NB: A constant input yields NaN, which is quantised to 0.
+			return (int) (((value.getRealDouble() - min) / diff) *
+				(numGreyLevels - 1));
+		}
+
+		private int index(final long[] position) {
+			long index = 0;
+			for (int k = 0; k < position.length; k++) {
+				index += (position[k] - intervalMin[k]) * strides[k];
+			}
+			return (int) index;
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.cooccurrenceMatrix;
+
+/**
+ * A co-occurrence matrix which stores only its non-zero entries.
+ * <p>
+ * For high numbers of grey levels most entries of a co-occurrence matrix are
+ * zero, so features which only need to visit the non-zero entries can be
+ * computed in time proportional to the number of distinct grey level pairs
+ * rather than to the square of the number of grey levels. Entries are kept in
+ * row-major order.
+ * </p>
+ * <p>
+ * Sparse matrices are built from the pair counts of a
+ * {@link CooccurrenceMatrixBuilder}, see
+ * {@link CooccurrenceMatrixBuilder#buildSparse}.
+ * </p>
+ *
+ * @author agent
+ */
+public final class SparseCooccurrenceMatrix {
+
+	private final int numGreyLevels;
+
+	private final int size;
+
+	private final int[] rows;
+
+	private final int[] cols;
+
+	private final double[] values;
+
+	/**
+	 * Creates a sparse matrix from the given entries, which must be in row-major
+	 * order and must not contain duplicate positions.
+	 *
+	 * @param numGreyLevels the number of rows and columns of the matrix
+	 * @param rows the row of each entry
+	 * @param cols the column of each entry
+	 * @param values the value of each entry
+	 * @param size the number of entries
+	 */
+	public SparseCooccurrenceMatrix(final int numGreyLevels, final int[] rows,
+		final int[] cols, final double[] values, final int size)
+	{
+		this.numGreyLevels = numGreyLevels;
+		this.rows = rows;
+		this.cols = cols;
+		this.values = values;
+		this.size = size;
+	}
+
+	/** @return the number of rows and columns of the matrix */
+	public int getNumGreyLevels() {
+		return numGreyLevels;
+	}
+
+	/** @return the number of non-zero entries */
+	public int size() {
+		return size;
+	}
+
+	/** @return the row of the {@code k}-th non-zero entry */
+	public int row(final int k) {
+		return rows[k];
+	}
+
+	/** @return the column of the {@code k}-th non-zero entry */
+	public int col(final int k) {
+		return cols[k];
+	}
+
+	/** @return the value of the {@code k}-th non-zero entry */
+	public double value(final int k) {
+		return values[k];
+	}
+
+	/** @return the matrix as a dense {@code double[row][column]} array */
+	public double[][] toDense() {
+		final double[][] matrix = new double[numGreyLevels][numGreyLevels];
+		for (int k = 0; k < size; k++) {
+			matrix[rows[k]][cols[k]] = values[k];
+		}
+		return matrix;
+	}
+
+}
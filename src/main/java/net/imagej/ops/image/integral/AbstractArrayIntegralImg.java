@@ -0,0 +1,280 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.integral;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+/**
+ * Computes integral images directly on the {@code long[]} or {@code double[]}
+ * storage of an {@link ArrayImg}.
+ * <p>
+ * The first pass reads the input (squared for order 2) and sums it up along
+ * dimension 0; each further pass sums up along one more dimension. All passes
+ * distribute the lines of the image across threads, and the passes over
+ * dimensions > 0 process neighboring lines together, such that the innermost
+ * loop runs over contiguous memory. Integer inputs are summed up in a
+ * {@link LongType} image, all other inputs in a {@link DoubleType} image.
+ * </p>
+ * 
+ * @param <I> The type of the input image.
+ * @author agent
+ */
+public abstract class AbstractArrayIntegralImg<I extends RealType<I>> extends
+	AbstractUnaryHybridCF<RandomAccessibleInterval<I>, RandomAccessibleInterval<RealType<?>>>
+	implements Contingent, Parallel
+{
+
+	/**
+	 * Gets the order of the integral image, i.e. 1 for sums of values and 2 for
+	 * sums of squared values.
+	 */
+	protected abstract int getOrder();
+
+	@Override
+	public boolean conforms() {
+		if (Intervals.numElements(in()) > Integer.MAX_VALUE) return false;
+		if (out() == null) return true;
+		if (!(out() instanceof ArrayImg) || !Intervals.equalDimensions(in(), out()))
+		{
+			return false;
+		}
+		final Class<?> outType = Util.getTypeFromInterval(out()).getClass();
+		if (outType == DoubleType.class) return true;
+		return outType == LongType.class && Util.getTypeFromInterval(
+			in()) instanceof IntegerType;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public RandomAccessibleInterval<RealType<?>> createOutput(
+		final RandomAccessibleInterval<I> input)
+	{
+		final long[] dims = Intervals.dimensionsAsLongArray(input);
+		if (Util.getTypeFromInterval(input) instanceof IntegerType) {
+			return (RandomAccessibleInterval) ArrayImgs.longs(dims);
+		}
+		return (RandomAccessibleInterval) ArrayImgs.doubles(dims);
+	}
+
+	@Override
+	public void compute1(final RandomAccessibleInterval<I> input,
+		final RandomAccessibleInterval<RealType<?>> output)
+	{
+		final int[] dims = new int[input.numDimensions()];
+		for (int d = 0; d < dims.length; d++) {
+			dims[d] = (int) input.dimension(d);
+		}
+		if (Intervals.numElements(input) == 0) return;
+
+		final Object storage = ((ArrayDataAccess<?>) ((ArrayImg<?, ?>) output)
+			.update(null)).getCurrentStorageArray();
+
+		if (storage instanceof long[]) {
+			final long[] sums = (long[]) storage;
+			integrateFirstDimension(Views.flatIterable(input), sums, dims[0]);
+			for (int d = 1; d < dims.length; d++) {
+				integrate(sums, dims, d);
+			}
+		}
+		else {
+			final double[] sums = (double[]) storage;
+			integrateFirstDimension(Views.flatIterable(input), sums, dims[0]);
+			for (int d = 1; d < dims.length; d++) {
+				integrate(sums, dims, d);
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	private void integrateFirstDimension(final IterableInterval<I> input,
+		final long[] sums, final int length)
+	{
+		final boolean square = getOrder() == 2;
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<I> cursor = input.cursor();
+				for (int l = 0; l < numSteps; l++) {
+					int index = (startIndex + l * stepSize) * length;
+					cursor.reset();
+					cursor.jumpFwd(index);
+
+					long sum = 0;
+					for (int x = 0; x < length; x++) {
+						final long value = ((IntegerType<?>) cursor.next())
+							.getIntegerLong();
+						sum += square ? value * value : value;
+						sums[index++] = sum;
+					}
+				}
+			}
+		}, sums.length / length);
+	}
+
+	private void integrateFirstDimension(final IterableInterval<I> input,
+		final double[] sums, final int length)
+	{
+		final boolean square = getOrder() == 2;
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<I> cursor = input.cursor();
+				for (int l = 0; l < numSteps; l++) {
+					int index = (startIndex + l * stepSize) * length;
+					cursor.reset();
+					cursor.jumpFwd(index);
+
+					double sum = 0;
+					for (int x = 0; x < length; x++) {
+						final double value = cursor.next().getRealDouble();
+						sum += square ? value * value : value;
+						sums[index++] = sum;
+					}
+				}
+			}
+		}, sums.length / length);
+	}
+
+	/** Sums up the lines along dimension {@code d > 0}. */
+	private void integrate(final long[] sums, final int[] dims, final int d) {
+		final int stride = stride(dims, d);
+		final int length = dims[d];
+		ops().run(ChunkerOp.class, new LineChunk(stride, length) {
+
+			@Override
+			void integrate(final int base, final int lo0, final int lo1) {
+				for (int k = 1; k < length; k++) {
+					final int offset = base + k * stride;
+					for (int lo = lo0; lo < lo1; lo++) {
+						sums[offset + lo] += sums[offset - stride + lo];
+					}
+				}
+			}
+		}, sums.length / length);
+	}
+
+	/** Sums up the lines along dimension {@code d > 0}. */
+	private void integrate(final double[] sums, final int[] dims, final int d) {
+		final int stride = stride(dims, d);
+		final int length = dims[d];
+		ops().run(ChunkerOp.class, new LineChunk(stride, length) {
+
+			@Override
+			void integrate(final int base, final int lo0, final int lo1) {
+				for (int k = 1; k < length; k++) {
+					final int offset = base + k * stride;
+					for (int lo = lo0; lo < lo1; lo++) {
+						sums[offset + lo] += sums[offset - stride + lo];
+					}
+				}
+			}
+		}, sums.length / length);
+	}
+
+	private static int stride(final int[] dims, final int d) {
+		int stride = 1;
+		for (int i = 0; i < d; i++) {
+			stride *= dims[i];
+		}
+		return stride;
+	}
+
+	/**
+	 * Chunk over the lines along one dimension. Line {@code l} starts at index
+	 * {@code (l / stride) * stride * length + l % stride}, i.e. consecutive lines
+	 * are neighbors in memory, and are processed together.
+	 */
+	private static abstract class LineChunk implements Chunk {
+
+		private final int stride;
+
+		private final int length;
+
+		private LineChunk(final int stride, final int length) {
+			this.stride = stride;
+			this.length = length;
+		}
+
+		@Override
+		public void execute(final int startIndex, final int stepSize,
+			final int numSteps)
+		{
+			if (stepSize == 1) {
+				integrateLines(startIndex, startIndex + numSteps);
+			}
+			else {
+				for (int l = 0; l < numSteps; l++) {
+					final int line = startIndex + l * stepSize;
+					integrateLines(line, line + 1);
+				}
+			}
+		}
+
+		private void integrateLines(final int start, final int end) {
+			int line = start;
+			while (line < end) {
+				final int hi = line / stride;
+				final int lo0 = line % stride;
+				final int lo1 = Math.min(stride, lo0 + end - line);
+				integrate(hi * stride * length, lo0, lo1);
+				line += lo1 - lo0;
+			}
+		}
+
+		/** Sums up the lines {@code lo0} to {@code lo1 - 1} of one hyperplane. */
+		abstract void integrate(int base, int lo0, int lo1);
+	}
+
+}
@@ -61,23 +61,14 @@ public abstract class AbstractIntegralImg<I extends RealType<I>> extends
 	implements Contingent
 {
 
-	private AbstractUnaryHybridCI<IterableInterval<RealType<?>>, IterableInterval<RealType<?>>> integralAdd;
 	private UnaryComputerOp[] slicewiseOps;
 	private UnaryFunctionOp<Dimensions, RandomAccessibleInterval> createLongRAI;
 	private UnaryFunctionOp<Dimensions, RandomAccessibleInterval> createDoubleRAI;
 
 	@Override
 	public void initialize() {
-		integralAdd = getComputer();
-
 		if (in() != null) {
-			slicewiseOps = new UnaryComputerOp[in().numDimensions()];
-
-			for (int i = 0; i < in().numDimensions(); ++i) {
-				slicewiseOps[i] = Computers.unary(ops(), Slice.class,
-					RandomAccessibleInterval.class, RandomAccessibleInterval.class,
-					integralAdd, i);
-			}
+			slicewiseOps = createSlicewiseOps(in().numDimensions());
 		}
 
 		createLongRAI = Functions.unary(ops(), Ops.Create.Img.class,
@@ -92,13 +83,7 @@ public abstract class AbstractIntegralImg<I extends RealType<I>> extends
 		final RandomAccessibleInterval<RealType<?>> output)
 	{
 		if (slicewiseOps == null) {
-			slicewiseOps = new UnaryComputerOp[in().numDimensions()];
-
-			for (int i = 0; i < in().numDimensions(); ++i) {
-				slicewiseOps[i] = Computers.unary(ops(), Slice.class,
-					RandomAccessibleInterval.class, RandomAccessibleInterval.class,
-					integralAdd, i);
-			}
+			slicewiseOps = createSlicewiseOps(input.numDimensions());
 		}
 
 		// HACK Generalized to most common supertype of input and output
@@ -139,4 +124,26 @@ public abstract class AbstractIntegralImg<I extends RealType<I>> extends
 		AbstractUnaryHybridCI<IterableInterval<RealType<?>>, IterableInterval<RealType<?>>>
 		getComputer();
 
+	/**
+	 * Gets the row-wise addition for the given dimension. Integral images are
+	 * computed one dimension after the other, starting with dimension 0; by
+	 * default, the same {@link #getComputer()} is used for all dimensions.
+	 */
+	protected
+		AbstractUnaryHybridCI<IterableInterval<RealType<?>>, IterableInterval<RealType<?>>>
+		getComputer(final int dimension)
+	{
+		return getComputer();
+	}
+
+	private UnaryComputerOp[] createSlicewiseOps(final int numDimensions) {
+		final UnaryComputerOp[] result = new UnaryComputerOp[numDimensions];
+		for (int i = 0; i < numDimensions; ++i) {
+			result[i] = Computers.unary(ops(), Slice.class,
+				RandomAccessibleInterval.class, RandomAccessibleInterval.class,
+				getComputer(i), i);
+		}
+		return result;
+	}
+
 }
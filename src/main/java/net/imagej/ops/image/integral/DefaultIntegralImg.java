@@ -70,7 +70,7 @@ public class DefaultIntegralImg<I extends RealType<I>> extends
 	 *
 	 * @author Stefan Helfrich (University of Konstanz)
 	 */
-	private class IntegralAddComputer extends
+	static class IntegralAddComputer extends
 		AbstractUnaryHybridCI<IterableInterval<RealType<?>>, IterableInterval<RealType<?>>>
 	{
 
@@ -66,6 +66,17 @@ public class SquareIntegralImg<I extends RealType<I>> extends
 		return new IntegralAddComputer();
 	}
 
+	@Override
+	protected
+		AbstractUnaryHybridCI<IterableInterval<RealType<?>>, IterableInterval<RealType<?>>>
+		getComputer(final int dimension)
+	{
+		// NB: The values are squared once, the remaining dimensions only sum
+		// up the squares.
+		if (dimension == 0) return getComputer();
+		return new DefaultIntegralImg.IntegralAddComputer();
+	}
+
 	/**
 	 * Implements the row-wise addition required for computations of squared
 	 * integral images.
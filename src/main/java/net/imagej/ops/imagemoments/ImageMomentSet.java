@@ -0,0 +1,259 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.imagemoments;
+
+/**
+ * The raw, central, normalized central and Hu moments of a 2D image, derived
+ * from the raw moments up to order three.
+ * <p>
+ * The raw moments are accumulated relative to an origin close to the image
+ * (usually its minimum), which keeps the central moments accurate for images
+ * far away from the coordinate origin. All values follow the definitions of
+ * the corresponding ops of the {@code imagemoments} namespace.
+ * </p>
+ *
+ * @author agent
+ * @see net.imagej.ops.imagemoments.moments.DefaultMoments
+ */
+public final class ImageMomentSet {
+
+	private final double moment00;
+	private final double moment01;
+	private final double moment10;
+	private final double moment11;
+
+	private final double centralMoment02;
+	private final double centralMoment03;
+	private final double centralMoment11;
+	private final double centralMoment12;
+	private final double centralMoment20;
+	private final double centralMoment21;
+	private final double centralMoment30;
+
+	/**
+	 * Creates the moments from raw moment sums {@code m[p][q]}, i.e. the sums of
+	 * {@code x^p * y^q * value}, where {@code x} and {@code y} are taken
+	 * relative to the given origin.
+	 *
+	 * @param m the raw moment sums, indexed {@code [p][q]} with
+	 *          {@code p + q <= 3}
+	 * @param originX the x coordinate of the origin of the sums
+	 * @param originY the y coordinate of the origin of the sums
+	 */
+	public ImageMomentSet(final double[][] m, final double originX,
+		final double originY)
+	{
+		final double m00 = m[0][0];
+		final double cx = m[1][0] / m00;
+		final double cy = m[0][1] / m00;
+
+		moment00 = m00;
+		moment10 = m[1][0] + originX * m00;
+		moment01 = m[0][1] + originY * m00;
+		moment11 = m[1][1] + originX * m[0][1] + originY * m[1][0] + originX *
+			originY * m00;
+
+		centralMoment11 = m[1][1] - cx * m[0][1];
+		centralMoment20 = m[2][0] - cx * m[1][0];
+		centralMoment02 = m[0][2] - cy * m[0][1];
+		centralMoment30 = m[3][0] - 3 * cx * m[2][0] + 2 * cx * cx * m[1][0];
+		centralMoment03 = m[0][3] - 3 * cy * m[0][2] + 2 * cy * cy * m[0][1];
+		centralMoment21 = m[2][1] - 2 * cx * m[1][1] - cy * m[2][0] + 2 * cx * cx *
+			m[0][1];
+		centralMoment12 = m[1][2] - 2 * cy * m[1][1] - cx * m[0][2] + 2 * cy * cy *
+			m[1][0];
+	}
+
+	// -- Raw moments --
+
+	public double getMoment00() {
+		return moment00;
+	}
+
+	public double getMoment01() {
+		return moment01;
+	}
+
+	public double getMoment10() {
+		return moment10;
+	}
+
+	public double getMoment11() {
+		return moment11;
+	}
+
+	// -- Central moments --
+
+	public double getCentralMoment00() {
+		return moment00;
+	}
+
+	public double getCentralMoment01() {
+		return 0;
+	}
+
+	public double getCentralMoment10() {
+		return 0;
+	}
+
+	public double getCentralMoment02() {
+		return centralMoment02;
+	}
+
+	public double getCentralMoment03() {
+		return centralMoment03;
+	}
+
+	public double getCentralMoment11() {
+		return centralMoment11;
+	}
+
+	public double getCentralMoment12() {
+		return centralMoment12;
+	}
+
+	public double getCentralMoment20() {
+		return centralMoment20;
+	}
+
+	public double getCentralMoment21() {
+		return centralMoment21;
+	}
+
+	public double getCentralMoment30() {
+		return centralMoment30;
+	}
+
+	// -- Normalized central moments --
+
+	public double getNormalizedCentralMoment02() {
+		return normalize(centralMoment02, 0, 2);
+	}
+
+	public double getNormalizedCentralMoment03() {
+		return normalize(centralMoment03, 0, 3);
+	}
+
+	public double getNormalizedCentralMoment11() {
+		return normalize(centralMoment11, 1, 1);
+	}
+
+	public double getNormalizedCentralMoment12() {
+		return normalize(centralMoment12, 1, 2);
+	}
+
+	public double getNormalizedCentralMoment20() {
+		return normalize(centralMoment20, 2, 0);
+	}
+
+	public double getNormalizedCentralMoment21() {
+		return normalize(centralMoment21, 2, 1);
+	}
+
+	public double getNormalizedCentralMoment30() {
+		return normalize(centralMoment30, 3, 0);
+	}
+
+	// -- Hu moments --
+
+	public double getHuMoment1() {
+		return getNormalizedCentralMoment20() + getNormalizedCentralMoment02();
+	}
+
+	public double getHuMoment2() {
+		final double n02 = getNormalizedCentralMoment02();
+		final double n11 = getNormalizedCentralMoment11();
+		final double n20 = getNormalizedCentralMoment20();
+		return Math.pow(n20 - n02, 2) - 4 * (Math.pow(n11, 2));
+	}
+
+	public double getHuMoment3() {
+		final double n03 = getNormalizedCentralMoment03();
+		final double n12 = getNormalizedCentralMoment12();
+		final double n21 = getNormalizedCentralMoment21();
+		final double n30 = getNormalizedCentralMoment30();
+		return Math.pow(n30 - 3 * n12, 2) + Math.pow(3 * n21 - n03, 2);
+	}
+
+	public double getHuMoment4() {
+		final double n03 = getNormalizedCentralMoment03();
+		final double n12 = getNormalizedCentralMoment12();
+		final double n21 = getNormalizedCentralMoment21();
+		final double n30 = getNormalizedCentralMoment30();
+		return Math.pow(n30 + n12, 2) + Math.pow(n21 + n03, 2);
+	}
+
+	public double getHuMoment5() {
+		final double n03 = getNormalizedCentralMoment03();
+		final double n12 = getNormalizedCentralMoment12();
+		final double n21 = getNormalizedCentralMoment21();
+		final double n30 = getNormalizedCentralMoment30();
+		return (n30 - 3 * n12) * (n30 + n12) * (Math.pow(n30 + n12, 2) - 3 *
+			Math.pow(n21 + n03, 2)) + (3 * n21 - n03) * (n21 + n03) * (3 * Math.pow(
+				n30 + n12, 2) - Math.pow(n21 + n03, 2));
+	}
+
+	public double getHuMoment6() {
+		final double n02 = getNormalizedCentralMoment02();
+		final double n03 = getNormalizedCentralMoment03();
+		final double n11 = getNormalizedCentralMoment11();
+		final double n12 = getNormalizedCentralMoment12();
+		final double n20 = getNormalizedCentralMoment20();
+		final double n21 = getNormalizedCentralMoment21();
+		final double n30 = getNormalizedCentralMoment30();
+		return (n20 - n02) * (Math.pow(n30 + n12, 2) - Math.pow(n21 + n03, 2)) +
+			4 * n11 * (n30 + n12) * (n21 + n03);
+	}
+
+	public double getHuMoment7() {
+		final double n03 = getNormalizedCentralMoment03();
+		final double n12 = getNormalizedCentralMoment12();
+		final double n21 = getNormalizedCentralMoment21();
+		final double n30 = getNormalizedCentralMoment30();
+		return (3 * n21 - n03) * (n30 + n12) * (Math.pow(n30 + n12, 2) - 3 *
+			Math.pow(n21 + n03, 2)) - (n30 - 3 * n12) * (n21 + n03) * (3 * Math.pow(
+				n30 + n12, 2) - Math.pow(n21 + n03, 2));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Normalizes a central moment the same way the
+	 * {@code imagemoments.normalizedCentralMoment} ops do.
+	 */
+	private double normalize(final double centralMoment, final int p,
+		final int q)
+	{
+		// NB: Integer division, for consistency with the single moment ops.
+		return centralMoment / Math.pow(moment00, 1 + ((p + q) / 2));
+	}
+
+}
@@ -397,6 +397,16 @@ public class ImageMomentsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.imagemoments.moments.DefaultMoments.class)
+	public <I extends RealType<I>> ImageMomentSet moments(
+		final IterableInterval<I> in)
+	{
+		final ImageMomentSet result =
+			(ImageMomentSet) ops().run(
+				net.imagej.ops.Ops.ImageMoments.Moments.class, in);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.imagemoments.normalizedcentralmoments.DefaultNormalizedCentralMoment02.class)
 	public
@@ -0,0 +1,161 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.imagemoments.moments;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.imagemoments.ImageMomentSet;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link Op} to calculate all {@code imagemoments} of a 2D image at once.
+ * <p>
+ * The raw moments up to order three are accumulated in a single pass over the
+ * image, split into blocks of a fixed size which are processed in parallel and
+ * summed up in block order, so the result does not depend on thread
+ * scheduling. The central, normalized central and Hu moments are then derived
+ * from these sums, see {@link ImageMomentSet}.
+ * </p>
+ *
+ * @author agent
+ * @param <I> input type
+ */
+@Plugin(type = Ops.ImageMoments.Moments.class,
+	label = "Image Moment: All Moments")
+public class DefaultMoments<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<IterableInterval<I>, ImageMomentSet> implements
+	Ops.ImageMoments.Moments, Contingent, Parallel
+{
+
+	/** Number of elements accumulated into one partial sum. */
+	private static final int BLOCK_SIZE = 1 << 14;
+
+	/** Number of raw moments {@code m[p][q]} with {@code p + q <= 3}. */
+	private static final int SUMS = 10;
+
+	@Override
+	public ImageMomentSet compute1(final IterableInterval<I> input) {
+		final double originX = input.min(0);
+		final double originY = input.min(1);
+
+		final double[] sums = new double[SUMS];
+		if (input.size() <= BLOCK_SIZE) {
+			final Cursor<I> cursor = input.localizingCursor();
+			while (cursor.hasNext()) {
+				cursor.fwd();
+				accumulate(cursor, originX, originY, sums);
+			}
+		}
+		else {
+			final long size = input.size();
+			final double[][] partials = new double[(int) ((size - 1) / BLOCK_SIZE +
+				1)][SUMS];
+			ops().run(ChunkerOp.class, new Chunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					final Cursor<I> cursor = input.localizingCursor();
+					for (int i = 0; i < numSteps; i++) {
+						final int block = startIndex + i * stepSize;
+						final long start = (long) block * BLOCK_SIZE;
+						final long end = Math.min(start + BLOCK_SIZE, size);
+						cursor.reset();
+						cursor.jumpFwd(start);
+						for (long j = start; j < end; j++) {
+							cursor.fwd();
+							accumulate(cursor, originX, originY, partials[block]);
+						}
+					}
+				}
+			}, partials.length);
+
+			for (final double[] partial : partials) {
+				for (int i = 0; i < SUMS; i++) {
+					sums[i] += partial[i];
+				}
+			}
+		}
+
+		final double[][] m = new double[4][4];
+		m[0][0] = sums[0];
+		m[1][0] = sums[1];
+		m[0][1] = sums[2];
+		m[2][0] = sums[3];
+		m[1][1] = sums[4];
+		m[0][2] = sums[5];
+		m[3][0] = sums[6];
+		m[2][1] = sums[7];
+		m[1][2] = sums[8];
+		m[0][3] = sums[9];
+		return new ImageMomentSet(m, originX, originY);
+	}
+
+	@Override
+	public boolean conforms() {
+		return 2 == in().numDimensions();
+	}
+
+	// -- Helper methods --
+
+	/** Adds the weighted powers of the cursor position to the sums. */
+	private static void accumulate(final Cursor<? extends RealType<?>> cursor,
+		final double originX, final double originY, final double[] sums)
+	{
+		final double x = cursor.getDoublePosition(0) - originX;
+		final double y = cursor.getDoublePosition(1) - originY;
+		final double val = cursor.get().getRealDouble();
+		final double xv = x * val;
+		final double yv = y * val;
+
+		sums[0] += val;
+		sums[1] += xv;
+		sums[2] += yv;
+		sums[3] += x * xv;
+		sums[4] += x * yv;
+		sums[5] += y * yv;
+		sums[6] += x * x * xv;
+		sums[7] += x * x * yv;
+		sums[8] += x * y * yv;
+		sums[9] += y * y * yv;
+	}
+
+}
@@ -36,8 +36,10 @@ import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
 import net.imglib2.type.BooleanType;
 import net.imglib2.type.Type;
+import net.imglib2.type.logic.BitType;
 
 import org.scijava.plugin.Plugin;
 
@@ -96,6 +98,24 @@ public class LogicNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.And.class)
+	public Img<BitType> and(final Img<BitType> in1, final Img<BitType> in2) {
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.And.class,
+			in1, in2);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.And.class)
+	public Img<BitType> and(final Img<BitType> out, final Img<BitType> in1,
+		final Img<BitType> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.And.class,
+			out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.logic.IIToRAIOutputII.And.class)
 	public <T extends BooleanType<T>> IterableInterval<T> and(
 		final IterableInterval<T> in1, final RandomAccessibleInterval<T> in2)
@@ -518,6 +538,24 @@ public class LogicNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.Or.class)
+	public Img<BitType> or(final Img<BitType> in1, final Img<BitType> in2) {
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.Or.class,
+			in1, in2);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.Or.class)
+	public Img<BitType> or(final Img<BitType> out, final Img<BitType> in1,
+		final Img<BitType> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.Or.class,
+			out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.logic.IIToRAIOutputII.Or.class)
 	public <T extends BooleanType<T>> IterableInterval<T> or(
 		final IterableInterval<T> in1, final RandomAccessibleInterval<T> in2)
@@ -586,6 +624,24 @@ public class LogicNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.Xor.class)
+	public Img<BitType> xor(final Img<BitType> in1, final Img<BitType> in2) {
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.Xor.class,
+			in1, in2);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.logic.IIToIIOutputIIP.Xor.class)
+	public Img<BitType> xor(final Img<BitType> out, final Img<BitType> in1,
+		final Img<BitType> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<BitType> result = (Img<BitType>) ops().run(Ops.Logic.Xor.class,
+			out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.logic.IIToRAIOutputII.Xor.class)
 	public <T extends BooleanType<T>> IterableInterval<T> xor(
 		final IterableInterval<T> in1, final RandomAccessibleInterval<T> in2)
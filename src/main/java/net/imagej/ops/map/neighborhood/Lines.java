@@ -0,0 +1,72 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.map.neighborhood;
+
+/**
+ * Helper methods to enumerate the lines (along dimension 0) of an interval,
+ * used to split neighborhood maps into chunks.
+ * 
+ * @author agent
+ */
+final class Lines {
+
+	private Lines() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Gets the number of lines along dimension 0 of an interval with the given
+	 * dimensions.
+	 */
+	public static long numLines(final long[] dims) {
+		long lines = 1;
+		for (int d = 1; d < dims.length; d++) {
+			lines *= dims[d];
+		}
+		return lines;
+	}
+
+	/**
+	 * Sets the given position to the first element of the line with the given
+	 * index, enumerating lines in flat iteration order.
+	 */
+	public static void setLinePosition(final long line, final long[] min,
+		final long[] dims, final long[] position)
+	{
+		long remainder = line;
+		position[0] = min[0];
+		for (int d = 1; d < dims.length; d++) {
+			position[d] = min[d] + remainder % dims[d];
+			remainder /= dims[d];
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.map.neighborhood;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.computer.BinaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.Neighborhood;
+import net.imglib2.algorithm.neighborhood.Shape;
+import net.imglib2.util.Intervals;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Parallelized version of {@link MapNeighborhoodWithCenter}.
+ * <p>
+ * The output interval is tiled into blocks of consecutive lines (along
+ * dimension 0), which are distributed over the available threads by a
+ * {@link ChunkerOp}. Each worker walks its lines with its own
+ * {@link Neighborhood} and center {@link RandomAccess}es and an independent
+ * instance of the mapped op, and writes the results directly into the output.
+ * </p>
+ * 
+ * @author agent
+ * @param <I> input type
+ * @param <O> output type
+ * @see CenterAwareComputerOp
+ */
+@Plugin(type = Ops.Map.class, priority = Priority.LOW_PRIORITY + 6)
+public class MapNeighborhoodWithCenterParallel<I, O> extends
+	AbstractMapNeighborhood<I, O, RandomAccessibleInterval<I>, IterableInterval<O>, CenterAwareComputerOp<I, O>>
+	implements Contingent, Parallel
+{
+
+	@Override
+	public void compute2(final RandomAccessibleInterval<I> in1, final Shape in2,
+		final IterableInterval<O> out)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> output = (RandomAccessibleInterval<O>) out;
+		final long[] min = Intervals.minAsLongArray(output);
+		final long[] dims = Intervals.dimensionsAsLongArray(output);
+
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final RandomAccess<Neighborhood<I>> neighborhoodAccess = in2
+					.neighborhoodsRandomAccessibleSafe(in1).randomAccess();
+				final RandomAccess<I> centerAccess = in1.randomAccess();
+				final RandomAccess<O> outAccess = output.randomAccess();
+				final BinaryComputerOp<Iterable<I>, I, O> op = getOp()
+					.getIndependentInstance();
+				final long[] position = new long[min.length];
+
+				for (int i = 0; i < numSteps; i++) {
+					Lines.setLinePosition(startIndex + (long) i * stepSize, min, dims,
+						position);
+					neighborhoodAccess.setPosition(position);
+					centerAccess.setPosition(position);
+					outAccess.setPosition(position);
+					for (long x = 0; x < dims[0]; x++) {
+						op.compute2(neighborhoodAccess.get(), centerAccess.get(), outAccess
+							.get());
+						neighborhoodAccess.fwd(0);
+						centerAccess.fwd(0);
+						outAccess.fwd(0);
+					}
+				}
+			}
+		}, Lines.numLines(dims));
+	}
+
+	@Override
+	public boolean conforms() {
+		// NB: The output is accessed randomly, so it must be given.
+		return out() instanceof RandomAccessibleInterval && Intervals.contains(
+			in1(), out());
+	}
+
+}
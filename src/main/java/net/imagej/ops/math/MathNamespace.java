@@ -36,6 +36,7 @@ import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
 import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
 import net.imglib2.img.basictypeaccess.array.ByteArray;
@@ -222,6 +223,46 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.AddByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> add(final Img<T> out,
+		final Img<T> in1, final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Add.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.AddByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.AddUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> add(final Img<T> in1,
+		final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Add.class, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerAdd.class)
 	public int add(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -787,6 +828,46 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.DivideByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> divide(final Img<T> out,
+		final Img<T> in1, final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Divide.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.DivideByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.DivideUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> divide(final Img<T> in1,
+		final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Divide.class, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerDivide.class)
 	public int divide(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -1280,6 +1361,46 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> multiply(final Img<T> out,
+		final Img<T> in1, final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Multiply.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.MultiplyUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> multiply(final Img<T> in1,
+		final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Multiply.class, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerMultiply.class)
 	public int multiply(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -1895,6 +2016,46 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> subtract(final Img<T> out,
+		final Img<T> in1, final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Subtract.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractShort.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractFloat.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractDouble.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedByte.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedInt.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedLong.class,
+		net.imagej.ops.math.IIToIIOutputIIP.SubtractUnsignedShort.class })
+	public <T extends NumericType<T>> Img<T> subtract(final Img<T> in1,
+		final Img<T> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<T> result = (Img<T>) ops().run(
+			net.imagej.ops.Ops.Math.Subtract.class, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerSubtract.class)
 	public int subtract(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -31,12 +31,18 @@
 package net.imagej.ops.morphology.extractHoles;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.special.chain.RAIs;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.morphology.floodFill.ScanlineFill;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
-import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
 import net.imglib2.type.BooleanType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -50,7 +56,7 @@ import org.scijava.plugin.Plugin;
 @Plugin(type = Ops.Morphology.ExtractHoles.class)
 public class DefaultExtractHolesComputer<T extends BooleanType<T>> extends
 	AbstractUnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>>
-	implements Ops.Morphology.ExtractHoles
+	implements Ops.Morphology.ExtractHoles, Parallel
 {
 
 	@Parameter(required=false)
@@ -59,33 +65,45 @@ public class DefaultExtractHolesComputer<T extends BooleanType<T>> extends
 	@Parameter(required=false)
 	private boolean background = false;
 
-	private UnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> xorMapOp;
-
-	private UnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> fillHolesComp;
-
-	@Override
-	public void initialize() {
-		fillHolesComp = RAIs.computer(ops(), Ops.Morphology.FillHoles.class, in(), structElement,
-			background);
-		xorMapOp = RAIs.computer(ops(), Ops.Map.class, in(),
-			new AbstractUnaryComputerOp<T, T>()
-		{
-
-				@Override
-				public void compute1(T input, T output) {
-					output.set((input.get() != background) ^ (output
-						.get() != background));
-				}
-			});
-
-	}
-
 	@Override
 	public void compute1(final RandomAccessibleInterval<T> input,
 		final RandomAccessibleInterval<T> output)
 	{
-		fillHolesComp.compute1(input, output);
-		xorMapOp.compute1(input, output);
+		// NB: Holes are the background pixels not connected to the border. As
+		// each pixel of the input is read before the output is written at the same
+		// position, the output may be the input itself.
+		final long[] border = ScanlineFill.borderConnected(input, background,
+			structElement);
+		final IterableInterval<T> iterIn = Views.flatIterable(input);
+		final IterableInterval<T> iterOut = Views.flatIterable(output);
+		final long rowLength = input.dimension(0);
+
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> inCursor = iterIn.cursor();
+				final Cursor<T> outCursor = iterOut.cursor();
+				long index = startIndex * rowLength;
+				inCursor.jumpFwd(index);
+				outCursor.jumpFwd(index);
+				for (int i = 0; i < numSteps; i++) {
+					if (i > 0) {
+						inCursor.jumpFwd((stepSize - 1) * rowLength);
+						outCursor.jumpFwd((stepSize - 1) * rowLength);
+						index += (stepSize - 1) * rowLength;
+					}
+					for (long x = 0; x < rowLength; x++) {
+						final boolean hole = inCursor.next().get() == background &&
+							!ScanlineFill.isSet(border, index++);
+						// NB: Holes are marked true whatever the background value.
+						outCursor.next().set(hole);
+					}
+				}
+			}
+		}, (int) (Intervals.numElements(input) / rowLength));
 	}
 
 }
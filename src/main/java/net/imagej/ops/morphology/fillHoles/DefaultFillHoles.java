@@ -31,18 +31,20 @@
 package net.imagej.ops.morphology.fillHoles;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.create.img.CreateImgFromInterval;
+import net.imagej.ops.morphology.floodFill.ScanlineFill;
 import net.imagej.ops.special.chain.RAIs;
-import net.imagej.ops.special.computer.BinaryComputerOp;
-import net.imagej.ops.special.computer.Computers;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
 import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
-import net.imglib2.Localizable;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
 import net.imglib2.type.BooleanType;
+import net.imglib2.util.Intervals;
 import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
@@ -50,14 +52,19 @@ import org.scijava.plugin.Plugin;
 
 /**
  * Fills the holes of a BooleanType image.
- * 
+ * <p>
+ * The background connected to the border is marked by a {@link ScanlineFill}
+ * of the input, then the output is written row by row in parallel. The op may
+ * be run in place.
+ * </p>
+ *
  * @author Martin Horn (University of Konstanz)
  * @author Daniel Seebacher (University of Konstanz)
  */
 @Plugin(type = Ops.Morphology.FillHoles.class)
 public class DefaultFillHoles<T extends BooleanType<T>> extends
 	AbstractUnaryHybridCF<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>>
-	implements Ops.Morphology.FillHoles
+	implements Ops.Morphology.FillHoles, Parallel
 {
 
 	@Parameter(required = false)
@@ -67,54 +74,45 @@ public class DefaultFillHoles<T extends BooleanType<T>> extends
 	private boolean background = false;
 
 	private UnaryFunctionOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> createFunc;
-	private BinaryComputerOp<RandomAccessibleInterval<T>, Localizable, RandomAccessibleInterval<T>> floodFillComp;
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public void initialize() {
 		createFunc = RAIs.function(ops(), CreateImgFromInterval.class, in());
-		floodFillComp = (BinaryComputerOp) Computers.binary(ops(),
-			Ops.Morphology.FloodFill.class, RandomAccessibleInterval.class, in(),
-			Localizable.class, structElement);
 	}
 
 	@Override
 	public void compute1(final RandomAccessibleInterval<T> op,
 		final RandomAccessibleInterval<T> r)
 	{
-		final IterableInterval<T> iterOp = Views.flatIterable(op);
+		// NB: Only the background connected to the border stays background, all
+		// other pixels (including the holes) become foreground. As the mask is
+		// computed from op up front, r may be op itself.
+		final long[] border = ScanlineFill.borderConnected(op, background,
+			structElement);
 		final IterableInterval<T> iterR = Views.flatIterable(r);
+		final long rowLength = r.dimension(0);
 
-		long[] dim = new long[r.numDimensions()];
-		r.dimensions(dim);
-		Cursor<T> rc = iterR.cursor();
-		Cursor<T> opc = iterOp.localizingCursor();
-		// Fill with non background marker
-		while (rc.hasNext()) {
-			rc.next().set(!background);
-		}
+		ops().run(ChunkerOp.class, new CursorBasedChunk() {
 
-		rc.reset();
-		boolean border;
-		// Flood fill from every background border voxel
-		while (rc.hasNext()) {
-			rc.next();
-			opc.next();
-			if ((rc.get().get() != background) && (opc.get().get() == background)) {
-				border = false;
-				for (int i = 0; i < r.numDimensions(); i++) {
-					if (rc.getLongPosition(i) == 0 || rc.getLongPosition(i) == dim[i] -
-						1)
-					{
-						border = true;
-						break;
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> rc = iterR.cursor();
+				long index = startIndex * rowLength;
+				rc.jumpFwd(index);
+				for (int i = 0; i < numSteps; i++) {
+					if (i > 0) {
+						rc.jumpFwd((stepSize - 1) * rowLength);
+						index += (stepSize - 1) * rowLength;
+					}
+					for (long x = 0; x < rowLength; x++) {
+						rc.next().set(ScanlineFill.isSet(border, index++) ? background
+							: !background);
 					}
-				}
-				if (border) {
-					floodFillComp.compute2(op, rc, r);
 				}
 			}
-		}
+		}, (int) (Intervals.numElements(r) / rowLength));
 	}
 
 	@Override
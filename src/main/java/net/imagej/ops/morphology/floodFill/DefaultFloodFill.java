@@ -30,14 +30,9 @@
 
 package net.imagej.ops.morphology.floodFill;
 
-import java.util.Arrays;
-import java.util.LinkedList;
-
 import net.imagej.ops.Ops;
-import net.imagej.ops.copy.CopyRAI;
 import net.imagej.ops.create.img.CreateImgFromInterval;
 import net.imagej.ops.special.chain.RAIs;
-import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractBinaryHybridCF;
 import net.imglib2.Localizable;
@@ -62,93 +57,55 @@ public class DefaultFloodFill<T extends Type<T> & Comparable<T>> extends
 	@Parameter()
 	private StructuringElement structElement = StructuringElement.EIGHT_CONNECTED;
 
-	private UnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> copyComp;
-
 	private UnaryFunctionOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> createFunc;
 
 	@Override
 	public void initialize() {
-		copyComp = RAIs.computer(ops(), CopyRAI.class, in());
 		createFunc = RAIs.function(ops(), CreateImgFromInterval.class, in());
 	}
 
 	@Override
-	public void compute2(RandomAccessibleInterval<T> op0, Localizable loc,
-		RandomAccessibleInterval<T> r)
+	public void compute2(final RandomAccessibleInterval<T> op0,
+		final Localizable loc, final RandomAccessibleInterval<T> r)
 	{
-		copyComp.compute1(op0, r);
-
-		long[] posAsArray = new long[loc.numDimensions()];
-		loc.localize(posAsArray);
-
-		final RandomAccess<T> rc = r.randomAccess();
 		final RandomAccess<T> op0c = op0.randomAccess();
+		final RandomAccess<T> rc = r.randomAccess();
 		op0c.setPosition(loc);
 		final T floodVal = op0c.get().copy();
-		final LinkedList<long[]> q = new LinkedList<>();
-		q.addFirst(posAsArray.clone());
-		long[] pos, nextPos;
-		long[] perm = new long[r.numDimensions()];
-		while (!q.isEmpty()) {
-			pos = q.removeLast();
-			rc.setPosition(pos);
-			if (rc.get().compareTo(floodVal) == 0) {
-				continue;
+
+		// NB: Fills the pixels of r which are connected to the seed and have the
+		// flood value in op0. Pixels of r which already have it are boundaries.
+		new ScanlineFill(op0, structElement) {
+
+			@Override
+			protected void setPosition(final long[] position) {
+				op0c.setPosition(position);
+				rc.setPosition(position);
 			}
-			op0c.setPosition(pos);
-			if (op0c.get().compareTo(floodVal) == 0) {
-				// set new label
+
+			@Override
+			protected void fwd() {
+				op0c.fwd(0);
+				rc.fwd(0);
+			}
+
+			@Override
+			protected void bck() {
+				op0c.bck(0);
+				rc.bck(0);
+			}
+
+			@Override
+			protected boolean isFillable(final long index) {
+				return op0c.get().compareTo(floodVal) == 0 && rc.get().compareTo(
+					floodVal) != 0;
+			}
+
+			@Override
+			protected void fill(final long index) {
 				rc.get().set(floodVal);
-				switch (structElement) {
-					case EIGHT_CONNECTED:
-						Arrays.fill(perm, -1);
-						int i = r.numDimensions() - 1;
-						boolean add;
-						while (i > -1) {
-							nextPos = pos.clone();
-							add = true;
-							// Modify position
-							for (int j = 0; j < r.numDimensions(); j++) {
-								nextPos[j] += perm[j];
-								// Check boundaries
-								if (nextPos[j] < 0 || nextPos[j] >= r.dimension(j)) {
-									add = false;
-									break;
-								}
-							}
-							if (add) {
-								q.addFirst(nextPos);
-							}
-							// Calculate next permutation
-							for (i = perm.length - 1; i > -1; i--) {
-								if (perm[i] < 1) {
-									perm[i]++;
-									for (int j = i + 1; j < perm.length; j++) {
-										perm[j] = -1;
-									}
-									break;
-								}
-							}
-						}
-						break;
-					case FOUR_CONNECTED:
-					default:
-						for (int j = 0; j < r.numDimensions(); j++) {
-							if (pos[j] + 1 < r.dimension(j)) {
-								nextPos = pos.clone();
-								nextPos[j]++;
-								q.addFirst(nextPos);
-							}
-							if (pos[j] - 1 >= 0) {
-								nextPos = pos.clone();
-								nextPos[j]--;
-								q.addFirst(nextPos);
-							}
-						}
-						break;
-				}
 			}
-		}
+		}.fill(loc);
 	}
 
 	@Override
@@ -0,0 +1,378 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.morphology.floodFill;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
+import net.imglib2.type.BooleanType;
+
+/**
+ * Scanline flood fill over an N-dimensional {@link Interval}.
+ * <p>
+ * Instead of visiting pixels one by one, the fill extends each seed to the
+ * longest fillable run along dimension 0, fills it at once and then scans the
+ * neighboring lines (which differ by at most one in the other dimensions) for
+ * the starts of new runs. Seeds are kept as linear indices in a primitive ring
+ * buffer, so no arrays are allocated per pixel.
+ * </p>
+ * <p>
+ * Implementations define the region by moving one or more
+ * {@link RandomAccess}es and deciding whether the current pixel is fillable.
+ * A filled pixel must not be fillable anymore.
+ * </p>
+ *
+ * @author agent
+ */
+public abstract class ScanlineFill {
+
+	private final int n;
+
+	private final long[] min;
+
+	private final long[] dims;
+
+	private final boolean eightConnected;
+
+	/** Offsets of the neighboring lines, in dimensions 1 and up. */
+	private final List<long[]> offsets;
+
+	private final long[] pos;
+
+	private final long[] linePos;
+
+	private final long[] absPos;
+
+	private long[] queue = new long[1024];
+
+	private int head;
+
+	private int size;
+
+	public ScanlineFill(final Interval interval,
+		final StructuringElement structElement)
+	{
+		n = interval.numDimensions();
+		min = new long[n];
+		dims = new long[n];
+		interval.min(min);
+		interval.dimensions(dims);
+		eightConnected = structElement == StructuringElement.EIGHT_CONNECTED;
+		offsets = offsets(n, eightConnected);
+		pos = new long[n];
+		linePos = new long[n];
+		absPos = new long[n];
+	}
+
+	// -- ScanlineFill methods --
+
+	/** Moves to the given (absolute) position. */
+	protected abstract void setPosition(long[] position);
+
+	/** Moves one pixel forward along dimension 0. */
+	protected abstract void fwd();
+
+	/** Moves one pixel backward along dimension 0. */
+	protected abstract void bck();
+
+	/**
+	 * Checks whether the pixel at the current position, which has the given
+	 * linear index, can be filled.
+	 */
+	protected abstract boolean isFillable(long index);
+
+	/** Fills the pixel at the current position with the given linear index. */
+	protected abstract void fill(long index);
+
+	/** Fills the region connected to the given seed. */
+	public void fill(final Localizable seed) {
+		for (int d = 0; d < n; d++) {
+			pos[d] = seed.getLongPosition(d) - min[d];
+		}
+		push(index(pos));
+		run();
+	}
+
+	/** Fills the regions connected to any pixel at the interval's border. */
+	public void fillFromBorder() {
+		final long lines = numElements() / dims[0];
+		final long[] line = new long[n];
+		for (long l = 0; l < lines; l++) {
+			boolean border = false;
+			for (int d = 1; d < n; d++) {
+				if (line[d] == 0 || line[d] == dims[d] - 1) border = true;
+			}
+			final long base = index(line);
+			if (border) {
+				pushRuns(line, base, 0, dims[0] - 1);
+			}
+			else {
+				pushRuns(line, base, 0, 0);
+				pushRuns(line, base, dims[0] - 1, dims[0] - 1);
+			}
+			run();
+
+			// advance to the next line
+			for (int d = 1; d < n; d++) {
+				if (++line[d] < dims[d]) break;
+				line[d] = 0;
+			}
+		}
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Marks the pixels which have the given value and are connected to the
+	 * border of the image.
+	 *
+	 * @return bit mask of the marked pixels, indexed in flat iteration order
+	 */
+	public static <T extends BooleanType<T>> long[] borderConnected(
+		final RandomAccessibleInterval<T> source, final boolean value,
+		final StructuringElement structElement)
+	{
+		final BorderMask<T> fill = new BorderMask<>(source, value, structElement);
+		fill.fillFromBorder();
+		return fill.mask;
+	}
+
+	/** Checks whether the given bit of a mask is set. */
+	public static boolean isSet(final long[] mask, final long index) {
+		return (mask[(int) (index >>> 6)] & (1L << index)) != 0;
+	}
+
+	// -- Helper methods --
+
+	private long numElements() {
+		long count = 1;
+		for (final long d : dims) {
+			count *= d;
+		}
+		return count;
+	}
+
+	private long index(final long[] position) {
+		long index = position[n - 1];
+		for (int d = n - 2; d >= 0; d--) {
+			index = index * dims[d] + position[d];
+		}
+		return index;
+	}
+
+	private void moveTo(final long[] position) {
+		for (int d = 0; d < n; d++) {
+			absPos[d] = position[d] + min[d];
+		}
+		setPosition(absPos);
+	}
+
+	/**
+	 * Pushes the start of each fillable run in [from, to] of the given line.
+	 */
+	private void pushRuns(final long[] line, final long base, final long from,
+		final long to)
+	{
+		line[0] = from;
+		moveTo(line);
+		boolean inRun = false;
+		for (long x = from;; x++) {
+			if (isFillable(base + x)) {
+				if (!inRun) push(base + x);
+				inRun = true;
+			}
+			else inRun = false;
+			if (x == to) break;
+			fwd();
+		}
+		line[0] = 0;
+	}
+
+	private void run() {
+		while (size > 0) {
+			final long index = pop();
+			long rest = index;
+			for (int d = 0; d < n; d++) {
+				pos[d] = rest % dims[d];
+				rest /= dims[d];
+			}
+			moveTo(pos);
+			if (!isFillable(index)) continue;
+
+			// find the start of the run
+			final long base = index - pos[0];
+			long left = pos[0];
+			while (left > 0) {
+				bck();
+				if (!isFillable(base + left - 1)) {
+					fwd();
+					break;
+				}
+				left--;
+			}
+
+			// fill up to the end of the run
+			long right = left;
+			fill(base + left);
+			while (right + 1 < dims[0]) {
+				fwd();
+				if (!isFillable(base + right + 1)) break;
+				fill(base + ++right);
+			}
+
+			// scan the neighboring lines
+			final long from = eightConnected ? Math.max(0, left - 1) : left;
+			final long to = eightConnected ? Math.min(dims[0] - 1, right + 1) : right;
+			for (final long[] offset : offsets) {
+				boolean inside = true;
+				for (int d = 1; d < n; d++) {
+					linePos[d] = pos[d] + offset[d];
+					if (linePos[d] < 0 || linePos[d] >= dims[d]) {
+						inside = false;
+						break;
+					}
+				}
+				if (!inside) continue;
+				linePos[0] = 0;
+				pushRuns(linePos, index(linePos), from, to);
+			}
+		}
+	}
+
+	private void push(final long index) {
+		if (size == queue.length) {
+			final long[] grown = new long[queue.length * 2];
+			for (int i = 0; i < size; i++) {
+				grown[i] = queue[(head + i) & (queue.length - 1)];
+			}
+			queue = grown;
+			head = 0;
+		}
+		queue[(head + size++) & (queue.length - 1)] = index;
+	}
+
+	private long pop() {
+		final long index = queue[head];
+		head = (head + 1) & (queue.length - 1);
+		size--;
+		return index;
+	}
+
+	private static class BorderMask<T extends BooleanType<T>> extends
+		ScanlineFill
+	{
+
+		private final RandomAccess<T> ra;
+
+		private final boolean value;
+
+		private final long[] mask;
+
+		public BorderMask(final RandomAccessibleInterval<T> source,
+			final boolean value, final StructuringElement structElement)
+		{
+			super(source, structElement);
+			ra = source.randomAccess();
+			this.value = value;
+			long count = 1;
+			for (int d = 0; d < source.numDimensions(); d++) {
+				count *= source.dimension(d);
+			}
+			mask = new long[(int) ((count + 63) >>> 6)];
+		}
+
+		@Override
+		protected void setPosition(final long[] position) {
+			ra.setPosition(position);
+		}
+
+		@Override
+		protected void fwd() {
+			ra.fwd(0);
+		}
+
+		@Override
+		protected void bck() {
+			ra.bck(0);
+		}
+
+		@Override
+		protected boolean isFillable(final long index) {
+			return !isSet(mask, index) && ra.get().get() == value;
+		}
+
+		@Override
+		protected void fill(final long index) {
+			mask[(int) (index >>> 6)] |= 1L << index;
+		}
+	}
+
+	private static List<long[]> offsets(final int n,
+		final boolean eightConnected)
+	{
+		final List<long[]> offsets = new ArrayList<>();
+		if (!eightConnected) {
+			for (int d = 1; d < n; d++) {
+				final long[] up = new long[n];
+				final long[] down = new long[n];
+				up[d] = 1;
+				down[d] = -1;
+				offsets.add(up);
+				offsets.add(down);
+			}
+			return offsets;
+		}
+		final long[] offset = new long[n];
+		for (int d = 1; d < n; d++) {
+			offset[d] = -1;
+		}
+		while (true) {
+			boolean zero = true;
+			for (int d = 1; d < n; d++) {
+				if (offset[d] != 0) zero = false;
+			}
+			if (!zero) offsets.add(offset.clone());
+			int d = 1;
+			while (d < n && offset[d] == 1) {
+				offset[d++] = -1;
+			}
+			if (d >= n) break;
+			offset[d]++;
+		}
+		return offsets;
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link Op} to calculate the {@code stats.summary} of an
+ * {@link IterableInterval} in a single pass.
+ * <p>
+ * The elements are split into blocks of a fixed size which are summarized in
+ * parallel; the partial summaries are merged in the order of the blocks, so
+ * the result depends neither on thread scheduling nor on how the chunker
+ * distributes the blocks.
+ * </p>
+ *
+ * @author agent
+ * @param <I> input type
+ */
+@Plugin(type = Ops.Stats.Summary.class, label = "Statistics: Summary",
+	priority = Priority.VERY_HIGH_PRIORITY)
+public class IISummary<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<IterableInterval<I>, StatsSummary> implements
+	Ops.Stats.Summary, Parallel
+{
+
+	/** Number of elements summarized into one partial summary. */
+	private static final int BLOCK_SIZE = 1 << 14;
+
+	@Override
+	public StatsSummary compute1(final IterableInterval<I> input) {
+		if (input.size() <= BLOCK_SIZE) {
+			final StatsSummary summary = new StatsSummary();
+			for (final I in : input) {
+				summary.add(in.getRealDouble());
+			}
+			return summary;
+		}
+
+		final long size = input.size();
+		final StatsSummary[] partials = new StatsSummary[(int) ((size - 1) /
+			BLOCK_SIZE + 1)];
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<I> cursor = input.cursor();
+				for (int i = 0; i < numSteps; i++) {
+					final int block = startIndex + i * stepSize;
+					final long start = (long) block * BLOCK_SIZE;
+					final long end = Math.min(start + BLOCK_SIZE, size);
+					final StatsSummary partial = new StatsSummary();
+					cursor.reset();
+					cursor.jumpFwd(start);
+					for (long j = start; j < end; j++) {
+						partial.add(cursor.next().getRealDouble());
+					}
+					partials[block] = partial;
+				}
+			}
+		}, partials.length);
+
+		final StatsSummary summary = new StatsSummary();
+		for (final StatsSummary partial : partials) {
+			summary.merge(partial);
+		}
+		return summary;
+	}
+
+}
@@ -0,0 +1,352 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+import java.util.Arrays;
+
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * Utility methods for selecting one or several quantiles of a sample without
+ * boxing or per-call allocations.
+ * <p>
+ * Samples are copied into a primitive buffer which is reused by all calls made
+ * from the same thread. Integer-valued samples whose value range is small
+ * compared to the sample size are selected by counting; everything else is
+ * selected by a median-of-three quickselect. Several quantiles of the same
+ * sample share one partitioning pass: each selection only recurses into the
+ * part of the buffer which still contains the remaining ranks.
+ * </p>
+ * <p>
+ * The {@code q}-quantile of {@code n} values is the value of rank
+ * {@code (int) (n * q)} (zero-based, clamped to {@code n - 1}), which is what
+ * {@link DefaultQuantile} has always computed.
+ * </p>
+ *
+ * @author agent
+ */
+public final class QuantileSelection {
+
+	/** Largest value range for which counting selection is used. */
+	private static final int MAX_COUNTING_RANGE = 1 << 16;
+
+	/** Largest buffer length which is kept for the next selection. */
+	private static final int MAX_RETAINED_LENGTH = 1 << 16;
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(
+		Scratch::new);
+
+	private QuantileSelection() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Computes the {@code quantile} of the given values.
+	 *
+	 * @param input the values; not modified
+	 * @param quantile the quantile, in {@code [0, 1]}
+	 * @return the quantile, or {@link Double#NaN} if {@code input} is empty
+	 */
+	public static double quantile(final Iterable<? extends RealType<?>> input,
+		final double quantile)
+	{
+		final Scratch scratch = SCRATCH.get();
+		scratch.quantile[0] = quantile;
+		select(scratch, input, scratch.quantile, scratch.result);
+		return scratch.result[0];
+	}
+
+	/**
+	 * Computes several quantiles of the given values in one pass.
+	 *
+	 * @param input the values; not modified
+	 * @param quantiles the quantiles, in {@code [0, 1]}, in any order
+	 * @return the values of the requested quantiles, in the order of
+	 *         {@code quantiles}
+	 */
+	public static double[] quantiles(final Iterable<? extends RealType<?>> input,
+		final double... quantiles)
+	{
+		final double[] result = new double[quantiles.length];
+		select(SCRATCH.get(), input, quantiles, result);
+		return result;
+	}
+
+	/**
+	 * Computes several quantiles of the first {@code n} entries of
+	 * {@code values} in one pass, partially reordering them in place.
+	 *
+	 * @param values the values; reordered
+	 * @param n the number of values to consider
+	 * @param quantiles the quantiles, in {@code [0, 1]}, in any order
+	 * @param result receives the values of the requested quantiles, in the
+	 *          order of {@code quantiles}
+	 */
+	public static void quantiles(final double[] values, final int n,
+		final double[] quantiles, final double[] result)
+	{
+		select(SCRATCH.get(), values, n, false, 0, 0, quantiles, result);
+	}
+
+	/**
+	 * Gets the zero-based rank of the {@code quantile} of {@code n} values.
+	 */
+	public static int rank(final int n, final double quantile) {
+		return Math.max(0, Math.min(n - 1, (int) (n * quantile)));
+	}
+
+	// -- Helper methods --
+
+	private static void select(final Scratch scratch,
+		final Iterable<? extends RealType<?>> input, final double[] quantiles,
+		final double[] result)
+	{
+		double[] values = scratch.values;
+		int n = 0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		boolean integer = true;
+		for (final RealType<?> t : input) {
+			if (n == 0) integer = t instanceof IntegerType;
+			if (n == values.length) values = scratch.growValues(n);
+			final double v = t.getRealDouble();
+			values[n++] = v;
+			if (v < min) min = v;
+			if (v > max) max = v;
+		}
+
+		final boolean counting = integer && n > 0 &&
+			max - min < MAX_COUNTING_RANGE && max - min <= 2.0 * n;
+		select(scratch, values, n, counting, min, max, quantiles, result);
+	}
+
+	private static void select(final Scratch scratch, final double[] values,
+		final int n, final boolean counting, final double min, final double max,
+		final double[] quantiles, final double[] result)
+	{
+		if (n == 0) {
+			Arrays.fill(result, 0, quantiles.length, Double.NaN);
+			return;
+		}
+
+		// collect the distinct ranks in ascending order
+		final int[] ranks = scratch.ranks(quantiles.length);
+		for (int i = 0; i < quantiles.length; i++) {
+			ranks[i] = rank(n, quantiles[i]);
+		}
+		Arrays.sort(ranks, 0, quantiles.length);
+		int count = 0;
+		for (int i = 0; i < quantiles.length; i++) {
+			if (count == 0 || ranks[i] != ranks[count - 1]) ranks[count++] =
+				ranks[i];
+		}
+
+		final double[] selected = scratch.selected(count);
+		if (counting) {
+			countingSelect(scratch, values, n, min, (int) (max - min) + 1, ranks,
+				count, selected);
+		}
+		else {
+			multiSelect(values, 0, n - 1, ranks, 0, count, selected);
+		}
+
+		for (int i = 0; i < quantiles.length; i++) {
+			result[i] = selected[Arrays.binarySearch(ranks, 0, count, rank(n,
+				quantiles[i]))];
+		}
+		scratch.trim();
+	}
+
+	/**
+	 * Selects the values of the given ascending ranks from a histogram of the
+	 * (integer) values.
+	 */
+	private static void countingSelect(final Scratch scratch,
+		final double[] values, final int n, final double min, final int range,
+		final int[] ranks, final int count, final double[] selected)
+	{
+		final int[] counts = scratch.counts(range);
+		for (int i = 0; i < n; i++) {
+			counts[(int) (values[i] - min)]++;
+		}
+
+		long cumulative = 0;
+		int r = 0;
+		for (int bin = 0; r < count; bin++) {
+			cumulative += counts[bin];
+			while (r < count && ranks[r] < cumulative) {
+				selected[r++] = min + bin;
+			}
+		}
+	}
+
+	/**
+	 * Selects the values of the distinct ascending ranks
+	 * {@code ranks[from..to)}, all of which lie in {@code [left, right]}.
+	 * Selecting the middle rank partitions the values around it, so the lower
+	 * and upper ranks can be selected from the respective halves only.
+	 */
+	private static void multiSelect(final double[] values, final int left,
+		final int right, final int[] ranks, final int from, final int to,
+		final double[] selected)
+	{
+		if (from >= to) return;
+		final int mid = (from + to) >>> 1;
+		final int k = ranks[mid];
+		selected[mid] = select(values, left, right, k);
+		multiSelect(values, left, k - 1, ranks, from, mid, selected);
+		multiSelect(values, k + 1, right, ranks, mid + 1, to, selected);
+	}
+
+	/**
+	 * Returns the value of the kth lowest element. Do note that for nth lowest
+	 * element, k = n - 1. On return, the values in {@code [left, k)} are not
+	 * greater and those in {@code (k, right]} not less than the returned value.
+	 */
+	private static double select(final double[] array, final int inLeft,
+		final int inRight, final int k)
+	{
+		int left = inLeft;
+		int right = inRight;
+
+		while (true) {
+
+			if (right <= left + 1) {
+
+				if (right == left + 1 && array[right] < array[left]) {
+					swap(array, left, right);
+				}
+
+				return array[k];
+
+			}
+			final int middle = (left + right) >>> 1;
+			swap(array, middle, left + 1);
+
+			if (array[left] > array[right]) {
+				swap(array, left, right);
+			}
+
+			if (array[left + 1] > array[right]) {
+				swap(array, left + 1, right);
+			}
+
+			if (array[left] > array[left + 1]) {
+				swap(array, left, left + 1);
+			}
+
+			int i = left + 1;
+			int j = right;
+			final double pivot = array[left + 1];
+
+			while (true) {
+				do
+					++i;
+				while (array[i] < pivot);
+				do
+					--j;
+				while (array[j] > pivot);
+
+				if (j < i) {
+					break;
+				}
+
+				swap(array, i, j);
+			}
+
+			array[left + 1] = array[j];
+			array[j] = pivot;
+
+			if (j >= k) {
+				right = j - 1;
+			}
+
+			if (j <= k) {
+				left = i;
+			}
+		}
+	}
+
+	/** Helper method for swapping array entries */
+	private static void swap(final double[] array, final int a, final int b) {
+		final double temp = array[a];
+		array[a] = array[b];
+		array[b] = temp;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Per-thread buffers, grown on demand. Buffers longer than
+	 * {@link #MAX_RETAINED_LENGTH} are dropped after each selection, so that a
+	 * single large input does not pin its copy to the thread.
+	 */
+	private static final class Scratch {
+
+		private final double[] quantile = new double[1];
+		private final double[] result = new double[1];
+		private double[] values = new double[64];
+		private double[] selected = new double[8];
+		private int[] ranks = new int[8];
+		private int[] counts = new int[256];
+
+		private double[] growValues(final int size) {
+			values = Arrays.copyOf(values, Math.max(2 * size, 64));
+			return values;
+		}
+
+		private int[] ranks(final int size) {
+			if (ranks.length < size) ranks = new int[size];
+			return ranks;
+		}
+
+		private double[] selected(final int size) {
+			if (selected.length < size) selected = new double[size];
+			return selected;
+		}
+
+		private int[] counts(final int size) {
+			if (counts.length < size) counts = new int[size];
+			else Arrays.fill(counts, 0, size, 0);
+			return counts;
+		}
+
+		private void trim() {
+			if (values.length > MAX_RETAINED_LENGTH) values = new double[64];
+			if (selected.length > MAX_RETAINED_LENGTH) selected = new double[8];
+			if (ranks.length > MAX_RETAINED_LENGTH) ranks = new int[8];
+		}
+	}
+
+}
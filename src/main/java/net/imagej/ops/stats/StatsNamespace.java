@@ -72,6 +72,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.GeometricMean.class)
+	public <O extends RealType<O>> O geometricMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.GeometricMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.GeometricMean.class)
+	public <O extends RealType<O>> O geometricMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.GeometricMean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.IterableHarmonicMean.class,
 		net.imagej.ops.stats.DefaultHarmonicMean.class })
 	public <T extends RealType<T>, O extends RealType<O>> O harmonicMean(
@@ -92,6 +108,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.HarmonicMean.class)
+	public <O extends RealType<O>> O harmonicMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.HarmonicMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.HarmonicMean.class)
+	public <O extends RealType<O>> O harmonicMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.HarmonicMean.class, out, in);
+		return result;
+	}
+
 	@SuppressWarnings("rawtypes")
 	@OpMethod(op = net.imagej.ops.stats.IntegralMean.class)
 	public DoubleType integralMean(final DoubleType out,
@@ -148,6 +180,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Kurtosis.class)
+	public <O extends RealType<O>> O kurtosis(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Kurtosis.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Kurtosis.class)
+	public <O extends RealType<O>> O kurtosis(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Kurtosis.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.IterableMax.class)
 	public <T extends RealType<T>, O extends RealType<O>> O max(
 		final Iterable<T> in)
@@ -164,6 +212,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Max.class)
+	public <O extends RealType<O>> O max(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Max.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Max.class)
+	public <O extends RealType<O>> O max(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Max.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.IterableMean.class,
 		net.imagej.ops.stats.DefaultMean.class })
 	public <T extends RealType<T>, O extends RealType<O>> O mean(
@@ -183,6 +247,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Mean.class)
+	public <O extends RealType<O>> O mean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Mean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Mean.class)
+	public <O extends RealType<O>> O mean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Mean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultMedian.class)
 	public <T extends RealType<T>, O extends RealType<O>> O median(
 		final Iterable<T> in)
@@ -218,6 +298,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Min.class)
+	public <O extends RealType<O>> O min(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Min.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Min.class)
+	public <O extends RealType<O>> O min(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Min.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultMinMax.class)
 	public <T extends RealType<T>> Pair<T,T> minMax(final Iterable<T> in) {
 		final Pair<T,T> result =
@@ -244,6 +340,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment1AboutMean.class)
+	public <O extends RealType<O>> O moment1AboutMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment1AboutMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment1AboutMean.class)
+	public <O extends RealType<O>> O moment1AboutMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment1AboutMean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultMoment2AboutMean.class)
 	public <T extends RealType<T>, O extends RealType<O>> O moment2AboutMean(
 		final Iterable<T> in)
@@ -263,6 +375,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment2AboutMean.class)
+	public <O extends RealType<O>> O moment2AboutMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment2AboutMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment2AboutMean.class)
+	public <O extends RealType<O>> O moment2AboutMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment2AboutMean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultMoment3AboutMean.class)
 	public <T extends RealType<T>, O extends RealType<O>> O moment3AboutMean(
 		final Iterable<T> in)
@@ -282,6 +410,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment3AboutMean.class)
+	public <O extends RealType<O>> O moment3AboutMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment3AboutMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment3AboutMean.class)
+	public <O extends RealType<O>> O moment3AboutMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment3AboutMean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultMoment4AboutMean.class)
 	public <T extends RealType<T>, O extends RealType<O>> O moment4AboutMean(
 		final Iterable<T> in)
@@ -301,6 +445,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment4AboutMean.class)
+	public <O extends RealType<O>> O moment4AboutMean(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment4AboutMean.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Moment4AboutMean.class)
+	public <O extends RealType<O>> O moment4AboutMean(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Moment4AboutMean.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultPercentile.class)
 	public <T extends RealType<T>, O extends RealType<O>> O percentile(
 		final Iterable<T> in, final double percent)
@@ -368,6 +528,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Size.class)
+	public <O extends RealType<O>> O size(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Size.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Size.class)
+	public <O extends RealType<O>> O size(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Size.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultSkewness.class)
 	public <T extends RealType<T>, O extends RealType<O>> O skewness(
 		final Iterable<T> in)
@@ -386,6 +562,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Skewness.class)
+	public <O extends RealType<O>> O skewness(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Skewness.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Skewness.class)
+	public <O extends RealType<O>> O skewness(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Skewness.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.IterableStandardDeviation.class,
 		net.imagej.ops.stats.DefaultStandardDeviation.class })
 	public <T extends RealType<T>, O extends RealType<O>> O stdDev(
@@ -405,6 +597,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.StandardDeviation.class)
+	public <O extends RealType<O>> O stdDev(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.StdDev.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.StandardDeviation.class)
+	public <O extends RealType<O>> O stdDev(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.StdDev.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultSum.class)
 	public <T extends RealType<T>, O extends RealType<O>> O sum(
 		final Iterable<T> in)
@@ -422,6 +630,39 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Sum.class)
+	public <O extends RealType<O>> O sum(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Sum.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Sum.class)
+	public <O extends RealType<O>> O sum(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Sum.class, out, in);
+		return result;
+	}
+
+
+	@OpMethod(op = net.imagej.ops.stats.IISummary.class)
+	public <T extends RealType<T>> StatsSummary summary(
+		final IterableInterval<T> in)
+	{
+		final StatsSummary result =
+			(StatsSummary) ops().run(net.imagej.ops.Ops.Stats.Summary.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.DefaultSummary.class)
+	public <T extends RealType<T>> StatsSummary summary(final Iterable<T> in) {
+		final StatsSummary result =
+			(StatsSummary) ops().run(net.imagej.ops.Ops.Stats.Summary.class, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultSumOfInverses.class)
 	public <T extends RealType<T>, O extends RealType<O>> O sumOfInverses(
 		final Iterable<T> in)
@@ -440,6 +681,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfInverses.class)
+	public <O extends RealType<O>> O sumOfInverses(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfInverses.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfInverses.class)
+	public <O extends RealType<O>> O sumOfInverses(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfInverses.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultSumOfLogs.class)
 	public <T extends RealType<T>, O extends RealType<O>> O sumOfLogs(
 		final Iterable<T> in)
@@ -458,6 +715,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfLogs.class)
+	public <O extends RealType<O>> O sumOfLogs(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfLogs.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfLogs.class)
+	public <O extends RealType<O>> O sumOfLogs(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfLogs.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.stats.DefaultSumOfSquares.class)
 	public <T extends RealType<T>, O extends RealType<O>> O sumOfSquares(
 		final Iterable<T> in)
@@ -476,6 +749,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfSquares.class)
+	public <O extends RealType<O>> O sumOfSquares(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfSquares.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.SumOfSquares.class)
+	public <O extends RealType<O>> O sumOfSquares(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.SumOfSquares.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.DefaultVariance.class,
 		net.imagej.ops.stats.IterableVariance.class })
 	public <T extends RealType<T>, O extends RealType<O>> O variance(
@@ -495,6 +784,22 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Variance.class)
+	public <O extends RealType<O>> O variance(final StatsSummary in) {
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Variance.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.SummaryStats.Variance.class)
+	public <O extends RealType<O>> O variance(final O out,
+		final StatsSummary in)
+	{
+		final O result =
+			(O) ops().run(net.imagej.ops.Ops.Stats.Variance.class, out, in);
+		return result;
+	}
+
 	// -- Named methods --
 	@Override
 	public String getName() {
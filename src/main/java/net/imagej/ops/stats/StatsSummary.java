@@ -0,0 +1,252 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+/**
+ * Accumulator of the descriptive statistics of a sample of real values,
+ * computed in a single pass.
+ * <p>
+ * The central moments are updated incrementally after Welford and Terriberry,
+ * which is numerically stable also for samples with a large mean. Partial
+ * summaries of disjoint parts of a sample can be combined with
+ * {@link #merge(StatsSummary)}, so a sample may be accumulated in parallel.
+ * </p>
+ * <p>
+ * The derived statistics follow the definitions of the corresponding ops of
+ * the {@code stats} namespace: {@link #getVariance()} is the sample variance,
+ * whereas {@link #getMoment2AboutMean()} and the higher moments are
+ * normalized by the sample size.
+ * </p>
+ *
+ * @author agent
+ * @see DefaultSummary
+ * @see IISummary
+ */
+public final class StatsSummary {
+
+	private long n;
+
+	private double mean;
+	private double m2;
+	private double m3;
+	private double m4;
+
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	private double sum;
+	private double sumOfLogs;
+	private double sumOfInverses;
+	private double sumOfSquares;
+
+	/** Adds the given value to the sample. */
+	public void add(final double x) {
+		final long n1 = n++;
+		final double delta = x - mean;
+		final double deltaN = delta / n;
+		final double deltaN2 = deltaN * deltaN;
+		final double term1 = delta * deltaN * n1;
+
+		mean += deltaN;
+		m4 += term1 * deltaN2 * ((double) n * n - 3 * n + 3) + 6 * deltaN2 * m2 -
+			4 * deltaN * m3;
+		m3 += term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+		m2 += term1;
+
+		if (x < min) min = x;
+		if (x > max) max = x;
+
+		sum += x;
+		sumOfLogs += Math.log(x);
+		sumOfInverses += 1 / x;
+		sumOfSquares += x * x;
+	}
+
+	/**
+	 * Adds all values of another summary to this one, as if they had been added
+	 * one by one.
+	 */
+	public void merge(final StatsSummary other) {
+		if (other.n == 0) return;
+		if (n == 0) {
+			set(other);
+			return;
+		}
+
+		final double na = n;
+		final double nb = other.n;
+		final double nn = na + nb;
+		final double delta = other.mean - mean;
+		final double delta2 = delta * delta;
+
+		final double mergedMean = mean + delta * nb / nn;
+		final double mergedM2 = m2 + other.m2 + delta2 * na * nb / nn;
+		final double mergedM3 = m3 + other.m3 + delta2 * delta * na * nb *
+			(na - nb) / (nn * nn) + 3 * delta * (na * other.m2 - nb * m2) / nn;
+		final double mergedM4 = m4 + other.m4 + delta2 * delta2 * na * nb * (na *
+			na - na * nb + nb * nb) / (nn * nn * nn) + 6 * delta2 * (na * na *
+				other.m2 + nb * nb * m2) / (nn * nn) + 4 * delta * (na * other.m3 -
+					nb * m3) / nn;
+
+		n += other.n;
+		mean = mergedMean;
+		m2 = mergedM2;
+		m3 = mergedM3;
+		m4 = mergedM4;
+
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+
+		sum += other.sum;
+		sumOfLogs += other.sumOfLogs;
+		sumOfInverses += other.sumOfInverses;
+		sumOfSquares += other.sumOfSquares;
+	}
+
+	// -- Getters --
+
+	/** @return the number of values */
+	public long getSize() {
+		return n;
+	}
+
+	/** @return the arithmetic mean, or {@link Double#NaN} if empty */
+	public double getMean() {
+		return n == 0 ? Double.NaN : mean;
+	}
+
+	/** @return the sample variance, or {@link Double#NaN} if {@code n < 2} */
+	public double getVariance() {
+		return n < 2 ? Double.NaN : m2 / (n - 1);
+	}
+
+	/** @return the square root of the sample variance */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * @return the third moment about the mean divided by the cubed standard
+	 *         deviation, or {@link Double#NaN} if the standard deviation is zero
+	 */
+	public double getSkewness() {
+		final double std = getStandardDeviation();
+		return std != 0 ? getMoment3AboutMean() / (std * std * std) : Double.NaN;
+	}
+
+	/**
+	 * @return the fourth moment about the mean divided by the fourth power of
+	 *         the standard deviation, or {@link Double#NaN} if the standard
+	 *         deviation is zero
+	 */
+	public double getKurtosis() {
+		final double std = getStandardDeviation();
+		return std != 0 ? getMoment4AboutMean() / (std * std * std * std)
+			: Double.NaN;
+	}
+
+	/** @return the first moment about the mean, which is zero by definition */
+	public double getMoment1AboutMean() {
+		return n == 0 ? Double.NaN : 0;
+	}
+
+	/** @return the second moment about the mean */
+	public double getMoment2AboutMean() {
+		return m2 / n;
+	}
+
+	/** @return the third moment about the mean */
+	public double getMoment3AboutMean() {
+		return m3 / n;
+	}
+
+	/** @return the fourth moment about the mean */
+	public double getMoment4AboutMean() {
+		return m4 / n;
+	}
+
+	/** @return the smallest value, or {@link Double#POSITIVE_INFINITY} */
+	public double getMin() {
+		return min;
+	}
+
+	/** @return the largest value, or {@link Double#NEGATIVE_INFINITY} */
+	public double getMax() {
+		return max;
+	}
+
+	/** @return the sum of the values */
+	public double getSum() {
+		return sum;
+	}
+
+	/** @return the sum of the natural logarithms of the values */
+	public double getSumOfLogs() {
+		return sumOfLogs;
+	}
+
+	/** @return the sum of the reciprocals of the values */
+	public double getSumOfInverses() {
+		return sumOfInverses;
+	}
+
+	/** @return the sum of the squared values */
+	public double getSumOfSquares() {
+		return sumOfSquares;
+	}
+
+	/** @return the geometric mean, or zero if empty */
+	public double getGeometricMean() {
+		return n != 0 ? Math.exp(sumOfLogs / n) : 0;
+	}
+
+	/** @return the harmonic mean, or zero if the sum of inverses is zero */
+	public double getHarmonicMean() {
+		return sumOfInverses != 0 ? n / sumOfInverses : 0;
+	}
+
+	// -- Helper methods --
+
+	private void set(final StatsSummary other) {
+		n = other.n;
+		mean = other.mean;
+		m2 = other.m2;
+		m3 = other.m3;
+		m4 = other.m4;
+		min = other.min;
+		max = other.max;
+		sum = other.sum;
+		sumOfLogs = other.sumOfLogs;
+		sumOfInverses = other.sumOfInverses;
+		sumOfSquares = other.sumOfSquares;
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+import net.imagej.ops.Ops;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Plugin;
+
+/**
+ * Ops of the {@code stats} namespace which read a precomputed
+ * {@link StatsSummary} instead of iterating over the values again.
+ * <p>
+ * Computing several statistics of the same values this way touches the values
+ * only once, in {@code stats.summary}:
+ * </p>
+ *
+ * <pre>
+ * StatsSummary summary = ops.stats().summary(img);
+ * DoubleType mean = ops.stats().mean(summary);
+ * DoubleType stdDev = ops.stats().stdDev(summary);
+ * </pre>
+ *
+ * @author agent
+ */
+public final class SummaryStats {
+
+	private SummaryStats() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Reads the geometric mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.GeometricMean.class)
+	public static class GeometricMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.GeometricMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getGeometricMean());
+		}
+	}
+
+	/** Reads the harmonic mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.HarmonicMean.class)
+	public static class HarmonicMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.HarmonicMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getHarmonicMean());
+		}
+	}
+
+	/** Reads the kurtosis from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Kurtosis.class)
+	public static class Kurtosis<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Kurtosis
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getKurtosis());
+		}
+	}
+
+	/** Reads the maximum from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Max.class)
+	public static class Max<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Max
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMax());
+		}
+	}
+
+	/** Reads the arithmetic mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Mean.class)
+	public static class Mean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Mean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMean());
+		}
+	}
+
+	/** Reads the minimum from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Min.class)
+	public static class Min<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Min
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMin());
+		}
+	}
+
+	/** Reads the first moment about the mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Moment1AboutMean.class)
+	public static class Moment1AboutMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Moment1AboutMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMoment1AboutMean());
+		}
+	}
+
+	/** Reads the second moment about the mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Moment2AboutMean.class)
+	public static class Moment2AboutMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Moment2AboutMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMoment2AboutMean());
+		}
+	}
+
+	/** Reads the third moment about the mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Moment3AboutMean.class)
+	public static class Moment3AboutMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Moment3AboutMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMoment3AboutMean());
+		}
+	}
+
+	/** Reads the fourth moment about the mean from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Moment4AboutMean.class)
+	public static class Moment4AboutMean<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Moment4AboutMean
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getMoment4AboutMean());
+		}
+	}
+
+	/** Reads the number of values from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Size.class)
+	public static class Size<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Size
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSize());
+		}
+	}
+
+	/** Reads the skewness from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Skewness.class)
+	public static class Skewness<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Skewness
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSkewness());
+		}
+	}
+
+	/** Reads the standard deviation from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.StdDev.class)
+	public static class StandardDeviation<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.StdDev
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getStandardDeviation());
+		}
+	}
+
+	/** Reads the sum from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Sum.class)
+	public static class Sum<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Sum
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSum());
+		}
+	}
+
+	/** Reads the sum of the inverses from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.SumOfInverses.class)
+	public static class SumOfInverses<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.SumOfInverses
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSumOfInverses());
+		}
+	}
+
+	/** Reads the sum of the logarithms from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.SumOfLogs.class)
+	public static class SumOfLogs<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.SumOfLogs
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSumOfLogs());
+		}
+	}
+
+	/** Reads the sum of the squares from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.SumOfSquares.class)
+	public static class SumOfSquares<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.SumOfSquares
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getSumOfSquares());
+		}
+	}
+
+	/** Reads the sample variance from a {@link StatsSummary}. */
+	@Plugin(type = Ops.Stats.Variance.class)
+	public static class Variance<O extends RealType<O>> extends
+		AbstractStatsOp<StatsSummary, O> implements Ops.Stats.Variance
+	{
+
+		@Override
+		public void compute1(final StatsSummary input, final O output) {
+			output.setReal(input.getVariance());
+		}
+	}
+
+}
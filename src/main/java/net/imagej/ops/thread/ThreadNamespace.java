@@ -33,7 +33,11 @@ package net.imagej.ops.thread;
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
+import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.type.NativeType;
 
 import org.scijava.plugin.Plugin;
 
@@ -49,12 +53,82 @@ public class ThreadNamespace extends AbstractNamespace {
 
 	/** Executes the "chunker" operation on the given arguments. */
 	@OpMethod(ops = { net.imagej.ops.thread.chunker.DefaultChunker.class,
-		net.imagej.ops.thread.chunker.ChunkerInterleaved.class })
+		net.imagej.ops.thread.chunker.ChunkerInterleaved.class,
+		net.imagej.ops.thread.chunker.ChunkerForkJoin.class })
 	public void chunker(final Chunk chunkable, final long numberOfElements) {
 		ops().run(net.imagej.ops.Ops.Thread.Chunker.class, chunkable,
 			numberOfElements);
 	}
 
+	/** Executes the "chunker" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.thread.chunker.ChunkerForkJoin.class)
+	public void chunker(final Chunk chunkable, final long numberOfElements,
+		final int minGrainSize)
+	{
+		ops().run(net.imagej.ops.Ops.Thread.Chunker.class, chunkable,
+			numberOfElements, minGrainSize);
+	}
+
+	/** Executes the "tiled" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.thread.tiled.DefaultTiled.class)
+	public <I, O extends NativeType<O>> RandomAccessibleInterval<O> tiled(
+		final RandomAccessibleInterval<O> out,
+		final RandomAccessibleInterval<I> in,
+		final UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> op)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.Ops.Thread.Tiled.class, out, in, op);
+		return result;
+	}
+
+	/** Executes the "tiled" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.thread.tiled.DefaultTiled.class)
+	public <I, O extends NativeType<O>> RandomAccessibleInterval<O> tiled(
+		final RandomAccessibleInterval<O> out,
+		final RandomAccessibleInterval<I> in,
+		final UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> op,
+		final long... halo)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.Ops.Thread.Tiled.class, out, in, op, halo);
+		return result;
+	}
+
+	/** Executes the "tiled" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.thread.tiled.DefaultTiled.class)
+	public <I, O extends NativeType<O>> RandomAccessibleInterval<O> tiled(
+		final RandomAccessibleInterval<O> out,
+		final RandomAccessibleInterval<I> in,
+		final UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> op,
+		final long[] halo, final int... blockSize)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.Ops.Thread.Tiled.class, out, in, op, halo, blockSize);
+		return result;
+	}
+
+	/** Executes the "tiled" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.thread.tiled.DefaultTiled.class)
+	public <I, O extends NativeType<O>> RandomAccessibleInterval<O> tiled(
+		final RandomAccessibleInterval<O> out,
+		final RandomAccessibleInterval<I> in,
+		final UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> op,
+		final long[] halo, final int[] blockSize, final int maxInFlight)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.Ops.Thread.Tiled.class, out, in, op, halo, blockSize,
+				maxInFlight);
+		return result;
+	}
+
 	// -- Named methods --
 
 	@Override
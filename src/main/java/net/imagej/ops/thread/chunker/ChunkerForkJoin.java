@@ -0,0 +1,154 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import net.imagej.ops.Ops;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Work-stealing implementation of a {@link ChunkerOp}. The list of elements is
+ * split recursively into halves which are processed by the
+ * {@link ForkJoinPool} of the context, see {@link ForkJoinPoolService}. Idle worker threads steal pending halves from busy
+ * ones, so chunks with varying per-element cost (e.g. neighborhoods near the
+ * image border, sparse masks) do not leave cores waiting for the slowest
+ * chunk.
+ * <p>
+ * The element range is always split down to a coarse grain of
+ * {@value #OVERSPLIT} chunks per worker. Below that, a range is only split
+ * further while few tasks are queued (i.e. while other workers are likely to
+ * be idle), but never below the minimal grain size. As with
+ * {@link DefaultChunker}, the stepSize is one, i.e. each chunk consists of
+ * consecutive elements.
+ * </p>
+ * 
+ * @author agent
+ */
+@Plugin(type = Ops.Thread.Chunker.class, priority = Priority.HIGH_PRIORITY)
+public class ChunkerForkJoin extends AbstractChunker {
+
+	/** Number of coarse chunks created per worker thread. */
+	private static final int OVERSPLIT = 4;
+
+	/** Maximal number of chunks created per worker thread. */
+	private static final int MAX_SPLIT = 16;
+
+	/** Number of queued tasks below which a fine-grained split is allowed. */
+	private static final int SURPLUS_THRESHOLD = 2;
+
+	private static final int STEP_SIZE = 1;
+
+	/**
+	 * Minimal number of elements processed by a single chunk. Larger values
+	 * reduce the scheduling overhead, smaller values improve load balancing. If
+	 * not positive, the grain is derived from the number of elements such that
+	 * at most {@value #MAX_SPLIT} chunks per worker thread are created.
+	 */
+	@Parameter(required = false)
+	private int minGrainSize;
+
+	@Parameter(required = false)
+	private ForkJoinPoolService forkJoinPools;
+
+	@Override
+	public void run() {
+		if (numberOfElements <= 0) return;
+
+		// NB: Without the service, the pool of the JVM is used.
+		final ForkJoinPool pool = forkJoinPools == null ? ForkJoinPool
+			.commonPool() : forkJoinPools.getPool();
+		final int parallelism = pool.getParallelism();
+		final int grain = minGrainSize > 0 ? minGrainSize : (int) Math.max(1,
+			numberOfElements / (parallelism * MAX_SPLIT));
+		final int coarseGrain = (int) Math.max(grain, numberOfElements /
+			(parallelism * OVERSPLIT));
+
+		final ChunkTask task = new ChunkTask(0, (int) numberOfElements, grain,
+			coarseGrain);
+
+		// NB: Tasks forked from within the pool (e.g. nested chunkers) are
+		// executed by the current worker instead of blocking it.
+		if (ForkJoinTask.getPool() == pool) task.invoke();
+		else pool.invoke(task);
+	}
+
+	// -- Helper classes --
+
+	/** Recursively splits the range [start, end) of elements. */
+	private class ChunkTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int start;
+		private final int end;
+		private final int grain;
+		private final int coarseGrain;
+
+		public ChunkTask(final int start, final int end, final int grain,
+			final int coarseGrain)
+		{
+			this.start = start;
+			this.end = end;
+			this.grain = grain;
+			this.coarseGrain = coarseGrain;
+		}
+
+		@Override
+		protected void compute() {
+			if (isCanceled()) return;
+
+			final int length = end - start;
+			if (length >= 2 * grain && (length > coarseGrain ||
+				getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD))
+			{
+				final int mid = start + length / 2;
+				invokeAll(new ChunkTask(start, mid, grain, coarseGrain),
+					new ChunkTask(mid, end, grain, coarseGrain));
+				return;
+			}
+
+			try {
+				chunkable.execute(start, STEP_SIZE, length);
+			}
+			catch (final RuntimeException exc) {
+				ChunkerForkJoin.this.cancel(exc.toString());
+				throw exc;
+			}
+		}
+	}
+
+}
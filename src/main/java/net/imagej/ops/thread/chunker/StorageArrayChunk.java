@@ -0,0 +1,156 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import java.lang.reflect.Array;
+
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.util.Intervals;
+
+/**
+ * A {@link Chunk} which enumerates the entries of the primitive arrays backing
+ * a group of {@link ArrayImg}s or {@link PlanarImg}s of equal layout.
+ * <p>
+ * The global problem enumeration runs over all entries of all planes (an
+ * {@link ArrayImg} having a single plane). Each chunk is split at plane
+ * borders and handed to {@link #execute(Object[], int, int)} as contiguous
+ * index ranges, so that implementations can loop directly over the storage
+ * arrays of all images at once.
+ * </p>
+ * 
+ * @author agent
+ * @see #isCompatible(Img...)
+ */
+public abstract class StorageArrayChunk implements Chunk {
+
+	/** Storage arrays, indexed by plane and then by image. */
+	private final Object[][] planes;
+
+	private final int planeLength;
+
+	/**
+	 * @param imgs images whose storage is enumerated; they must be
+	 *          {@link #isCompatible(Img...) compatible}
+	 */
+	public StorageArrayChunk(final Img<?>... imgs) {
+		final Object[][] storage = new Object[imgs.length][];
+		for (int i = 0; i < imgs.length; i++) {
+			storage[i] = storage(imgs[i]);
+		}
+		planes = new Object[storage[0].length][imgs.length];
+		int length = Integer.MAX_VALUE;
+		for (int i = 0; i < imgs.length; i++) {
+			for (int p = 0; p < planes.length; p++) {
+				planes[p][i] = storage[i][p];
+			}
+			// NB: Wrapped arrays may be longer than the image needs.
+			length = Math.min(length, Array.getLength(storage[i][0]));
+		}
+		planeLength = length;
+	}
+
+	/** Gets the total number of storage entries to enumerate. */
+	public int size() {
+		return planeLength * planes.length;
+	}
+
+	@Override
+	public void execute(final int startIndex, final int stepSize,
+		final int numSteps)
+	{
+		if (stepSize != 1) {
+			for (int i = startIndex, j = 0; j < numSteps; i += stepSize, j++) {
+				final int offset = i % planeLength;
+				execute(planes[i / planeLength], offset, offset + 1);
+			}
+			return;
+		}
+		int index = startIndex;
+		final int end = startIndex + numSteps;
+		while (index < end) {
+			final int offset = index % planeLength;
+			final int to = Math.min(planeLength, offset + end - index);
+			execute(planes[index / planeLength], offset, to);
+			index += to - offset;
+		}
+	}
+
+	/**
+	 * Processes the entries {@code from} (inclusive) to {@code to} (exclusive)
+	 * of one plane.
+	 * 
+	 * @param arrays the storage arrays of the plane, one per image, in the order
+	 *          the images were given to the constructor
+	 * @param from first index to process
+	 * @param to index after the last one to process
+	 */
+	protected abstract void execute(Object[] arrays, int from, int to);
+
+	// -- Utility methods --
+
+	/**
+	 * Checks whether the given images can be enumerated together: they must
+	 * either all be {@link ArrayImg}s or all be {@link PlanarImg}s, have equal
+	 * dimensions, and not have more elements than can be addressed by an
+	 * {@code int}.
+	 */
+	public static boolean isCompatible(final Img<?>... imgs) {
+		final boolean planar = imgs[0] instanceof PlanarImg;
+		if (!planar && !(imgs[0] instanceof ArrayImg)) return false;
+		if (Intervals.numElements(imgs[0]) > Integer.MAX_VALUE) return false;
+		for (int i = 1; i < imgs.length; i++) {
+			if (planar ? !(imgs[i] instanceof PlanarImg)
+				: !(imgs[i] instanceof ArrayImg)) return false;
+			if (!Intervals.equalDimensions(imgs[0], imgs[i])) return false;
+		}
+		return true;
+	}
+
+	// -- Helper methods --
+
+	private static Object[] storage(final Img<?> img) {
+		if (img instanceof ArrayImg) {
+			final Object access = ((ArrayImg<?, ?>) img).update(null);
+			return new Object[] { ((ArrayDataAccess<?>) access)
+				.getCurrentStorageArray() };
+		}
+		final PlanarImg<?, ?> planar = (PlanarImg<?, ?>) img;
+		final Object[] storage = new Object[planar.numSlices()];
+		for (int p = 0; p < storage.length; p++) {
+			storage[p] = planar.getPlane(p).getCurrentStorageArray();
+		}
+		return storage;
+	}
+
+}
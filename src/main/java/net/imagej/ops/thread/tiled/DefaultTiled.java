@@ -0,0 +1,273 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.tiled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imglib2.Cursor;
+import net.imglib2.FinalDimensions;
+import net.imglib2.FinalInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.type.NativeType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Applies a {@link UnaryComputerOp} block by block to an image which is too
+ * large to be processed (or duplicated) as a whole.
+ * <p>
+ * The input is split into a grid of blocks. Each block is grown by the halo
+ * (clipped to the input) and copied through the op into a block-sized buffer;
+ * only the core of the buffer, without the halo, is written to the output. The
+ * results are thus identical to processing the whole image, as long as the op
+ * reads no further than the halo from each output pixel and handles the image
+ * border by itself (e.g. via an out of bounds strategy).
+ * </p>
+ * <p>
+ * Blocks are processed by a bounded number of worker threads, each holding
+ * one block buffer at a time, so the memory in flight is bounded by
+ * {@code maxInFlight} blocks including their halo.
+ * </p>
+ * <p>
+ * The output must be given. To process images larger than the memory, the
+ * caller has to supply an output which is itself backed by disk, e.g. a
+ * cached cell image whose cells coincide with the blocks.
+ * </p>
+ * 
+ * @author agent
+ * @param <I> element type of the input
+ * @param <O> element type of the output
+ */
+@Plugin(type = Ops.Thread.Tiled.class)
+public class DefaultTiled<I, O extends NativeType<O>> extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<I>, RandomAccessibleInterval<O>>
+	implements Ops.Thread.Tiled, Contingent
+{
+
+	/** Number of elements of a block, if no block size is given. */
+	private static final long DEFAULT_BLOCK_ELEMENTS = 1 << 20;
+
+	@Parameter
+	private ThreadService threadService;
+
+	/**
+	 * The op to apply to each block. The op is given the (zero-min) block
+	 * including its halo as input, and a buffer of the same size as output.
+	 */
+	@Parameter
+	private UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> op;
+
+	/**
+	 * Number of pixels by which each block is grown in each dimension. A single
+	 * value is used for all dimensions. Defaults to zero.
+	 */
+	@Parameter(required = false)
+	private long[] halo;
+
+	/**
+	 * Size of the blocks (without halo) in each dimension. A single value is
+	 * used for all dimensions. By default, blocks are cubes of about
+	 * {@value #DEFAULT_BLOCK_ELEMENTS} elements.
+	 */
+	@Parameter(required = false)
+	private int[] blockSize;
+
+	/**
+	 * Maximal number of blocks processed at the same time. Defaults to the
+	 * number of available processors.
+	 */
+	@Parameter(required = false, min = "0")
+	private int maxInFlight;
+
+	@Override
+	public boolean conforms() {
+		final int n = in().numDimensions();
+		if (halo != null && halo.length != 1 && halo.length != n) return false;
+		if (blockSize != null && blockSize.length != 1 && blockSize.length != n)
+			return false;
+		return out() != null && Intervals.equalDimensions(in(), out());
+	}
+
+	@Override
+	public void compute1(final RandomAccessibleInterval<I> input,
+		final RandomAccessibleInterval<O> output)
+	{
+		final int n = input.numDimensions();
+		final RandomAccessibleInterval<I> in = Views.zeroMin(input);
+		final RandomAccessibleInterval<O> out = Views.zeroMin(output);
+		final O type = Util.getTypeFromInterval(out);
+
+		final long[] dims = Intervals.dimensionsAsLongArray(in);
+		final int[] block = blockSize(in);
+		final long[] border = new long[n];
+		final long[] grid = new long[n];
+		long numBlocks = 1;
+		for (int d = 0; d < n; d++) {
+			border[d] = halo == null ? 0 : halo[halo.length == 1 ? 0 : d];
+			grid[d] = (dims[d] + block[d] - 1) / block[d];
+			numBlocks *= grid[d];
+		}
+		final long blockCount = numBlocks;
+
+		final int workers = (int) Math.min(blockCount, maxInFlight > 0
+			? maxInFlight : Runtime.getRuntime().availableProcessors());
+
+		final AtomicLong nextBlock = new AtomicLong();
+		final List<Callable<Void>> tasks = new ArrayList<>(workers);
+		for (int w = 0; w < workers; w++) {
+			tasks.add(new Callable<Void>() {
+
+				@Override
+				public Void call() {
+					final UnaryComputerOp<RandomAccessibleInterval<I>, ? super Img<O>> blockOp =
+						op.getIndependentInstance();
+					Img<O> buffer = null;
+
+					final long[] coreMin = new long[n];
+					final long[] coreMax = new long[n];
+					final long[] min = new long[n];
+					final long[] max = new long[n];
+					final long[] bufferDims = new long[n];
+
+					long b;
+					while ((b = nextBlock.getAndIncrement()) < blockCount) {
+						// position of the block (core and halo) in the image
+						long index = b;
+						for (int d = 0; d < n; d++) {
+							coreMin[d] = (index % grid[d]) * block[d];
+							coreMax[d] = Math.min(coreMin[d] + block[d], dims[d]) - 1;
+							min[d] = Math.max(coreMin[d] - border[d], 0);
+							max[d] = Math.min(coreMax[d] + border[d], dims[d] - 1);
+							index /= grid[d];
+						}
+
+						// NB: Blocks share their size except at the image border.
+						if (buffer == null || !equalDimensions(buffer, min, max)) {
+							for (int d = 0; d < n; d++) {
+								bufferDims[d] = max[d] - min[d] + 1;
+							}
+							buffer = ops().create().img(new FinalDimensions(bufferDims),
+								type);
+						}
+
+						blockOp.compute1(Views.zeroMin(Views.interval(in, min, max)),
+							buffer);
+
+						// copy the core of the block to the output
+						for (int d = 0; d < n; d++) {
+							coreMax[d] -= min[d];
+							coreMin[d] -= min[d];
+						}
+						final Cursor<O> src = Views.flatIterable(Views.interval(buffer,
+							coreMin, coreMax)).cursor();
+						for (int d = 0; d < n; d++) {
+							coreMax[d] += min[d];
+							coreMin[d] += min[d];
+						}
+						final Cursor<O> dst = Views.flatIterable(Views.interval(out,
+							coreMin, coreMax)).cursor();
+						while (dst.hasNext()) {
+							dst.next().set(src.next());
+						}
+					}
+					return null;
+				}
+			});
+		}
+
+		try {
+			for (final Future<Void> future : threadService.getExecutorService()
+				.invokeAll(tasks))
+			{
+				future.get();
+			}
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(exc);
+		}
+		catch (final ExecutionException exc) {
+			final Throwable cause = exc.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Gets the size of the blocks for the given image. */
+	private int[] blockSize(final RandomAccessibleInterval<?> image) {
+		final int n = image.numDimensions();
+		final int[] size = new int[n];
+		if (blockSize != null) {
+			for (int d = 0; d < n; d++) {
+				size[d] = blockSize[blockSize.length == 1 ? 0 : d];
+			}
+		}
+		else {
+			final int side = (int) Math.max(1, Math.round(Math.pow(
+				DEFAULT_BLOCK_ELEMENTS, 1.0 / n)));
+			for (int d = 0; d < n; d++) {
+				size[d] = side;
+			}
+		}
+		for (int d = 0; d < n; d++) {
+			size[d] = (int) Math.max(1, Math.min(size[d], image.dimension(d)));
+		}
+		return size;
+	}
+
+	private static boolean equalDimensions(final Img<?> img, final long[] min,
+		final long[] max)
+	{
+		for (int d = 0; d < min.length; d++) {
+			if (img.dimension(d) != max[d] - min[d] + 1) return false;
+		}
+		return true;
+	}
+
+}
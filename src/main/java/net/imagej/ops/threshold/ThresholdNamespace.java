@@ -391,6 +391,33 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.localContrast.LocalContrastThresholdBox.class)
+	public <T extends RealType<T>> IterableInterval<BitType>
+		localContrastThreshold(final IterableInterval<BitType> out,
+			final RandomAccessibleInterval<T> in, final RectangleShape shape,
+			final OutOfBoundsFactory<T, RandomAccessibleInterval<T>> outOfBounds)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result = (IterableInterval<BitType>) ops()
+			.run(net.imagej.ops.Ops.Threshold.LocalContrastThreshold.class,
+				out, in, shape, outOfBounds);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.localContrast.LocalContrastThresholdBox.class)
+	public <T extends RealType<T>> IterableInterval<BitType>
+		localContrastThreshold(final IterableInterval<BitType> out,
+			final RandomAccessibleInterval<T> in, final RectangleShape shape)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result = (IterableInterval<BitType>) ops()
+			.run(net.imagej.ops.Ops.Threshold.LocalContrastThreshold.class,
+				out, in, shape);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.threshold.localMean.LocalMeanThreshold.class)
 	public <T extends RealType<T>> IterableInterval<BitType> localMeanThreshold(
 		final IterableInterval<BitType> out,
@@ -418,8 +445,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localMean.LocalMeanThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localMean.LocalMeanThresholdIntegral.class,
+		net.imagej.ops.threshold.localMean.LocalMeanThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType> localMeanThreshold(
 		final IterableInterval<BitType> out, final RandomAccessibleInterval<T> in,
 		final RectangleShape shape,
@@ -433,8 +461,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localMean.LocalMeanThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localMean.LocalMeanThresholdIntegral.class,
+		net.imagej.ops.threshold.localMean.LocalMeanThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType> localMeanThreshold(
 		final IterableInterval<BitType> out, final RandomAccessibleInterval<T> in,
 		final RectangleShape shape, final double c)
@@ -532,8 +561,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdIntegral.class,
+		net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localNiblackThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -547,8 +577,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdIntegral.class,
+		net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localNiblackThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -653,8 +684,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class,
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localPhansalkarThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -668,8 +700,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class,
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localPhansalkarThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -683,8 +716,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class,
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localPhansalkarThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -697,8 +731,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral.class,
+		net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localPhansalkarThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape)
@@ -766,8 +801,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class,
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localSauvolaThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -781,8 +817,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class,
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localSauvolaThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -796,8 +833,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class,
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localSauvolaThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape,
@@ -810,8 +848,9 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
-	@OpMethod(
-		op = net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class)
+	@OpMethod(ops = {
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral.class,
+		net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdBox.class })
 	public <T extends RealType<T>> IterableInterval<BitType>
 		localSauvolaThreshold(final IterableInterval<BitType> out,
 			final RandomAccessibleInterval<T> in, final RectangleShape shape)
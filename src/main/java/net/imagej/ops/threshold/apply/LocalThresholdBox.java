@@ -0,0 +1,338 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.threshold.apply;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.Interval;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.outofbounds.OutOfBoundsBorderFactory;
+import net.imglib2.outofbounds.OutOfBoundsFactory;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+
+/**
+ * Base class for local thresholds which only depend on box statistics of a
+ * {@link RectangleShape} neighborhood.
+ * <p>
+ * Instead of mapping a computer to each neighborhood, the statistics of all
+ * neighborhoods are computed at once with separable moving windows: the
+ * extended input is copied into two {@code double[]} buffers, which are then
+ * filtered along one dimension after the other. Each pass distributes the lines
+ * across threads and costs O(1) per pixel regardless of the span of the shape.
+ * Depending on {@link #isExtremaBased()}, the buffers hold running sums and
+ * sums of squares, or running minima and maxima.
+ * </p>
+ * 
+ * @param <T> The type of the input image.
+ * @author agent
+ */
+public abstract class LocalThresholdBox<T extends RealType<T>> extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<T>, IterableInterval<BitType>>
+	implements Contingent, Parallel
+{
+
+	@Parameter
+	private RectangleShape shape;
+
+	@Parameter(required = false)
+	private OutOfBoundsFactory<T, RandomAccessibleInterval<T>> outOfBoundsFactory =
+		new OutOfBoundsBorderFactory<>();
+
+	@Override
+	public boolean conforms() {
+		if (shape.isSkippingCenter()) return false;
+		final Interval expanded = Intervals.expand(in(), shape.getSpan());
+		return Intervals.numElements(expanded) <= Integer.MAX_VALUE &&
+			Intervals.equalDimensions(in(), out());
+	}
+
+	@Override
+	public void compute1(final RandomAccessibleInterval<T> input,
+		final IterableInterval<BitType> output)
+	{
+		if (Intervals.numElements(input) == 0) return;
+
+		final int span = shape.getSpan();
+		final Interval expanded = Intervals.expand(input, span);
+		final int[] dims = new int[expanded.numDimensions()];
+		for (int d = 0; d < dims.length; d++) {
+			dims[d] = (int) expanded.dimension(d);
+		}
+
+		final double[] first = new double[(int) Intervals.numElements(expanded)];
+		final double[] second = new double[first.length];
+		fill(Views.flatIterable(Views.interval(Views.extend(input,
+			outOfBoundsFactory), expanded)), first, second, dims[0]);
+
+		for (int d = 0; d < dims.length; d++) {
+			filter(first, second, dims, d, span);
+		}
+
+		threshold(input, output, first, second, dims, span);
+	}
+
+	/**
+	 * Get the shape (structuring element) used by this filter.
+	 *
+	 * @return the shape
+	 */
+	public RectangleShape getShape() {
+		return shape;
+	}
+
+	/**
+	 * @return {@code true} if the threshold is computed from the minimum and
+	 *         maximum of each neighborhood, {@code false} if it is computed from
+	 *         the mean and variance.
+	 */
+	protected boolean isExtremaBased() {
+		return false;
+	}
+
+	/**
+	 * Decides whether a pixel belongs to the foreground.
+	 * 
+	 * @param center the value of the pixel
+	 * @param first the mean (or minimum) of the neighborhood of the pixel
+	 * @param second the sample variance (or maximum) of the neighborhood of the
+	 *          pixel
+	 * @return {@code true} if the pixel is foreground
+	 */
+	protected abstract boolean isForeground(double center, double first,
+		double second);
+
+	// -- Helper methods --
+
+	/** Copies the values (and their squares) into the buffers. */
+	private void fill(final IterableInterval<T> values, final double[] first,
+		final double[] second, final int length)
+	{
+		final boolean extrema = isExtremaBased();
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<T> cursor = values.cursor();
+				for (int l = 0; l < numSteps; l++) {
+					int index = (startIndex + l * stepSize) * length;
+					cursor.reset();
+					cursor.jumpFwd(index);
+					for (int x = 0; x < length; x++) {
+						final double value = cursor.next().getRealDouble();
+						first[index] = value;
+						second[index++] = extrema ? value : value * value;
+					}
+				}
+			}
+		}, first.length / length);
+	}
+
+	/**
+	 * Replaces each value in the lines along dimension {@code d} with the sum
+	 * (or extremum) of the window of {@code 2 * span + 1} values around it. The
+	 * {@code span} values at both ends of each line are left untouched.
+	 */
+	private void filter(final double[] first, final double[] second,
+		final int[] dims, final int d, final int span)
+	{
+		int stride = 1;
+		for (int i = 0; i < d; i++) {
+			stride *= dims[i];
+		}
+		final int step = stride;
+		final int length = dims[d];
+		final boolean extrema = isExtremaBased();
+
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				// NB: Scratch buffers are allocated once per chunk.
+				final double[] line = new double[length];
+				final double[] prefix = extrema ? new double[length] : null;
+				final double[] suffix = extrema ? new double[length] : null;
+
+				for (int l = 0; l < numSteps; l++) {
+					final int lineIndex = startIndex + l * stepSize;
+					final int start = lineIndex / step * step * length + lineIndex %
+						step;
+					if (extrema) {
+						movingExtremum(first, start, step, length, span, line, prefix,
+							suffix, false);
+						movingExtremum(second, start, step, length, span, line, prefix,
+							suffix, true);
+					}
+					else {
+						movingSum(first, start, step, length, span, line);
+						movingSum(second, start, step, length, span, line);
+					}
+				}
+			}
+		}, first.length / length);
+	}
+
+	private static void movingSum(final double[] values, final int start,
+		final int step, final int length, final int span, final double[] line)
+	{
+		for (int x = 0, i = start; x < length; x++, i += step) {
+			line[x] = values[i];
+		}
+
+		double sum = 0;
+		for (int x = 0; x < 2 * span; x++) {
+			sum += line[x];
+		}
+		for (int x = span, i = start + span * step; x < length - span; x++, i +=
+			step)
+		{
+			sum += line[x + span];
+			values[i] = sum;
+			sum -= line[x - span];
+		}
+	}
+
+	/**
+	 * Moving minimum (or maximum) according to van Herk, Gil and Werman: the
+	 * line is split into blocks of the window size, whose prefix and suffix
+	 * extrema give the extremum of any window with two lookups.
+	 */
+	private static void movingExtremum(final double[] values, final int start,
+		final int step, final int length, final int span, final double[] line,
+		final double[] prefix, final double[] suffix, final boolean max)
+	{
+		final int window = 2 * span + 1;
+		for (int x = 0, i = start; x < length; x++, i += step) {
+			line[x] = values[i];
+		}
+
+		for (int x = 0; x < length; x++) {
+			prefix[x] = x % window == 0 ? line[x] : extremum(prefix[x - 1], line[x],
+				max);
+		}
+		for (int x = length - 1; x >= 0; x--) {
+			suffix[x] = x == length - 1 || (x + 1) % window == 0 ? line[x]
+				: extremum(suffix[x + 1], line[x], max);
+		}
+
+		for (int x = span, i = start + span * step; x < length - span; x++, i +=
+			step)
+		{
+			values[i] = extremum(suffix[x - span], prefix[x + span], max);
+		}
+	}
+
+	private static double extremum(final double a, final double b,
+		final boolean max)
+	{
+		return max ? Math.max(a, b) : Math.min(a, b);
+	}
+
+	/** Compares each pixel of the input with the statistics of its box. */
+	private void threshold(final RandomAccessibleInterval<T> input,
+		final IterableInterval<BitType> output, final double[] first,
+		final double[] second, final int[] dims, final int span)
+	{
+		final int n = dims.length;
+		final long[] min = Intervals.minAsLongArray(input);
+		// NB: The output may be translated with respect to the input.
+		final long[] outMin = new long[n];
+		output.min(outMin);
+		final int[] strides = new int[n];
+		int offset = 0;
+		for (int d = 0, stride = 1; d < n; d++) {
+			strides[d] = stride;
+			offset += span * stride;
+			stride *= dims[d];
+		}
+		final int centerOffset = offset;
+
+		double size = 1;
+		for (int d = 0; d < n; d++) {
+			size *= 2 * span + 1;
+		}
+		final double count = size;
+		final boolean extrema = isExtremaBased();
+
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				final Cursor<BitType> cursor = output.localizingCursor();
+				final RandomAccess<T> access = input.randomAccess();
+				final long[] position = new long[n];
+
+				cursor.jumpFwd(startIndex);
+				for (int s = 0; s < numSteps; s++) {
+					if (s > 0) cursor.jumpFwd(stepSize - 1);
+					cursor.fwd();
+					cursor.localize(position);
+					int index = centerOffset;
+					for (int d = 0; d < n; d++) {
+						index += (int) (position[d] - outMin[d]) * strides[d];
+						position[d] += min[d] - outMin[d];
+					}
+					access.setPosition(position);
+
+					final double center = access.get().getRealDouble();
+					if (extrema) {
+						cursor.get().set(isForeground(center, first[index],
+							second[index]));
+					}
+					else {
+						final double sum = first[index];
+						final double variance = Math.max(0, (second[index] - sum * sum /
+							count) / (count - 1));
+						cursor.get().set(isForeground(center, sum / count, variance));
+					}
+				}
+			}
+		}, output.size());
+	}
+
+}
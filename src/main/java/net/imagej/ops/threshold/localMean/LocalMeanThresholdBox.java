@@ -0,0 +1,74 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.threshold.localMean;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.threshold.apply.LocalThresholdBox;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * <p>
+ * Local threshold method that uses the mean of each neighborhood for the
+ * threshold computation.
+ * </p>
+ * <p>
+ * This implementation computes the mean of all local windows with separable
+ * moving sums, i.e. in constant time per pixel for any {@code span}. It
+ * yields the same results as {@link LocalMeanThreshold}. It operates on
+ * {@link RandomAccessibleInterval}s of {@link RealType}.
+ * </p>
+ *
+ * @see LocalMeanThreshold
+ * @see LocalThresholdBox
+ * @author agent
+ */
+@Plugin(type = Ops.Threshold.LocalMeanThreshold.class,
+	priority = Priority.LOW_PRIORITY + 1)
+public class LocalMeanThresholdBox<T extends RealType<T>> extends
+	LocalThresholdBox<T> implements Ops.Threshold.LocalMeanThreshold
+{
+
+	@Parameter
+	private double c;
+
+	@Override
+	protected boolean isForeground(final double center, final double mean,
+		final double variance)
+	{
+		return center > mean - c;
+	}
+
+}
@@ -40,6 +40,9 @@ import java.net.URL;
 import java.util.Iterator;
 import java.util.Random;
 
+import net.imagej.ops.cached.OpCacheService;
+import net.imagej.ops.filter.FFTBufferService;
+import net.imagej.ops.thread.chunker.ForkJoinPoolService;
 import net.imglib2.Cursor;
 import net.imglib2.FinalInterval;
 import net.imglib2.img.Img;
@@ -82,7 +85,8 @@ public abstract class AbstractOpTest {
 	/** Subclasses can override to create a context with different services. */
 	protected Context createContext() {
 		return new Context(OpService.class, OpMatchingService.class,
-			CacheService.class);
+			CacheService.class, FFTBufferService.class, OpCacheService.class,
+			ForkJoinPoolService.class);
 	}
 
 	/** Sets up a SciJava context with {@link OpService}. */
@@ -42,6 +42,7 @@ import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.Test;
 import org.scijava.ItemIO;
+import org.scijava.Priority;
 import org.scijava.module.Module;
 import org.scijava.plugin.Attr;
 import org.scijava.plugin.Parameter;
@@ -156,6 +157,35 @@ public class OpMatchingServiceTest extends AbstractOpTest {
 		}
 	}
 	
+	/** Tests that repeated matches of the same signature are cached. */
+	@Test
+	public void testMatchCache() {
+		final OpMatchCache cache = ((DefaultOpMatchingService) matcher)
+			.getMatchCache();
+		final long hits = cache.getHits();
+
+		final DoubleType first = new DoubleType(1);
+		final DoubleType second = new DoubleType(2);
+		matcher.findMatch(ops, OpRef.create("test.nan", first));
+		final Module module = matcher.findMatch(ops, OpRef.create("test.nan",
+			second)).getModule();
+
+		assertEquals(hits + 1, cache.getHits());
+		assertSame(second, module.getInput("arg"));
+	}
+
+	/**
+	 * Tests that cached matches are revalidated with {@link Contingent#conforms()}
+	 * for the actual arguments.
+	 */
+	@Test
+	public void testMatchCacheConforms() {
+		assertSame(AnyNumberOp.class, numberOp(-1));
+		assertSame(PositiveNumberOp.class, numberOp(1));
+		assertSame(AnyNumberOp.class, numberOp(-2));
+		assertSame(PositiveNumberOp.class, numberOp(2));
+	}
+
 	@Test
 	public void testLosslessMatch() {
 		// Not implemented yet
@@ -163,6 +193,11 @@ public class OpMatchingServiceTest extends AbstractOpTest {
 
 	// -- Helper methods --
 
+	private Class<?> numberOp(final int value) {
+		return matcher.findMatch(ops, OpRef.create("test.number", value))
+			.getModule().getDelegateObject().getClass();
+	}
+
 	private Module optionalParamsModule(Object... args) {
 		return matcher.findMatch(ops, OpRef.create(OptionalParams.class, args))
 			.getModule();
@@ -235,6 +270,26 @@ public class OpMatchingServiceTest extends AbstractOpTest {
 
 	}
 
+	@Plugin(type = Op.class, name = "test.number",
+		priority = Priority.HIGH_PRIORITY)
+	public static class PositiveNumberOp extends NoOp implements Contingent {
+
+		@Parameter
+		private int value;
+
+		@Override
+		public boolean conforms() {
+			return value > 0;
+		}
+	}
+
+	@Plugin(type = Op.class, name = "test.number")
+	public static class AnyNumberOp extends NoOp {
+
+		@Parameter
+		private int value;
+	}
+
 	public static interface Dessert extends Op {
 		// NB: Marker interface.
 	}
@@ -35,7 +35,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import net.imglib2.type.numeric.real.DoubleType;
 
@@ -214,6 +217,47 @@ public class OpServiceTest extends AbstractOpTest {
 		assertEquals(0, errors);
 	}
 
+	/** Tests the lookups of {@link OpService#registry()}. */
+	@Test
+	public void testRegistry() {
+		final OpRegistry registry = ops.registry();
+		assertSame(registry, ops.registry());
+
+		final OpInfo info = ops.info(InfinityOp.class);
+		assertSame(info, registry.info(InfinityOp.class.getName()));
+		for (final String name : new String[] { "test.infinity", "infinity",
+			"inf", "infin" })
+		{
+			assertEquals(Collections.singletonList(info), registry.infos(name));
+		}
+		assertTrue(registry.infos("infini").isEmpty());
+		assertEquals(Collections.singletonList(info), registry.infos(
+			InfinityOp.class));
+
+		// the name index must agree with OpInfo.nameMatches
+		for (final String name : new String[] { "add", "math.add", "mean" }) {
+			final List<OpInfo> expected = new ArrayList<>();
+			for (final OpInfo i : registry.infos()) {
+				if (i.nameMatches(name)) expected.add(i);
+			}
+			assertEquals(expected, registry.infos(name));
+		}
+	}
+
+	/** Tests that custom environments share the registry of their parent. */
+	@Test
+	public void testRegistryOverlay() {
+		final OpRegistry registry = ops.registry();
+		assertSame(registry, new CustomOpEnvironment(ops).registry());
+
+		final OpInfo info = new OpInfo(InfinityOp.class);
+		final CustomOpEnvironment custom = new CustomOpEnvironment(ops,
+			Collections.singletonList(info));
+		assertSame(info, custom.info(InfinityOp.class));
+		assertEquals(registry.infos().size(), custom.infos().size());
+		assertFalse(info == ops.info(InfinityOp.class));
+	}
+
 	/** Tests {@link OpService#ops()}. */
 	@Test
 	public void testOps() {
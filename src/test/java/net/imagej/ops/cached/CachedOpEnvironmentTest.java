@@ -31,6 +31,10 @@
 package net.imagej.ops.cached;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 
@@ -39,10 +43,13 @@ import net.imagej.ops.OpInfo;
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.special.hybrid.AbstractBinaryHybridCF;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.special.hybrid.BinaryHybridCF;
 import net.imagej.ops.special.hybrid.Hybrids;
 import net.imagej.ops.special.hybrid.UnaryHybridCF;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.ByteType;
 import net.imglib2.type.numeric.real.DoubleType;
 
@@ -68,10 +75,13 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 
 	private UnaryHybridCF<Img<ByteType>, DoubleType> hybrid;
 
+	private BinaryHybridCF<Img<ByteType>, Img<ByteType>, DoubleType> binary;
+
 	@Before
 	public void initCustomOps() {
 		final ArrayList<OpInfo> customOps = new ArrayList<>();
 		customOps.add(new OpInfo(MyMin.class));
+		customOps.add(new OpInfo(MyAdd.class));
 
 		env = new CachedOpEnvironment(ops, customOps);
 
@@ -80,6 +90,8 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 
 		func = Functions.unary(env, Ops.Stats.Min.class, DoubleType.class, imgA);
 		hybrid = Hybrids.unaryCF(env, Ops.Stats.Min.class, DoubleType.class, imgA);
+		binary = Hybrids.binaryCF(env, Ops.Math.Add.class, DoubleType.class, imgA,
+			imgB);
 	}
 
 	@Test
@@ -106,6 +118,116 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 		assertEquals(2.0, hybrid.compute1(imgB).getRealDouble(), 0.0);
 	}
 
+	@Test
+	public void testCachingBinaryHybrid() {
+		ctr = 0;
+
+		// Calling it twice should result in the same result
+		assertEquals(1.0, binary.compute2(imgA, imgB).get(), 0.0);
+		assertEquals(1.0, binary.compute2(imgA, imgB).get(), 0.0);
+
+		// Should be increased
+		assertEquals(2.0, binary.compute2(imgB, imgA).get(), 0.0);
+		assertEquals(3.0, binary.compute2(imgA, imgA).get(), 0.0);
+	}
+
+	@Test
+	public void testCacheCounters() {
+		ctr = 0;
+		final OpCache cache = env.getCache();
+		final long hits = cache.getHits();
+		final long misses = cache.getMisses();
+
+		func.compute1(imgA);
+		func.compute1(imgA);
+		func.compute1(imgB);
+
+		assertEquals(hits + 1, cache.getHits());
+		assertEquals(misses + 2, cache.getMisses());
+	}
+
+	@Test
+	public void testKeyEquality() {
+		final Object[] args = { 1.0, "a" };
+		final OpCache.Key key = new OpCache.Key(MyMin.class,
+			new Object[] { imgA }, args);
+
+		// equal arguments, same input
+		assertEquals(key, new OpCache.Key(MyMin.class, new Object[] { imgA },
+			new Object[] { 1.0, "a" }));
+		// different inputs with equal content
+		assertNotEquals(key, new OpCache.Key(MyMin.class, new Object[] { imgB },
+			args));
+		// different op
+		assertNotEquals(key, new OpCache.Key(MyAdd.class, new Object[] { imgA },
+			args));
+		// different arguments
+		assertNotEquals(key, new OpCache.Key(MyMin.class, new Object[] { imgA },
+			new Object[] { 2.0, "a" }));
+		// null arguments
+		assertEquals(new OpCache.Key(MyMin.class, new Object[] { imgA },
+			new Object[] { null }), new OpCache.Key(MyMin.class,
+				new Object[] { imgA }, new Object[] { null }));
+	}
+
+	@Test
+	public void testEviction() {
+		final Img<ByteType> large = ArrayImgs.bytes(100, 100);
+		final long imgBytes = OpCache.estimateBytes(large);
+		assertEquals(10000, imgBytes);
+
+		// room for two images
+		final OpCache cache = new OpCache(2 * imgBytes + 1000);
+		final OpCache.Key[] keys = new OpCache.Key[3];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new OpCache.Key(MyMin.class, new Object[] { imgA },
+				new Object[] { i });
+		}
+
+		cache.put(keys[0], large);
+		cache.put(keys[1], large);
+		// touch the first entry, such that the second one is evicted
+		assertSame(large, cache.get(keys[0]));
+		cache.put(keys[2], large);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertSame(large, cache.get(keys[0]));
+		assertNull(cache.get(keys[1]));
+		assertSame(large, cache.get(keys[2]));
+
+		// too large to be cached at all
+		final OpCache small = new OpCache(imgBytes / 2);
+		small.put(keys[0], large);
+		assertEquals(0, small.size());
+	}
+
+	@Test
+	public void testArgumentsCounted() {
+		final OpCache cache = new OpCache(100000);
+		cache.put(new OpCache.Key(MyMin.class, new Object[] { imgA },
+			new Object[] { new double[1000] }), new DoubleType());
+		assertTrue(cache.getBytes() >= 8000);
+	}
+
+	@Test
+	public void testCollectedInputs() throws InterruptedException {
+		final OpCache cache = new OpCache(100000);
+		Img<ByteType> input = ArrayImgs.bytes(10, 10);
+		cache.put(new OpCache.Key(MyMin.class, new Object[] { input },
+			new Object[0]), new DoubleType());
+		assertEquals(1, cache.size());
+
+		// NB: The cache must not keep the input alive.
+		input = null;
+		for (int i = 0; i < 100 && cache.size() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getBytes());
+	}
+
 	// some specialized ops to track number of counts
 	public static class MyMin extends AbstractUnaryHybridCF<Img<ByteType>, DoubleType>
 		implements Ops.Stats.Min
@@ -124,4 +246,26 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 
 	}
 
+	public static class MyAdd extends
+		AbstractBinaryHybridCF<Img<ByteType>, Img<ByteType>, DoubleType> implements
+		Ops.Math.Add
+	{
+
+		@Override
+		public DoubleType createOutput(final Img<ByteType> input1,
+			final Img<ByteType> input2)
+		{
+			return new DoubleType();
+		}
+
+		@Override
+		public void compute2(final Img<ByteType> input1, final Img<ByteType> input2,
+			final DoubleType output)
+		{
+			ctr++;
+			output.set(ctr);
+		}
+
+	}
+
 }
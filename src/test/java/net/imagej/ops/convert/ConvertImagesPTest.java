@@ -0,0 +1,130 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.planar.PlanarImgFactory;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.integer.ShortType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedIntType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ConvertImagesP} ops produce the same values as the
+ * {@link ConvertTypes} ops they specialize.
+ *
+ * @author agent
+ */
+public class ConvertImagesPTest extends AbstractOpTest {
+
+	private final static long[] dims = { 17, 5, 3 };
+
+	private final static RealType<?>[] types = { new ByteType(),
+		new UnsignedByteType(), new ShortType(), new UnsignedShortType(),
+		new IntType(), new UnsignedIntType(), new LongType(), new FloatType(),
+		new DoubleType() };
+
+	private final static Class<?>[] opTypes = { Ops.Convert.Int8.class,
+		Ops.Convert.Uint8.class, Ops.Convert.Int16.class, Ops.Convert.Uint16.class,
+		Ops.Convert.Int32.class, Ops.Convert.Uint32.class, Ops.Convert.Int64.class,
+		Ops.Convert.Float32.class, Ops.Convert.Float64.class };
+
+	@Test
+	public void testArrayImgs() {
+		assertAllPairs(false);
+	}
+
+	@Test
+	public void testPlanarImgs() {
+		assertAllPairs(true);
+	}
+
+	// -- Helper methods --
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void assertAllPairs(final boolean planar) {
+		final Random random = new Random(42);
+		for (final RealType type : types) {
+			final Img<RealType> in = create(planar, (NativeType) type
+				.createVariable());
+			for (final RealType t : in) {
+				t.setReal(random.nextGaussian() * Math.pow(10, random.nextInt(12)));
+			}
+			for (final Class opType : opTypes) {
+				final String message = opType.getSimpleName() + " of " + type
+					.getClass().getSimpleName();
+				assertSame(message, ConvertImagesP.class, ops.op(opType, in)
+					.getClass().getEnclosingClass());
+
+				final Img<RealType> out = (Img<RealType>) ops.run(opType, in);
+				assertSame(message, in.factory().getClass(), out.factory()
+					.getClass());
+
+				final RealType expected = out.firstElement().createVariable();
+				final UnaryComputerOp<RealType, RealType> elementOp = Computers.unary(
+					ops, (Class<? extends Op>) opType, expected, in.firstElement());
+				final Cursor<RealType> c = out.cursor();
+				for (final RealType t : in) {
+					elementOp.compute1(t, expected);
+					assertEquals(message, expected, c.next());
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Img create(final boolean planar, final NativeType type) {
+		if (planar) return new PlanarImgFactory().create(dims, type);
+		return new ArrayImgFactory().create(dims, type);
+	}
+
+}
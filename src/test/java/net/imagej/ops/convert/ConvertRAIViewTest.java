@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.convert.copy.CopyRealTypes;
+import net.imagej.ops.convert.imageType.ConvertRAIView;
+import net.imagej.ops.convert.normalizeScale.NormalizeScaleRealTypes;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.integer.ShortType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ConvertRAIView}.
+ * 
+ * @author agent
+ */
+public class ConvertRAIViewTest extends AbstractOpTest {
+
+	@Test
+	public void testCopy() {
+		final Img<UnsignedShortType> in = ArrayImgs.unsignedShorts(10, 10);
+		final RandomAccessibleInterval<FloatType> view = ops.convert().imageType(
+			in, new FloatType(), new CopyRealTypes<UnsignedShortType, FloatType>());
+		assertFalse(view instanceof Img);
+
+		// NB: The view reads the input on access, so later changes are visible.
+		int i = 0;
+		for (final UnsignedShortType t : in) {
+			t.set(i++ * 601 % 65536);
+		}
+		final Cursor<UnsignedShortType> c = in.localizingCursor();
+		final RandomAccess<FloatType> ra = view.randomAccess();
+		while (c.hasNext()) {
+			final int value = c.next().get();
+			ra.setPosition(c);
+			assertEquals(value, ra.get().get(), 0);
+		}
+	}
+
+	@Test
+	public void testNormalizeScale() {
+		final Img<ShortType> in = ArrayImgs.shorts(10, 10);
+		final RandomAccessibleInterval<ByteType> view = ops.convert().imageType(
+			in, new ByteType(), new NormalizeScaleRealTypes<ShortType, ByteType>());
+
+		// NB: The min/max are only computed when the view is first read.
+		int i = 0;
+		for (final ShortType t : in) {
+			t.set((short) (i++ * 7 - 300));
+		}
+		final double min = -300, max = 99 * 7 - 300;
+		final double factor = 1.0 / (max - min) * (32767.0 - -32768.0);
+
+		final ByteType expected = new ByteType();
+		final Cursor<ShortType> c = in.localizingCursor();
+		final RandomAccess<ByteType> ra = view.randomAccess();
+		while (c.hasNext()) {
+			final short value = c.next().get();
+			ra.setPosition(c);
+			expected.setReal((value - min) / factor + -128);
+			assertEquals(expected.get(), ra.get().get());
+		}
+	}
+
+}
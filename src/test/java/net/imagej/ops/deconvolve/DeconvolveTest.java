@@ -31,6 +31,7 @@
 package net.imagej.ops.deconvolve;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.filter.convolve.ConvolveFFTF;
@@ -92,6 +93,44 @@ public class DeconvolveTest extends AbstractOpTest {
 		}
 	}
 
+	/** tests that repeated deconvolutions give identical results */
+	@Test
+	public void testDeconvolveRepeated() {
+		int[] size = new int[] { 64, 48 };
+		int[] kernelSize = new int[] { 9, 11 };
+
+		Img<FloatType> in = new ArrayImgFactory<FloatType>().create(size,
+			new FloatType());
+		placeSphereInCenter(in);
+
+		Img<FloatType> kernel = new ArrayImgFactory<FloatType>().create(kernelSize,
+			new FloatType());
+		placeSphereInCenter(kernel);
+
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> convolved = (Img<FloatType>) ops.run(
+			ConvolveFFTF.class, in, kernel);
+
+		for (final boolean accelerate : new boolean[] { false, true }) {
+			@SuppressWarnings("unchecked")
+			final RandomAccessibleInterval<FloatType> first =
+				(RandomAccessibleInterval<FloatType>) ops.run(RichardsonLucyF.class,
+					convolved, kernel, null, null, null, null, null, 10, false,
+					accelerate);
+
+			@SuppressWarnings("unchecked")
+			final RandomAccessibleInterval<FloatType> second =
+				(RandomAccessibleInterval<FloatType>) ops.run(RichardsonLucyF.class,
+					convolved, kernel, null, null, null, null, null, 10, false,
+					accelerate);
+
+			assertIterationsEqual(Views.iterable(first), Views.iterable(second));
+			for (final FloatType t : Views.iterable(first)) {
+				assertFalse(Float.isNaN(t.get()));
+			}
+		}
+	}
+
 	// utility to place a small sphere at the center of the image
 	private void placeSphereInCenter(Img<FloatType> img) {
 
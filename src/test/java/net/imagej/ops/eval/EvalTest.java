@@ -31,11 +31,18 @@
 package net.imagej.ops.eval;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.FloatType;
 
 import org.junit.Test;
 
@@ -61,4 +68,68 @@ public class EvalTest extends AbstractOpTest {
 		assertEquals(17, ops.run(DefaultEval.class, "a+b*c", vars));
 	}
 
+	@Test
+	public void testImageExpression() {
+		final Img<FloatType> a = generateFloatArrayTestImg(true, 200, 100);
+		final Img<FloatType> b = generateFloatArrayTestImg(false, 200, 100);
+		final Random random = new Random(42);
+		for (final FloatType t : b) {
+			t.set(random.nextFloat());
+		}
+		final Map<String, Object> vars = new HashMap<>();
+		vars.put("a", a);
+		vars.put("b", b);
+
+		// NB: The compiled kernels must match the op path exactly.
+		final OpEvaluator evaluator = new OpEvaluator(ops);
+		evaluator.setAll(vars);
+		for (final String expression : new String[] { "(a - b) / (a + b)",
+			"a * b + a / b", "(a + b) * (a - b) / b" })
+		{
+			assertTrue(CompiledExpression.compile(evaluator, expression) != null);
+			@SuppressWarnings("unchecked")
+			final Img<FloatType> expected = (Img<FloatType>) evaluator.evaluate(
+				expression);
+			@SuppressWarnings("unchecked")
+			final Img<FloatType> actual = (Img<FloatType>) ops.run(
+				DefaultEval.class, expression, vars);
+			final Cursor<FloatType> ce = expected.cursor();
+			final Cursor<FloatType> ca = actual.cursor();
+			while (ce.hasNext()) {
+				assertEquals(expression, ce.next().get(), ca.next().get(), 0);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		final Img<BitType> mask = (Img<BitType>) ops.run(DefaultEval.class,
+			"(a - b) / (a + b) > 0.3", vars);
+		final Cursor<FloatType> ca = a.cursor();
+		final Cursor<FloatType> cb = b.cursor();
+		final Cursor<BitType> cMask = mask.cursor();
+		while (ca.hasNext()) {
+			final float va = ca.next().get();
+			final float vb = cb.next().get();
+			assertEquals((va - vb) / (va + vb) > 0.3f, cMask.next().get());
+		}
+	}
+
+	@Test
+	public void testIntegerImageExpression() {
+		// NB: Not compiled, since ops compute integer images in their own type.
+		final Img<UnsignedByteType> a = generateUnsignedByteArrayTestImg(true,
+			20, 10);
+		final Map<String, Object> vars = new HashMap<>();
+		vars.put("a", a);
+
+		final Object sum = ops.run(DefaultEval.class, "a + a", vars);
+		assertTrue(sum instanceof Img);
+		@SuppressWarnings("unchecked")
+		final Cursor<UnsignedByteType> cSum = ((Img<UnsignedByteType>) sum)
+			.cursor();
+		final Cursor<UnsignedByteType> ca = a.cursor();
+		while (ca.hasNext()) {
+			assertEquals((2 * ca.next().get()) & 0xff, cSum.next().get());
+		}
+	}
+
 }
@@ -34,6 +34,7 @@ import java.util.Random;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.OpService;
+import net.imagej.ops.cached.OpCacheService;
 import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccess;
@@ -124,7 +125,7 @@ public class AbstractFeatureTest extends AbstractOpTest {
 
 	@Override
 	protected Context createContext() {
-		return new Context(OpService.class);
+		return new Context(OpService.class, OpCacheService.class);
 	}
 
 	/**
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.haralick;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import net.imagej.ops.features.AbstractFeatureTest;
+import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation;
+import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation2D;
+import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation3D;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link DefaultHaralickFeatureSet}.
+ *
+ * @author agent
+ */
+public class HaralickFeatureSetTest extends AbstractFeatureTest {
+
+	@Test
+	public void testFeatureSet2D() {
+		assertFeatureSet(random, 32, new int[] { 1, 2 }, MatrixOrientation2D
+			.values());
+		assertFeatureSet(random, 8, new int[] { 2 },
+			MatrixOrientation2D.ANTIDIAGONAL);
+		assertFeatureSet(constant, 32, new int[] { 1 },
+			MatrixOrientation2D.VERTICAL);
+	}
+
+	@Test
+	public void testFeatureSet3D() {
+		assertFeatureSet(random3d, 8, new int[] { 1 }, MatrixOrientation3D.DEPTH,
+			MatrixOrientation3D.HORIZONTAL_VERTICAL);
+	}
+
+	private void assertFeatureSet(final IterableInterval<UnsignedByteType> in,
+		final int numGreyLevels, final int[] distances,
+		final MatrixOrientation... orientations)
+	{
+		final Map<Integer, Map<MatrixOrientation, Map<String, DoubleType>>> all =
+			ops.haralick().featureSet(in, numGreyLevels, distances, orientations);
+		assertEquals(distances.length, all.size());
+
+		for (final int distance : distances) {
+			assertEquals(orientations.length, all.get(distance).size());
+			for (final MatrixOrientation orientation : orientations) {
+				final Map<String, DoubleType> features = all.get(distance).get(
+					orientation);
+				assertEquals(17, features.size());
+
+				for (final Entry<String, DoubleType> feature : features.entrySet()) {
+					final double expected = ((RealType<?>) ops.run(feature.getKey(), in,
+						numGreyLevels, distance, orientation)).getRealDouble();
+					assertEquals(feature.getKey(), expected, feature.getValue().get(),
+						SMALL_DELTA * Math.max(1, Math.abs(expected)));
+				}
+			}
+		}
+	}
+
+}
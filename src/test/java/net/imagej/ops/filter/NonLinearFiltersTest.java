@@ -36,14 +36,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
 import net.imagej.ops.filter.max.DefaultMaxFilter;
+import net.imagej.ops.filter.max.HistogramMaxFilter;
 import net.imagej.ops.filter.max.MaxFilterOp;
 import net.imagej.ops.filter.mean.DefaultMeanFilter;
 import net.imagej.ops.filter.mean.MeanFilterOp;
 import net.imagej.ops.filter.median.DefaultMedianFilter;
+import net.imagej.ops.filter.median.HistogramMedianFilter;
 import net.imagej.ops.filter.median.MedianFilterOp;
 import net.imagej.ops.filter.min.DefaultMinFilter;
+import net.imagej.ops.filter.min.HistogramMinFilter;
 import net.imagej.ops.filter.min.MinFilterOp;
+import net.imagej.ops.filter.percentile.DefaultPercentileFilter;
+import net.imagej.ops.filter.percentile.HistogramPercentileFilter;
+import net.imagej.ops.filter.percentile.PercentileFilterOp;
 import net.imagej.ops.filter.sigma.DefaultSigmaFilter;
 import net.imagej.ops.filter.sigma.SigmaFilterOp;
 import net.imagej.ops.filter.variance.DefaultVarianceFilter;
@@ -51,9 +58,13 @@ import net.imagej.ops.filter.variance.VarianceFilterOp;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.algorithm.neighborhood.RectangleShape.NeighborhoodsIterableInterval;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.outofbounds.OutOfBoundsMirrorFactory;
 import net.imglib2.outofbounds.OutOfBoundsMirrorFactory.Boundary;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
 import net.imglib2.util.Util;
 import net.imglib2.view.Views;
 
@@ -62,8 +73,8 @@ import org.junit.Test;
 
 /**
  * Tests implementations of {@link MaxFilterOp}, {@link MeanFilterOp},
- * {@link MedianFilterOp}, {@link MinFilterOp}, {@link SigmaFilterOp},
- * {@link VarianceFilterOp}.
+ * {@link MedianFilterOp}, {@link MinFilterOp}, {@link PercentileFilterOp},
+ * {@link SigmaFilterOp}, {@link VarianceFilterOp}.
  * 
  * @author Jonathan Hale (University of Konstanz)
  */
@@ -192,4 +203,104 @@ public class NonLinearFiltersTest extends AbstractOpTest {
 		assertEquals((byte)Util.round((sumSq - (sum * sum / 9)) / 8), out.firstElement().get());
 	}
 
+	/**
+	 * @see PercentileFilterOp
+	 * @see DefaultPercentileFilter
+	 */
+	@Test
+	public void testPercentileFilter() {
+		ops.run(PercentileFilterOp.class, out, in, shape, oobFactory, 0.0);
+
+		byte min = Byte.MAX_VALUE;
+
+		NeighborhoodsIterableInterval<ByteType> neighborhoods =
+			shape.neighborhoods(Views.interval(Views.extendMirrorSingle(in), in));
+		for (ByteType t : neighborhoods.firstElement()) {
+			min = (byte) Math.min(t.getInteger(), min);
+		}
+		assertEquals(min, out.firstElement().get());
+	}
+
+	/**
+	 * @see HistogramMaxFilter
+	 * @see HistogramMedianFilter
+	 * @see HistogramMinFilter
+	 * @see HistogramPercentileFilter
+	 */
+	@Test
+	public void testHistogramFilters() {
+		final Img<UnsignedByteType> in8 = generateUnsignedByteArrayTestImg(true,
+			new long[] { 31, 17 });
+		final RectangleShape shape2 = new RectangleShape(2, false);
+
+		assertHistogramFilter(MaxFilterOp.class, HistogramMaxFilter.class,
+			DefaultMaxFilter.class, in8, shape2);
+		assertHistogramFilter(MedianFilterOp.class, HistogramMedianFilter.class,
+			DefaultMedianFilter.class, in8, shape2);
+		assertHistogramFilter(MinFilterOp.class, HistogramMinFilter.class,
+			DefaultMinFilter.class, in8, shape2);
+		assertHistogramFilter(PercentileFilterOp.class,
+			HistogramPercentileFilter.class, DefaultPercentileFilter.class, in8,
+			shape2, 25.0);
+
+		final Img<UnsignedShortType> in16 = ArrayImgs.unsignedShorts(13, 9, 7);
+		int i = 0;
+		for (final UnsignedShortType t : in16) {
+			t.set((i++ * 7919) % 65536);
+		}
+
+		assertHistogramFilter(MedianFilterOp.class, HistogramMedianFilter.class,
+			DefaultMedianFilter.class, in16, shape);
+		assertHistogramFilter(PercentileFilterOp.class,
+			HistogramPercentileFilter.class, DefaultPercentileFilter.class, in16,
+			shape, 90.0);
+	}
+
+	/**
+	 * Histogram filters must not match non-rectangular shapes, shapes skipping
+	 * the center, or non-integer types.
+	 */
+	@Test
+	public void testHistogramFiltersFallback() {
+		final Img<UnsignedByteType> in8 = generateUnsignedByteArrayTestImg(true,
+			new long[] { 10, 10 });
+		final Img<UnsignedByteType> out8 = generateUnsignedByteArrayTestImg(false,
+			new long[] { 10, 10 });
+
+		assertEquals(HistogramMedianFilter.class, ops.op(MedianFilterOp.class,
+			out8, in8, shape).getClass());
+		assertEquals(DefaultMedianFilter.class, ops.op(MedianFilterOp.class, out8,
+			in8, new RectangleShape(1, true)).getClass());
+		assertEquals(DefaultMedianFilter.class, ops.op(MedianFilterOp.class, out,
+			in, shape).getClass());
+	}
+
+	// -- Helper methods --
+
+	private <T extends RealType<T>> void assertHistogramFilter(
+		final Class<? extends Op> opType, final Class<? extends Op> histogramOp,
+		final Class<? extends Op> defaultOp, final Img<T> input,
+		final RectangleShape neighborhood, final Object... args)
+	{
+		final Img<T> expected = input.factory().create(input, input
+			.firstElement());
+		final Img<T> actual = input.factory().create(input, input.firstElement());
+
+		final Object[] allArgs = new Object[args.length + 4];
+		allArgs[0] = actual;
+		allArgs[1] = input;
+		allArgs[2] = neighborhood;
+		allArgs[3] = oobFactory;
+		System.arraycopy(args, 0, allArgs, 4, args.length);
+
+		final Op op = ops.op(opType, allArgs);
+		assertEquals(histogramOp, op.getClass());
+		op.run();
+
+		allArgs[0] = expected;
+		ops.run(defaultOp, allArgs);
+
+		assertIterationsEqual(expected, actual);
+	}
+
 }
@@ -36,6 +36,8 @@ import static org.junit.Assert.assertSame;
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.filter.FFTBufferPool;
+import net.imagej.ops.filter.FFTBufferService;
 import net.imagej.ops.filter.fft.CreateOutputFFTMethods;
 import net.imagej.ops.filter.pad.PadInputFFTMethods;
 import net.imagej.ops.filter.pad.PadShiftKernelFFTMethods;
@@ -214,6 +216,55 @@ public class ConvolveTest extends AbstractOpTest {
 		assertEquals(size[0], out2.dimension(0));
 	}
 
+	/** tests that kernel spectra are reused only while the kernel is unchanged */
+	@Test
+	public void testConvolveReusesKernelSpectrum() {
+
+		final float delta = 0.01f;
+
+		final int[] size = new int[] { 64, 48 };
+		final int[] kernelSize = new int[] { 9, 7 };
+
+		final Img<FloatType> in = new ArrayImgFactory<FloatType>().create(size,
+			new FloatType());
+		placeSphereInCenter(in);
+
+		final Img<FloatType> kernel = new ArrayImgFactory<FloatType>().create(
+			kernelSize, new FloatType());
+		placeSphereInCenter(kernel);
+
+		final FFTBufferPool pool = ops.context().service(FFTBufferService.class)
+			.getPool();
+		pool.clear();
+
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> out1 = (Img<FloatType>) ops.run(ConvolveFFTF.class,
+			in, kernel);
+		final long hits = pool.getSpectrumHits();
+
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> out2 = (Img<FloatType>) ops.run(ConvolveFFTF.class,
+			in, kernel);
+		assertEquals(hits + 1, pool.getSpectrumHits());
+		assertIterationsEqual(out1, out2);
+
+		// modifying the kernel must invalidate its spectrum
+		for (final FloatType t : kernel) {
+			t.mul(2);
+		}
+
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> out3 = (Img<FloatType>) ops.run(ConvolveFFTF.class,
+			in, kernel);
+		assertEquals(hits + 1, pool.getSpectrumHits());
+
+		final FloatType sum1 = new FloatType();
+		final FloatType sum3 = new FloatType();
+		ops.stats().sum(sum1, out1);
+		ops.stats().sum(sum3, out3);
+		assertEquals(2 * sum1.get(), sum3.get(), delta);
+	}
+
 	// utility to place a small sphere at the center of the image
 	private void placeSphereInCenter(Img<FloatType> img) {
 
@@ -33,11 +33,19 @@ package net.imagej.ops.geom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
+import net.imagej.ops.geom.geom2d.CaliperDescriptor;
+import net.imagej.ops.geom.geom2d.CalipersFeret;
 import net.imagej.ops.geom.geom2d.DefaultCircularity;
 import net.imagej.ops.geom.geom2d.DefaultContour;
 import net.imagej.ops.geom.geom2d.DefaultEccentricity;
+import net.imagej.ops.geom.geom2d.DefaultFeret;
 import net.imagej.ops.geom.geom2d.DefaultFeretsAngle;
 import net.imagej.ops.geom.geom2d.DefaultFeretsDiameter;
 import net.imagej.ops.geom.geom2d.DefaultMajorAxis;
@@ -45,6 +53,7 @@ import net.imagej.ops.geom.geom2d.DefaultMinorAxis;
 import net.imagej.ops.geom.geom2d.DefaultPerimeterLength;
 import net.imagej.ops.geom.geom2d.DefaultRoundness;
 import net.imagej.ops.geom.geom2d.DefaultSizePolygon;
+import net.imagej.ops.geom.geom2d.ShapeFeatureTable;
 import net.imagej.ops.geom.geom2d.SolidityPolygon;
 import net.imagej.ops.geom.geom3d.BoundaryPixelCountConvexHullMesh;
 import net.imagej.ops.geom.geom3d.BoundarySizeConvexHullMesh;
@@ -60,15 +69,25 @@ import net.imagej.ops.geom.geom3d.DefaultSurfacePixelCount;
 import net.imagej.ops.geom.geom3d.RugosityMesh;
 import net.imagej.ops.geom.geom3d.SizeConvexHullMesh;
 import net.imagej.ops.geom.geom3d.SolidityMesh;
+import net.imagej.ops.geom.geom3d.mesh.ArrayMesh;
+import net.imagej.ops.geom.geom3d.mesh.ArrayMeshVolume;
+import net.imagej.ops.geom.geom3d.mesh.DefaultVolume;
 import net.imagej.ops.geom.geom3d.mesh.Mesh;
+import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
 import net.imglib2.RealLocalizable;
 import net.imglib2.RealPoint;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.roi.geometric.Polygon;
+import net.imglib2.roi.labeling.ImgLabeling;
 import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.roi.labeling.LabelRegions;
+import net.imglib2.roi.labeling.LabelingType;
+import net.imglib2.type.numeric.integer.IntType;
 import net.imglib2.type.numeric.real.DoubleType;
 import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Pair;
 
 import net.imglib2.view.Views;
 import org.junit.BeforeClass;
@@ -193,6 +212,110 @@ public class GeomTest extends AbstractFeatureTest {
 			"] was [" + actualAngle + "]", isEquals);
 	}
 
+	@Test
+	public void testCalipers() {
+		final CaliperDescriptor calipers = ops.geom().calipers(contour);
+		assertEquals(Ops.Geometric.FeretsDiameter.NAME, ops.geom().feretsDiameter(
+			contour).get(), calipers.getMaxFeretDiameter(),
+			AbstractFeatureTest.SMALL_DELTA);
+
+		// compare with measuring the hull from each of its edges
+		final List<? extends RealLocalizable> hull = ops.geom().convexHull(contour)
+			.getVertices();
+		double minWidth = Double.POSITIVE_INFINITY;
+		double minArea = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < hull.size(); i++) {
+			final RealLocalizable p = hull.get(i);
+			final RealLocalizable q = hull.get((i + 1) % hull.size());
+			final double length = Math.hypot(q.getDoublePosition(0) - p
+				.getDoublePosition(0), q.getDoublePosition(1) - p.getDoublePosition(1));
+			final double ux = (q.getDoublePosition(0) - p.getDoublePosition(0)) /
+				length;
+			final double uy = (q.getDoublePosition(1) - p.getDoublePosition(1)) /
+				length;
+			double width = 0;
+			double start = Double.POSITIVE_INFINITY;
+			double end = Double.NEGATIVE_INFINITY;
+			for (final RealLocalizable v : hull) {
+				final double dx = v.getDoublePosition(0) - p.getDoublePosition(0);
+				final double dy = v.getDoublePosition(1) - p.getDoublePosition(1);
+				width = Math.max(width, Math.abs(ux * dy - uy * dx));
+				start = Math.min(start, ux * dx + uy * dy);
+				end = Math.max(end, ux * dx + uy * dy);
+			}
+			minWidth = Math.min(minWidth, width);
+			minArea = Math.min(minArea, width * (end - start));
+		}
+		assertEquals(minWidth, calipers.getMinFeretDiameter(),
+			AbstractFeatureTest.SMALL_DELTA);
+		assertEquals(minArea, calipers.getMinAreaRectangleArea(),
+			AbstractFeatureTest.SMALL_DELTA);
+		assertEquals(minArea, ops.geom().size(calipers.getMinAreaRectangle())
+			.get(), AbstractFeatureTest.BIG_DELTA);
+	}
+
+	@Test
+	public void testCalipersFeret() {
+		// NB: The square has two diameters of the same length.
+		final Polygon square = new Polygon(Arrays.<RealLocalizable> asList(
+			new RealPoint(2, 0), new RealPoint(2, 2), new RealPoint(0, 2),
+			new RealPoint(0, 0), new RealPoint(1, 0)));
+		for (final Polygon polygon : Arrays.asList(contour, square)) {
+			final Pair<RealLocalizable, RealLocalizable> expected = ops.geom()
+				.feret(polygon);
+			final CaliperDescriptor calipers = ops.geom().calipers(polygon);
+			assertTrue(ops.op(Ops.Geometric.Feret.class,
+				polygon) instanceof CalipersFeret);
+
+			final Pair<?, ?> naive = (Pair<?, ?>) ops.run(DefaultFeret.class,
+				polygon);
+			assertTrue(naive.getA() == expected.getA());
+			assertTrue(naive.getB() == expected.getB());
+			assertTrue(naive.getA() == calipers.getMaxFeretPoints().getA());
+			assertTrue(naive.getB() == calipers.getMaxFeretPoints().getB());
+			assertEquals(Ops.Geometric.FeretsAngle.NAME, ops.geom().feretsAngle(
+				polygon).get(), calipers.getMaxFeretAngle(), 0);
+		}
+	}
+
+	@Test
+	public void testShapeFeatures() {
+		final ImgLabeling<String, IntType> labeling = new ImgLabeling<>(ArrayImgs
+			.ints(100, 100));
+		final Cursor<LabelingType<String>> cursor = labeling.localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			final double x = cursor.getDoublePosition(0);
+			final double y = cursor.getDoublePosition(1);
+			if (Math.pow(x - 25, 2) + Math.pow(y - 25, 2) < 400) {
+				cursor.get().add("disc");
+			}
+			else if (x > 55 && x < 90 && y > 10 && y < 30) {
+				cursor.get().add("rectangle");
+			}
+			else if (Math.pow((x - 60) / 30, 2) + Math.pow((y - 70) / 15, 2) < 1) {
+				cursor.get().add("ellipse");
+			}
+		}
+
+		final List<Class<? extends Op>> features = Arrays.asList(
+			Ops.Geometric.Size.class, Ops.Geometric.Circularity.class,
+			Ops.Geometric.Solidity.class, Ops.Geometric.Convexity.class);
+		final ShapeFeatureTable<String> table = ops.geom().shapeFeatures(labeling,
+			features);
+		assertEquals(3, table.getRowCount());
+
+		final LabelRegions<String> regions = new LabelRegions<>(labeling);
+		for (int row = 0; row < table.getRowCount(); row++) {
+			final Polygon polygon = ops.geom().contour(regions.getLabelRegion(table
+				.getLabels().get(row)), true, true);
+			for (final Class<? extends Op> feature : features) {
+				assertEquals(feature.getSimpleName(), ((DoubleType) ops.run(feature,
+					polygon)).get(), table.get(feature, row), 0);
+			}
+		}
+	}
+
 	@Test
 	public void testEccentricity() {
 		final double expected = expensiveTestsEnabled ? 1.670273923 : 1.689817582;
@@ -326,6 +449,28 @@ public class GeomTest extends AbstractFeatureTest {
 			.run(DefaultSurfaceArea.class, mesh)).get(), 0.186);
 	}
 
+	@Test
+	public void testArrayMarchingCubes() {
+		final Mesh arrayMesh = ops.geom().marchingCubes(region3D);
+		assertTrue(arrayMesh instanceof ArrayMesh);
+
+		assertEquals(mesh.getFacets().size(), arrayMesh.getFacets().size());
+		assertEquals(mesh.getVertices().size(), arrayMesh.getVertices().size());
+		final Iterator<RealLocalizable> expected = mesh.getVertices().iterator();
+		for (final RealLocalizable v : arrayMesh.getVertices()) {
+			final RealLocalizable e = expected.next();
+			for (int d = 0; d < 3; d++) {
+				assertEquals(e.getDoublePosition(d), v.getDoublePosition(d), 0);
+			}
+		}
+
+		assertEquals(mesh.getSurfaceArea(), arrayMesh.getSurfaceArea(),
+			AbstractFeatureTest.SMALL_DELTA);
+		assertEquals(((DoubleType) ops.run(DefaultVolume.class, mesh)).get(),
+			((DoubleType) ops.run(ArrayMeshVolume.class, arrayMesh)).get(),
+			AbstractFeatureTest.SMALL_DELTA);
+	}
+
 	@Test
 	public void testBoundaryPixelCount() {
 		final double expected = expensiveTestsEnabled ? 20996.0 : 2070.0;
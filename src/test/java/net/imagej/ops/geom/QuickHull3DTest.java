@@ -33,11 +33,13 @@ package net.imagej.ops.geom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.geom.geom3d.ArrayConvexHull3D;
 import net.imagej.ops.geom.geom3d.DefaultConvexHull3D;
 import net.imagej.ops.geom.geom3d.mesh.DefaultMesh;
 import net.imagej.ops.geom.geom3d.mesh.Facet;
@@ -49,10 +51,10 @@ import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
 import org.junit.Test;
 
 /**
- * This class tests the {@link DefaultConvexHull3D} implementation. The number
- * of facets is verified with qhull.org and
- * {@link QuickHull3DTest#isConvex(List, double)} checks for each centroid if it
- * is behind all other facets.
+ * This class tests the {@link DefaultConvexHull3D} and
+ * {@link ArrayConvexHull3D} implementations. The number of facets is verified
+ * with qhull.org and {@link QuickHull3DTest#isConvex(List, double)} checks for
+ * each centroid if it is behind all other facets.
  * 
  * @author Tim-Oliver Buchholz (University of Konstanz)
  */
@@ -67,6 +69,42 @@ public class QuickHull3DTest extends AbstractOpTest {
 		assertEquals(175, convexHull.getVertices().size());
 	}
 
+	@Test
+	public void arrayQuickhull_100_000_Test() {
+		DefaultMesh df = new DefaultMesh(randomPointSet(100000, 20150818));
+
+		DefaultMesh expected = (DefaultMesh) ops.run(DefaultConvexHull3D.class,
+			df);
+		DefaultMesh convexHull = (DefaultMesh) ops.run(ArrayConvexHull3D.class,
+			df);
+		assertTrue(isConvex(convexHull.getFacets(), convexHull.getEpsilon()));
+		assertEquals(175, convexHull.getVertices().size());
+		assertEquals(expected.getFacets().size(), convexHull.getFacets().size());
+		assertEquals(new ArrayList<>(expected.getVertices()), new ArrayList<>(
+			convexHull.getVertices()));
+	}
+
+	@Test
+	public void arrayQuickhull_grid_Test() {
+		// many coplanar points
+		LinkedHashSet<RealLocalizable> points = new LinkedHashSet<>();
+		Random r = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			points.add(new Vertex(r.nextInt(10) + 0.5 * r.nextInt(2), r.nextInt(10),
+				r.nextInt(8) + 0.5));
+		}
+		DefaultMesh df = new DefaultMesh(points);
+
+		DefaultMesh expected = (DefaultMesh) ops.run(DefaultConvexHull3D.class,
+			df);
+		DefaultMesh convexHull = (DefaultMesh) ops.geom().convexHull(df);
+		assertTrue(isConvex(convexHull.getFacets(), convexHull.getEpsilon()));
+		assertEquals(expected.getFacets().size(), convexHull.getFacets().size());
+		assertEquals(new ArrayList<>(expected.getVertices()), new ArrayList<>(
+			convexHull.getVertices()));
+		assertEquals(expected.getSurfaceArea(), convexHull.getSurfaceArea(), 0);
+	}
+
 	@Test
 	public void quickhull_4_Test() {
 		LinkedHashSet<RealLocalizable> points = new LinkedHashSet<>();
@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.cooccurrenceMatrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+
+import net.imagej.ops.features.AbstractFeatureTest;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.roi.Regions;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.roi.labeling.LabelRegions;
+import net.imglib2.roi.labeling.LabelingType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.util.IntervalIndexer;
+import net.imglib2.util.Intervals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link CooccurrenceMatrixBuilder}.
+ *
+ * @author agent
+ */
+public class CooccurrenceMatrixBuilderTest extends AbstractFeatureTest {
+
+	@Test
+	public void testRectangular2D() {
+		assertMatrices(random, 32, new int[] { 1, 2, 5 }, MatrixOrientation2D
+			.values());
+		assertMatrices(constant, 8, new int[] { 1 }, MatrixOrientation2D
+			.values());
+	}
+
+	@Test
+	public void testMasked2D() {
+		final ImgLabeling<String, IntType> labeling = new ImgLabeling<>(ArrayImgs
+			.ints(100, 100));
+		final Cursor<LabelingType<String>> cursor = labeling.localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			final double x = cursor.getDoublePosition(0) - 50;
+			final double y = cursor.getDoublePosition(1) - 40;
+			if (x * x + y * y < 30 * 30) cursor.get().add("1");
+		}
+		final LabelRegion<String> region = new LabelRegions<>(labeling)
+			.getLabelRegion("1");
+
+		assertMatrices(Regions.sample(region, random), 16, new int[] { 1, 3 },
+			MatrixOrientation2D.values());
+	}
+
+	@Test
+	public void testRectangular3D() {
+		// NB: Large enough to be processed in parallel.
+		assertMatrices(random3d, 8, new int[] { 1, 2 }, MatrixOrientation3D
+			.values());
+	}
+
+	@Test
+	public void testSparse() {
+		final int[] distances = { 1, 4 };
+		final CooccurrenceMatrixBuilder builder = new CooccurrenceMatrixBuilder(64,
+			distances, MatrixOrientation2D.values());
+		final double[][][][] expected = builder.build(ops, random);
+		final SparseCooccurrenceMatrix[][] actual = builder.buildSparse(ops,
+			random);
+		for (int d = 0; d < distances.length; d++) {
+			for (int o = 0; o < MatrixOrientation2D.values().length; o++) {
+				final SparseCooccurrenceMatrix matrix = actual[d][o];
+				for (int k = 0; k < matrix.size(); k++) {
+					assertNotEquals(0, matrix.value(k), 0);
+				}
+				final double[][] dense = matrix.toDense();
+				for (int i = 0; i < 64; i++) {
+					assertArrayEquals(expected[d][o][i], dense[i], 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOp() {
+		final double[][] expected = new CooccurrenceMatrixBuilder(32, new int[] {
+			2 }, MatrixOrientation2D.DIAGONAL).build(ops, random)[0][0];
+		final double[][] actual = ops.image().cooccurrenceMatrix(random, 32, 2,
+			MatrixOrientation2D.DIAGONAL);
+		for (int i = 0; i < expected.length; i++) {
+			assertArrayEquals(expected[i], actual[i], 0);
+		}
+	}
+
+	@Test
+	public void testMultiOrientationOp() {
+		final int[] distances = { 1, 3 };
+		final double[][][][] expected = new CooccurrenceMatrixBuilder(16,
+			distances, MatrixOrientation2D.values()).build(ops, random);
+		final double[][][][] actual = ops.image().cooccurrenceMatrix(random, 16,
+			distances, MatrixOrientation2D.values());
+		for (int d = 0; d < distances.length; d++) {
+			for (int o = 0; o < MatrixOrientation2D.values().length; o++) {
+				for (int i = 0; i < 16; i++) {
+					assertArrayEquals(expected[d][o][i], actual[d][o][i], 0);
+				}
+			}
+		}
+	}
+
+	private void assertMatrices(final IterableInterval<UnsignedByteType> in,
+		final int numGreyLevels, final int[] distances,
+		final MatrixOrientation... orientations)
+	{
+		final double[][][][] matrices = new CooccurrenceMatrixBuilder(
+			numGreyLevels, distances, orientations).build(ops, in);
+		assertEquals(distances.length, matrices.length);
+
+		for (int d = 0; d < distances.length; d++) {
+			assertEquals(orientations.length, matrices[d].length);
+			for (int o = 0; o < orientations.length; o++) {
+				final double[][] expected = cooccurrenceMatrix(in, numGreyLevels,
+					distances[d], orientations[o]);
+				for (int i = 0; i < numGreyLevels; i++) {
+					assertArrayEquals(orientations[o] + " at distance " + distances[d],
+						expected[i], matrices[d][o][i], SMALL_DELTA);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the co-occurrence matrix on a dense copy of the quantised input,
+	 * in which elements outside of the input are marked with -1.
+	 */
+	private static <T extends RealType<T>> double[][] cooccurrenceMatrix(
+		final IterableInterval<T> in, final int numGreyLevels, final int distance,
+		final MatrixOrientation orientation)
+	{
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (final T t : in) {
+			min = Math.min(min, t.getRealDouble());
+			max = Math.max(max, t.getRealDouble());
+		}
+
+		final int n = in.numDimensions();
+		final long[] dims = Intervals.dimensionsAsLongArray(in);
+		final int[] pixels = new int[(int) Intervals.numElements(in)];
+		Arrays.fill(pixels, -1);
+
+		final long[] position = new long[n];
+		final Cursor<T> cursor = in.localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			cursor.localize(position);
+			for (int k = 0; k < n; k++) {
+				position[k] -= in.min(k);
+			}
+			pixels[(int) IntervalIndexer.positionToIndex(position, dims)] =
+				(int) (((cursor.get().getRealDouble() - min) / (max - min)) *
+					(numGreyLevels - 1));
+		}
+
+		final double[][] matrix = new double[numGreyLevels][numGreyLevels];
+		final long[] second = new long[n];
+		int nrPairs = 0;
+		for (int i = 0; i < pixels.length; i++) {
+			if (pixels[i] < 0) continue;
+			IntervalIndexer.indexToPosition(i, dims, position);
+			boolean inside = true;
+			for (int k = 0; k < n; k++) {
+				second[k] = position[k] + orientation.getValueAtDim(k) * distance;
+				inside &= second[k] >= 0 && second[k] < dims[k];
+			}
+			if (!inside) continue;
+			final int j = (int) IntervalIndexer.positionToIndex(second, dims);
+			if (pixels[j] < 0) continue;
+			matrix[pixels[i]][pixels[j]]++;
+			nrPairs++;
+		}
+
+		for (final double[] row : matrix) {
+			for (int col = 0; col < row.length; col++) {
+				row[col] /= Math.max(nrPairs, 1);
+			}
+		}
+		return matrix;
+	}
+
+}
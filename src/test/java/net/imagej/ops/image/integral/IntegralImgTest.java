@@ -1,17 +1,22 @@
 package net.imagej.ops.image.integral;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Ops;
 import net.imagej.ops.threshold.apply.LocalThresholdTest;
+import net.imglib2.Cursor;
 import net.imglib2.FinalInterval;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
-import net.imglib2.img.array.ArrayImgs;
-import net.imglib2.img.basictypeaccess.array.ByteArray;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
 import net.imglib2.type.numeric.integer.LongType;
 import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.view.Views;
 
 import org.junit.Before;
@@ -73,23 +78,64 @@ public class IntegralImgTest extends AbstractOpTest  {
 		LocalThresholdTest.testIterableIntervalSimilarity(Views.iterable(out1), Views.iterable(Views.offsetInterval(out2, interval)));
 	}
 
-	public ArrayImg<ByteType, ByteArray> generateKnownByteArrayTestImgLarge() {
-		final long[] dims = new long[] { 3, 3 };
-		final byte[] array = new byte[9];
+	/**
+	 * @see ArrayIntegralImg
+	 * @see ArraySquareIntegralImg
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void testArrayIntegralImageSimilarity() {
+		final Img<ByteType> in3 = generateByteArrayTestImg(true, 11, 7, 5);
+		final Img<FloatType> inFloat = generateFloatArrayTestImg(true, 13, 6);
 
-		array[0] = (byte) 40;
-		array[1] = (byte) 40;
-		array[2] = (byte) 20;
+		for (final RandomAccessibleInterval input : new RandomAccessibleInterval[] {
+			in, in3, inFloat })
+		{
+			final RandomAccessibleInterval<RealType<?>> expected1 =
+				(RandomAccessibleInterval<RealType<?>>) ops.run(
+					DefaultIntegralImg.class, input);
+			final RandomAccessibleInterval<RealType<?>> actual1 =
+				(RandomAccessibleInterval<RealType<?>>) ops.run(
+					Ops.Image.Integral.class, input);
+			assertTrue(actual1 instanceof ArrayImg);
+			LocalThresholdTest.testIterableIntervalSimilarity((IterableInterval) Views
+				.flatIterable(expected1), (IterableInterval) Views.flatIterable(
+					actual1));
 
-		array[3] = (byte) 40;
-		array[4] = (byte) 40;
-		array[5] = (byte) 20;
+			final RandomAccessibleInterval<RealType<?>> expected2 =
+				(RandomAccessibleInterval<RealType<?>>) ops.run(
+					SquareIntegralImg.class, input);
+			final RandomAccessibleInterval<RealType<?>> actual2 =
+				(RandomAccessibleInterval<RealType<?>>) ops.run(
+					ArraySquareIntegralImg.class, input);
+			LocalThresholdTest.testIterableIntervalSimilarity((IterableInterval) Views
+				.flatIterable(expected2), (IterableInterval) Views.flatIterable(
+					actual2));
+		}
+	}
 
-		array[6] = (byte) 20;
-		array[7] = (byte) 20;
-		array[8] = (byte) 100;
+	/**
+	 * @see SquareIntegralImg
+	 * @see ArraySquareIntegralImg
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void testSquareIntegralImageValues() {
+		final Img<ByteType> known = LocalThresholdTest
+			.generateKnownByteArrayTestImgLarge();
+		final long[] expected = { 1600, 3200, 3600, 3200, 6400, 7200, 3600, 7200,
+			18000 };
 
-		return ArrayImgs.bytes(array, dims);
+		for (final Class<?> opClass : new Class<?>[] { SquareIntegralImg.class,
+			ArraySquareIntegralImg.class })
+		{
+			final RandomAccessibleInterval<RealType<?>> result =
+				(RandomAccessibleInterval<RealType<?>>) ops.run(opClass, known);
+			final Cursor<RealType<?>> c = Views.flatIterable(result).cursor();
+			for (final long value : expected) {
+				assertEquals(value, c.next().getRealDouble(), 0d);
+			}
+		}
 	}
 
 }
@@ -62,10 +62,12 @@ import net.imagej.ops.imagemoments.normalizedcentralmoments.DefaultNormalizedCen
 import net.imagej.ops.imagemoments.normalizedcentralmoments.DefaultNormalizedCentralMoment21;
 import net.imagej.ops.imagemoments.normalizedcentralmoments.DefaultNormalizedCentralMoment30;
 import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.UnsignedByteType;
 import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.view.Views;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -186,4 +188,65 @@ public class ImageMomentsTest extends AbstractOpTest {
 			.run(DefaultHuMoment7.class, img)).getRealDouble(), 1e-3);
 	}
 
+	/**
+	 * Test that the batched moments agree with the single moment ops.
+	 */
+	@Test
+	public void testMomentSet() {
+		assertMomentSet(img);
+
+		// NB: large enough to be split into chunks, far from the origin
+		final Img<UnsignedByteType> large =
+			ArrayImgs.unsignedBytes(new long[] { 300, 200 });
+		final Random rand = new Random(42L);
+		for (final UnsignedByteType t : large) {
+			t.set(rand.nextInt(256));
+		}
+		assertMomentSet(Views.iterable(Views.translate(large, 1000, 2000)));
+	}
+
+	// -- Helper methods --
+
+	private void assertMomentSet(final IterableInterval<UnsignedByteType> in) {
+		final ImageMomentSet moments = ops.imagemoments().moments(in);
+
+		assertMoment(ops.imagemoments().moment00(in), moments.getMoment00());
+		assertMoment(ops.imagemoments().moment01(in), moments.getMoment01());
+		assertMoment(ops.imagemoments().moment10(in), moments.getMoment10());
+		assertMoment(ops.imagemoments().moment11(in), moments.getMoment11());
+
+		assertMoment(ops.imagemoments().centralMoment02(in), moments
+			.getCentralMoment02());
+		assertMoment(ops.imagemoments().centralMoment03(in), moments
+			.getCentralMoment03());
+		assertMoment(ops.imagemoments().centralMoment11(in), moments
+			.getCentralMoment11());
+		assertMoment(ops.imagemoments().centralMoment12(in), moments
+			.getCentralMoment12());
+		assertMoment(ops.imagemoments().centralMoment20(in), moments
+			.getCentralMoment20());
+		assertMoment(ops.imagemoments().centralMoment21(in), moments
+			.getCentralMoment21());
+		assertMoment(ops.imagemoments().centralMoment30(in), moments
+			.getCentralMoment30());
+
+		assertMoment(ops.imagemoments().normalizedCentralMoment12(in), moments
+			.getNormalizedCentralMoment12());
+		assertMoment(ops.imagemoments().normalizedCentralMoment20(in), moments
+			.getNormalizedCentralMoment20());
+
+		assertMoment(ops.imagemoments().huMoment1(in), moments.getHuMoment1());
+		assertMoment(ops.imagemoments().huMoment2(in), moments.getHuMoment2());
+		assertMoment(ops.imagemoments().huMoment3(in), moments.getHuMoment3());
+		assertMoment(ops.imagemoments().huMoment4(in), moments.getHuMoment4());
+		assertMoment(ops.imagemoments().huMoment5(in), moments.getHuMoment5());
+		assertMoment(ops.imagemoments().huMoment6(in), moments.getHuMoment6());
+		assertMoment(ops.imagemoments().huMoment7(in), moments.getHuMoment7());
+	}
+
+	private void assertMoment(final DoubleType expected, final double actual) {
+		final double e = expected.getRealDouble();
+		assertEquals(e, actual, 1e-6 * Math.abs(e));
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.type.logic.BitType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link IIToIIOutputIIP}.
+ *
+ * @author agent
+ */
+public class IIToIIOutputIIPTest extends AbstractOpTest {
+
+	@Test
+	public void testArrayImgs() {
+		final Img<BitType> in1 = random(ArrayImgs.bits(67, 3, 2), 1);
+		final Img<BitType> in2 = random(ArrayImgs.bits(67, 3, 2), 2);
+		assertSame(IIToIIOutputIIP.And.class, ops.op(Ops.Logic.And.class, in1,
+			in2).getClass());
+		assertLogic(in1, in2);
+	}
+
+	@Test
+	public void testPlanarImgs() {
+		// NB: Each plane has 201 bits, i.e. does not end at a word boundary.
+		final Img<BitType> in1 = random(PlanarImgs.bits(67, 3, 2), 1);
+		final Img<BitType> in2 = random(PlanarImgs.bits(67, 3, 2), 2);
+		assertSame(IIToIIOutputIIP.Or.class, ops.op(Ops.Logic.Or.class, in1, in2)
+			.getClass());
+		assertLogic(in1, in2);
+	}
+
+	@Test
+	public void testInplace() {
+		final Img<BitType> in1 = random(ArrayImgs.bits(100), 1);
+		final Img<BitType> in2 = random(ArrayImgs.bits(100), 2);
+		final Img<BitType> expected = ops.logic().xor(in1, in2);
+		ops.logic().xor(in1, in1, in2);
+		assertIterationsEqual(expected, in1);
+	}
+
+	// -- Helper methods --
+
+	private void assertLogic(final Img<BitType> in1, final Img<BitType> in2) {
+		final Img<BitType> and = ops.logic().and(in1, in2);
+		final Img<BitType> or = ops.logic().or(in1, in2);
+		final Img<BitType> xor = ops.logic().xor(in1, in2);
+		final Cursor<BitType> c1 = in1.cursor();
+		final Cursor<BitType> c2 = in2.cursor();
+		final Cursor<BitType> cAnd = and.cursor();
+		final Cursor<BitType> cOr = or.cursor();
+		final Cursor<BitType> cXor = xor.cursor();
+		while (c1.hasNext()) {
+			final boolean a = c1.next().get();
+			final boolean b = c2.next().get();
+			assertEquals(a && b, cAnd.next().get());
+			assertEquals(a || b, cOr.next().get());
+			assertEquals(a ^ b, cXor.next().get());
+		}
+	}
+
+	private static Img<BitType> random(final Img<BitType> img, final long seed) {
+		final Random random = new Random(seed);
+		for (final BitType t : img) {
+			t.set(random.nextBoolean());
+		}
+		return img;
+	}
+
+}
@@ -37,16 +37,20 @@ import java.util.Iterator;
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Op;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.view.Views;
 
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
 /**
- * Test for {@link DefaultMapNeighborhood} and {@link MapNeighborhoodWithCenter}.
+ * Test for {@link DefaultMapNeighborhood}, {@link MapNeighborhoodWithCenter}
+ * and their parallel variants.
  *
  * @author Jonathan Hale (University of Konstanz)
  */
@@ -113,6 +117,71 @@ public class MapNeighborhoodTest extends AbstractOpTest {
 		}
 	}
 
+	/**
+	 * Test if every neighborhood pixel of the image was really accessed during
+	 * the parallel map operation.
+	 *
+	 * @see MapNeighborhoodParallel
+	 */
+	@Test
+	public void testMapNeighborhoodsParallelAccess() {
+		final Op mapOp =
+			ops.op(MapNeighborhoodParallel.class, out, in,
+				new RectangleShape(1, false), new CountNeighbors());
+		mapOp.run();
+
+		for (final ByteType t : out) {
+			assertEquals(9, t.get());
+		}
+	}
+
+	/**
+	 * Test if every neighborhood pixel of the image was really accessed during
+	 * the parallel map operation.
+	 *
+	 * @see MapNeighborhoodWithCenterParallel
+	 */
+	@Test
+	public void testMapNeighborhoodsWithCenterParallelAccess() {
+		final Op mapOp =
+			ops.op(MapNeighborhoodWithCenterParallel.class, out, in,
+				new RectangleShape(1, false), new CountNeighborsWithCenter());
+		mapOp.run();
+
+		for (final ByteType t : out) {
+			assertEquals(9, t.get());
+		}
+
+		for (final ByteType t : in) {
+			assertEquals(9, t.get());
+		}
+	}
+
+	/**
+	 * Test that the parallel map produces the same result as the sequential one
+	 * on a 3D image.
+	 */
+	@Test
+	public void testMapNeighborhoodsParallelEqualsDefault() {
+		final Img<ByteType> in3D = ArrayImgs.bytes(23, 17, 9);
+		byte value = 0;
+		for (final ByteType t : in3D) {
+			t.set(value++);
+		}
+		final Img<ByteType> expected = ArrayImgs.bytes(23, 17, 9);
+		final Img<ByteType> actual = ArrayImgs.bytes(23, 17, 9);
+
+		final RectangleShape shape = new RectangleShape(2, false);
+		final RandomAccessibleInterval<ByteType> extended = Views.interval(Views
+			.extendMirrorSingle(in3D), in3D);
+		ops.run(DefaultMapNeighborhood.class, expected, extended, shape,
+			new SumNeighbors());
+		ops.run(MapNeighborhoodParallel.class, actual, extended, shape,
+			new SumNeighbors());
+
+		assertIterationsEqual(expected, actual);
+	}
+
 	/**
 	 * Function which increments the output value for every pixel in the
 	 * neighborhood.
@@ -161,6 +230,24 @@ public class MapNeighborhoodTest extends AbstractOpTest {
 		}
 	}
 
+	/**
+	 * Function which sets the output value to the (overflowing) sum of all
+	 * pixels in the neighborhood.
+	 */
+	private static class SumNeighbors extends
+		AbstractUnaryComputerOp<Iterable<ByteType>, ByteType>
+	{
+
+		@Override
+		public void compute1(final Iterable<ByteType> input, final ByteType output) {
+			byte sum = 0;
+			for (final ByteType t : input) {
+				sum += t.get();
+			}
+			output.set(sum);
+		}
+	}
+
 	/**
 	 * Computer which sets a outputPixel to <code>input.get() + 1</code>.
 	 * Generally, this computer is invalid as input to neighborhood maps.
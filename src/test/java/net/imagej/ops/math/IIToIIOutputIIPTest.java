@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.type.numeric.integer.ShortType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedIntType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link IIToIIOutputIIP}.
+ *
+ * @author agent
+ */
+public class IIToIIOutputIIPTest extends AbstractOpTest {
+
+	@Test
+	public void testOpSelection() {
+		final Img<FloatType> array = ArrayImgs.floats(10, 10);
+		final Img<FloatType> planar = PlanarImgs.floats(10, 10);
+		assertSame(IIToIIOutputIIP.AddFloat.class, ops.op(Ops.Math.Add.class,
+			array, array).getClass());
+		assertSame(IIToIIOutputIIP.AddFloat.class, ops.op(Ops.Math.Add.class,
+			planar, planar).getClass());
+		// NB: Mixed storage layouts fall back to the cursor-based versions.
+		assertNotSame(IIToIIOutputIIP.AddFloat.class, ops.op(Ops.Math.Add.class,
+			array, planar).getClass());
+	}
+
+	@Test
+	public void testUnsignedDivide() {
+		final Img<UnsignedByteType> in1 = ArrayImgs.unsignedBytes(new byte[] {
+			(byte) 200, (byte) 255, 10, (byte) 130 }, 2, 2);
+		final Img<UnsignedByteType> in2 = ArrayImgs.unsignedBytes(new byte[] { 3,
+			(byte) 128, 10, (byte) 255 }, 2, 2);
+		final Img<UnsignedByteType> out = ops.math().divide(in1, in2);
+		assertTrue(out instanceof ArrayImg);
+		assertIterationsEqual(ArrayImgs.unsignedBytes(new byte[] { 66, 1, 1, 0 },
+			2, 2), out);
+
+		final Img<UnsignedIntType> i1 = ArrayImgs.unsignedInts(new int[] { -1,
+			-10 }, 2);
+		final Img<UnsignedIntType> i2 = ArrayImgs.unsignedInts(new int[] { 2, 3 },
+			2);
+		final Img<UnsignedIntType> io = ops.math().divide(i1, i2);
+		assertIterationsEqual(ArrayImgs.unsignedInts(new int[] { 0x7fffffff,
+			(int) (0xfffffff6L / 3) }, 2), io);
+	}
+
+	@Test
+	public void testMatchesCursorVersion() {
+		final Random random = new Random(42);
+		final PlanarImg<ShortType, ?> in1 = PlanarImgs.shorts(17, 13, 5);
+		final PlanarImg<ShortType, ?> in2 = PlanarImgs.shorts(17, 13, 5);
+		for (final ShortType t : in1) {
+			t.set((short) random.nextInt());
+		}
+		for (final ShortType t : in2) {
+			t.set((short) (random.nextInt(2000) + 1));
+		}
+
+		assertMatches(IIToIIOutputII.Add.class, Ops.Math.Add.class, in1, in2);
+		assertMatches(IIToIIOutputII.Subtract.class, Ops.Math.Subtract.class, in1,
+			in2);
+		assertMatches(IIToIIOutputII.Multiply.class, Ops.Math.Multiply.class, in1,
+			in2);
+		assertMatches(IIToIIOutputII.Divide.class, Ops.Math.Divide.class, in1,
+			in2);
+	}
+
+	@Test
+	public void testInplace() {
+		final Img<FloatType> in1 = generateFloatArrayTestImg(true, 20, 30);
+		final Img<FloatType> expected = in1.copy();
+		final Img<FloatType> in2 = generateFloatArrayTestImg(true, 20, 30);
+		ops.math().add(in1, in1, in2);
+
+		final Cursor<FloatType> e = expected.cursor();
+		final Cursor<FloatType> b = in2.cursor();
+		for (final FloatType t : in1) {
+			assertEquals(e.next().get() + b.next().get(), t.get(), 0);
+		}
+	}
+
+	// -- Helper methods --
+
+	@SuppressWarnings("unchecked")
+	private void assertMatches(final Class<? extends Op> cursorOp,
+		final Class<? extends Op> op, final Img<ShortType> in1,
+		final Img<ShortType> in2)
+	{
+		final Img<ShortType> expected = (Img<ShortType>) ops.run(cursorOp, in1,
+			in2);
+		final Img<ShortType> actual = (Img<ShortType>) ops.run(op, in1, in2);
+		assertTrue(actual instanceof PlanarImg);
+		assertIterationsEqual(expected, actual);
+	}
+
+}
@@ -30,15 +30,19 @@
 
 package net.imagej.ops.morphology;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imglib2.Cursor;
+import net.imglib2.Point;
 import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
 import net.imglib2.type.numeric.real.FloatType;
 
 import org.junit.Before;
@@ -90,4 +94,99 @@ public class MorphologyOpsTest extends AbstractOpTest {
 		assertNotNull("Img With Holes", ops.morphology().extractHoles(imgWithHoles,
 			StructuringElement.FOUR_CONNECTED, false));
 	}
+
+	@Test
+	public void testFillHoles() {
+		final Img<BitType> in = hollowBox();
+		final Img<BitType> out = ArrayImgs.bits(9, 8, 7);
+		ops.morphology().fillHoles(out, in, StructuringElement.FOUR_CONNECTED);
+		assertBox(out, true, true);
+		assertBox(in, true, false);
+
+		// in place
+		ops.morphology().fillHoles(in, in, StructuringElement.FOUR_CONNECTED);
+		assertBox(in, true, true);
+	}
+
+	@Test
+	public void testExtractHolesInPlace() {
+		final Img<BitType> img = hollowBox();
+		ops.morphology().extractHoles(img, img, StructuringElement.FOUR_CONNECTED);
+		assertBox(img, false, true);
+	}
+
+	@Test
+	public void testExtractHolesBackground() {
+		// NB: With a true background, the holes are still marked true.
+		final Img<BitType> in = hollowBox();
+		for (final BitType t : in) {
+			t.not();
+		}
+		final Img<BitType> out = ArrayImgs.bits(9, 8, 7);
+		ops.morphology().extractHoles(out, in, StructuringElement.FOUR_CONNECTED,
+			true);
+		assertBox(out, false, true);
+	}
+
+	@Test
+	public void testFloodFill() {
+		// two regions of ones, separated by a column of zeros
+		final Img<UnsignedByteType> in = ArrayImgs.unsignedBytes(7, 5);
+		for (final UnsignedByteType t : in) {
+			t.set(1);
+		}
+		final Cursor<UnsignedByteType> c = in.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			if (c.getLongPosition(0) == 3) c.get().set(0);
+		}
+
+		final Img<UnsignedByteType> out = ArrayImgs.unsignedBytes(7, 5);
+		ops.morphology().floodFill(out, in, new Point(1L, 2L),
+			StructuringElement.EIGHT_CONNECTED);
+
+		final Cursor<UnsignedByteType> oc = out.localizingCursor();
+		while (oc.hasNext()) {
+			oc.fwd();
+			assertEquals(oc.getLongPosition(0) < 3 ? 1 : 0, oc.get().get());
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Creates a box from 2 to 5 with a hole from 3 to 4 in a 9x8x7 image. */
+	private Img<BitType> hollowBox() {
+		final Img<BitType> img = ArrayImgs.bits(9, 8, 7);
+		final Cursor<BitType> c = img.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			c.get().set(inBox(c) && !inHole(c));
+		}
+		return img;
+	}
+
+	private void assertBox(final Img<BitType> img, final boolean walls,
+		final boolean hole)
+	{
+		final Cursor<BitType> c = img.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			final boolean expected = inHole(c) ? hole : inBox(c) && walls;
+			assertEquals(expected, c.get().get());
+		}
+	}
+
+	private boolean inBox(final Cursor<?> c) {
+		for (int d = 0; d < 3; d++) {
+			if (c.getLongPosition(d) < 2 || c.getLongPosition(d) > 5) return false;
+		}
+		return true;
+	}
+
+	private boolean inHole(final Cursor<?> c) {
+		for (int d = 0; d < 3; d++) {
+			if (c.getLongPosition(d) < 3 || c.getLongPosition(d) > 4) return false;
+		}
+		return true;
+	}
 }
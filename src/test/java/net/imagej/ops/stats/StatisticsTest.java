@@ -30,6 +30,8 @@
 
 package net.imagej.ops.stats;
 
+import java.util.Arrays;
+
 import net.imagej.ops.AbstractOpTest;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
@@ -257,6 +259,40 @@ public class StatisticsTest extends AbstractOpTest {
 			0.00001d);
 	}
 
+	@Test
+	public void testQuantileSelection() {
+		final double[] quantiles = { 0.9, 0.1, 0.5, 1.0, 0.5 };
+		final double[] multi = QuantileSelection.quantiles(img, quantiles);
+		final double[] sorted = array.clone();
+		Arrays.sort(sorted);
+		for (int i = 0; i < quantiles.length; i++) {
+			final double expected = sorted[QuantileSelection.rank(sorted.length,
+				quantiles[i])];
+			Assert.assertEquals(expected, multi[i], 0.0);
+			Assert.assertEquals(expected, ((DoubleType) ops.run(
+				DefaultQuantile.class, img, quantiles[i])).getRealDouble(), 0.0);
+		}
+
+		// NB: small value range of an integer type uses counting selection
+		final double[] bytes = QuantileSelection.quantiles(randomlyFilledImg,
+			quantiles);
+		final double[] byteValues = new double[(int) randomlyFilledImg.size()];
+		int index = 0;
+		for (final UnsignedByteType t : randomlyFilledImg) {
+			byteValues[index++] = t.getRealDouble();
+		}
+		final double[] reordered = byteValues.clone();
+		QuantileSelection.quantiles(reordered, reordered.length, quantiles,
+			multi);
+		Arrays.sort(byteValues);
+		for (int i = 0; i < quantiles.length; i++) {
+			final double expected = byteValues[QuantileSelection.rank(
+				byteValues.length, quantiles[i])];
+			Assert.assertEquals(expected, bytes[i], 0.0);
+			Assert.assertEquals(expected, multi[i], 0.0);
+		}
+	}
+
 	@Test
 	public void testSkewness() {
 		Assert.assertEquals("Skewness", -0.0012661517853476312, ((DoubleType) ops
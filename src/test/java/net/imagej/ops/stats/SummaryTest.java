@@ -0,0 +1,117 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link net.imagej.ops.Ops.Stats.Summary} and the ops reading from a
+ * {@link StatsSummary}.
+ *
+ * @author agent
+ */
+public class SummaryTest extends AbstractOpTest {
+
+	@Test
+	public void testSummary() {
+		final Img<UnsignedByteType> img =
+			generateRandomlyFilledUnsignedByteTestImgWithSeed(new long[] { 100,
+				100 }, 1234567890L);
+		final StatsSummary summary = ops.stats().summary(img);
+
+		assertEquals(10000, summary.getSize());
+		assertEquals(1277534.0, summary.getSum(), 1e-5);
+		assertEquals(127.7534, summary.getMean(), 1e-5);
+		assertEquals(5438.4780362436, summary.getVariance(), 1e-5);
+		assertEquals(73.7460374274008, summary.getStandardDeviation(), 1e-5);
+		assertEquals(5437.93418843998, summary.getMoment2AboutMean(), 1e-5);
+		assertEquals(-507.810691261427, summary.getMoment3AboutMean(), 1e-5);
+		assertEquals(53069780.9168701, summary.getMoment4AboutMean(), 1e-3);
+		assertEquals(-0.0012661517853476312, summary.getSkewness(), 1e-5);
+		assertEquals(1.794289587623922, summary.getKurtosis(), 1e-5);
+		assertEquals(0, summary.getMin(), 0);
+		assertEquals(254, summary.getMax(), 0);
+		assertEquals(Double.POSITIVE_INFINITY, summary.getSumOfInverses(), 0);
+
+		// the per-feature ops read the same values from the summary
+		assertEquals(summary.getMean(), ops.stats().<DoubleType> mean(summary)
+			.get(), 0);
+		assertEquals(summary.getStandardDeviation(), ops.stats()
+			.<DoubleType> stdDev(summary).get(), 0);
+		assertEquals(summary.getKurtosis(), ops.stats().<DoubleType> kurtosis(
+			summary).get(), 0);
+		assertEquals(summary.getSize(), ops.stats().<DoubleType> size(summary)
+			.get(), 0);
+	}
+
+	@Test
+	public void testParallelMerge() {
+		// NB: large enough to be split into chunks, with a large mean
+		final Img<FloatType> img = generateFloatArrayTestImg(false, 300, 200);
+		long i = 0;
+		for (final FloatType t : img) {
+			t.set(1e6f + (i * 7919 % 1000) / 8f);
+			i++;
+		}
+
+		final StatsSummary parallel = (StatsSummary) ops.run(IISummary.class,
+			img);
+		final StatsSummary sequential = new StatsSummary();
+		final Cursor<FloatType> cursor = img.cursor();
+		while (cursor.hasNext()) {
+			sequential.add(cursor.next().getRealDouble());
+		}
+
+		assertEquals(sequential.getSize(), parallel.getSize());
+		assertEquals(sequential.getMean(), parallel.getMean(), 1e-6);
+		assertEquals(sequential.getVariance(), parallel.getVariance(), 1e-6);
+		assertEquals(sequential.getSkewness(), parallel.getSkewness(), 1e-6);
+		assertEquals(sequential.getKurtosis(), parallel.getKurtosis(), 1e-6);
+		assertEquals(sequential.getMin(), parallel.getMin(), 0);
+		assertEquals(sequential.getMax(), parallel.getMax(), 0);
+		assertEquals(sequential.getSumOfSquares(), parallel.getSumOfSquares(),
+			1e-6 * sequential.getSumOfSquares());
+
+		// the two-pass variance agrees despite the large mean
+		assertEquals(((DoubleType) ops.run(DefaultVariance.class, img))
+			.getRealDouble(), parallel.getVariance(), 1e-4);
+	}
+
+}
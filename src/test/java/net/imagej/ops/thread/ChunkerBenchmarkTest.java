@@ -74,6 +74,12 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunker.class, out, in);
 	}
 
+	@Test
+	public void run100MbForkJoin() {
+		generateByteTestImgs(10240);
+		ops.run(RunForkJoinChunker.class, out, in);
+	}
+
 	@Test
 	public void run1MbTest() {
 		generateByteTestImgs(1024);
@@ -86,6 +92,12 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunker.class, out, in);
 	}
 
+	@Test
+	public void run1MbForkJoin() {
+		generateByteTestImgs(1024);
+		ops.run(RunForkJoinChunker.class, out, in);
+	}
+
 	//with arrays
 
 	@Test
@@ -112,6 +124,18 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunkerArray.class, out2, in2);
 	}
 
+	@Test
+	public void run100MbArrayForkJoinTest() {
+		generateByteArrays(10240);
+		ops.run(RunForkJoinChunkerArray.class, out2, in2);
+	}
+
+	@Test
+	public void run1MbArrayForkJoinTest() {
+		generateByteArrays(1024);
+		ops.run(RunForkJoinChunkerArray.class, out2, in2);
+	}
+
 	private void generateByteTestImgs(int size) {
 		if (in != null && in.dimension(0) == size) return;
 		if (size > 1024) {
@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerForkJoin;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.ForkJoinPoolService;
+
+import org.junit.Test;
+import org.scijava.Context;
+
+/**
+ * Tests {@link ChunkerForkJoin}.
+ *
+ * @author agent
+ */
+public class ChunkerForkJoinTest extends AbstractOpTest {
+
+	@Test
+	public void testMatching() {
+		final ChunkerOp op = ops.op(ChunkerOp.class, new CountingChunk(1), 1l);
+		assertEquals(ChunkerForkJoin.class, op.getClass());
+	}
+
+	@Test
+	public void testAllElementsVisitedOnce() {
+		for (final int size : new int[] { 0, 1, 7, 1000, 123457 }) {
+			final CountingChunk chunk = new CountingChunk(size);
+			ops.run(Ops.Thread.Chunker.class, chunk, (long) size);
+			chunk.assertVisitedOnce();
+		}
+	}
+
+	@Test
+	public void testMinGrainSize() {
+		final CountingChunk chunk = new CountingChunk(10000);
+		ops.run(ChunkerForkJoin.class, chunk, 10000l, 3);
+		chunk.assertVisitedOnce();
+	}
+
+	@Test
+	public void testNested() {
+		final int outer = 64;
+		final int inner = 1000;
+		final CountingChunk innerChunk = new CountingChunk(outer * inner);
+		ops.run(ChunkerForkJoin.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				for (int i = startIndex; i < startIndex + numSteps; i++) {
+					final int offset = i * inner;
+					ops.run(ChunkerForkJoin.class, new Chunk() {
+
+						@Override
+						public void execute(final int s, final int step, final int n) {
+							innerChunk.execute(offset + s, step, n);
+						}
+					}, (long) inner);
+				}
+			}
+		}, (long) outer);
+		innerChunk.assertVisitedOnce();
+	}
+
+	@Test
+	public void testPoolShutDownOnDispose() {
+		final Context context = new Context(ForkJoinPoolService.class);
+		final ForkJoinPool pool = context.service(ForkJoinPoolService.class)
+			.getPool();
+		context.dispose();
+		assertTrue(pool.isShutdown());
+	}
+
+	// -- Helper classes --
+
+	private static class CountingChunk implements Chunk {
+
+		private final AtomicIntegerArray visits;
+
+		public CountingChunk(final int size) {
+			visits = new AtomicIntegerArray(size);
+		}
+
+		@Override
+		public void execute(final int startIndex, final int stepSize,
+			final int numSteps)
+		{
+			int i = startIndex;
+			for (int ctr = 0; ctr < numSteps; ctr++) {
+				visits.incrementAndGet(i);
+				i += stepSize;
+			}
+		}
+
+		public void assertVisitedOnce() {
+			for (int i = 0; i < visits.length(); i++) {
+				assertEquals("element " + i, 1, visits.get(i));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2016 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.thread.tiled.DefaultTiled;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.img.Img;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.view.Views;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link DefaultTiled}.
+ *
+ * @author agent
+ */
+public class DefaultTiledTest extends AbstractOpTest {
+
+	@Test
+	public void testTiledEqualsWhole() {
+		final Img<ByteType> in = generateByteArrayTestImg(true, 50, 37);
+		final RectangleShape shape = new RectangleShape(2, false);
+
+		final Img<ByteType> expected = in.factory().create(in, new ByteType());
+		ops.filter().mean(expected, in, shape);
+
+		final UnaryComputerOp<RandomAccessibleInterval<ByteType>, IterableInterval<ByteType>> mean =
+			meanFilter(in, shape);
+
+		for (final int maxInFlight : new int[] { 0, 1, 3 }) {
+			final Img<ByteType> out = in.factory().create(in, new ByteType());
+			ops.thread().tiled(out, in, mean, new long[] { 2 }, new int[] { 16, 9 },
+				maxInFlight);
+			assertIterationsEqual(expected, out);
+		}
+	}
+
+	@Test
+	public void testCellOutput() {
+		final Img<ByteType> in = generateByteArrayTestImg(true, 20, 30, 7);
+		final RectangleShape shape = new RectangleShape(1, false);
+
+		final Img<ByteType> expected = in.factory().create(in, new ByteType());
+		ops.filter().mean(expected, in, shape);
+
+		final Img<ByteType> out = new CellImgFactory<ByteType>(8).create(in,
+			new ByteType());
+		ops.run(DefaultTiled.class, out, in, meanFilter(in, shape), new long[] {
+			1 }, new int[] { 8 });
+		assertIterationsEqual(expected, Views.flatIterable(out));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutputRequired() {
+		final Img<ByteType> in = generateByteArrayTestImg(true, 20, 30);
+		ops.run(DefaultTiled.class, null, in, meanFilter(in, new RectangleShape(1,
+			false)));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private
+		UnaryComputerOp<RandomAccessibleInterval<ByteType>, IterableInterval<ByteType>>
+		meanFilter(final Img<ByteType> template, final RectangleShape shape)
+	{
+		return (UnaryComputerOp) Computers.unary(ops, Ops.Filter.Mean.class,
+			template, template, shape);
+	}
+
+}
@@ -37,15 +37,20 @@ import net.imagej.ops.threshold.LocalThresholdMethod;
 import net.imagej.ops.threshold.ThresholdNamespace;
 import net.imagej.ops.threshold.localBernsen.LocalBernsenThreshold;
 import net.imagej.ops.threshold.localContrast.LocalContrastThreshold;
+import net.imagej.ops.threshold.localContrast.LocalContrastThresholdBox;
 import net.imagej.ops.threshold.localMean.LocalMeanThreshold;
+import net.imagej.ops.threshold.localMean.LocalMeanThresholdBox;
 import net.imagej.ops.threshold.localMean.LocalMeanThresholdIntegral;
 import net.imagej.ops.threshold.localMedian.LocalMedianThreshold;
 import net.imagej.ops.threshold.localMidGrey.LocalMidGreyThreshold;
 import net.imagej.ops.threshold.localNiblack.LocalNiblackThreshold;
+import net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdBox;
 import net.imagej.ops.threshold.localNiblack.LocalNiblackThresholdIntegral;
 import net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThreshold;
+import net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdBox;
 import net.imagej.ops.threshold.localPhansalkar.LocalPhansalkarThresholdIntegral;
 import net.imagej.ops.threshold.localSauvola.LocalSauvolaThreshold;
+import net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdBox;
 import net.imagej.ops.threshold.localSauvola.LocalSauvolaThresholdIntegral;
 import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
@@ -62,6 +67,8 @@ import net.imglib2.outofbounds.OutOfBoundsMirrorFactory.Boundary;
 import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -442,7 +449,90 @@ public class LocalThresholdTest extends AbstractOpTest {
 		return ArrayImgs.bytes(array, dims);
 	}
 
-	public ArrayImg<ByteType, ByteArray> generateKnownByteArrayTestImgLarge() {
+	/**
+	 * @see LocalMeanThresholdBox
+	 * @see LocalNiblackThresholdBox
+	 * @see LocalPhansalkarThresholdBox
+	 * @see LocalSauvolaThresholdBox
+	 * @see LocalContrastThresholdBox
+	 */
+	@Test
+	public void testBoxResultsConsistency() {
+		final RectangleShape shape = new RectangleShape(2, false);
+		final OutOfBoundsMirrorFactory<ByteType, Img<ByteType>> oobf =
+			new OutOfBoundsMirrorFactory<>(Boundary.SINGLE);
+
+		final Img<BitType> expected = in.factory().imgFactory(new BitType())
+			.create(in, new BitType());
+
+		ops.run(LocalMeanThreshold.class, expected, in, shape, oobf, 2.0);
+		ops.run(LocalMeanThresholdBox.class, out, in, shape, oobf, 2.0);
+		testIterableIntervalSimilarity(expected, out);
+
+		ops.run(LocalNiblackThreshold.class, expected, in, shape, oobf, 1.0, 0.2);
+		ops.run(LocalNiblackThresholdBox.class, out, in, shape, oobf, 1.0, 0.2);
+		testIterableIntervalSimilarity(expected, out);
+
+		ops.run(LocalPhansalkarThreshold.class, expected, in, shape, oobf, 0.25,
+			0.5);
+		ops.run(LocalPhansalkarThresholdBox.class, out, in, shape, oobf, 0.25,
+			0.5);
+		testIterableIntervalSimilarity(expected, out);
+
+		ops.run(LocalSauvolaThreshold.class, expected, in, shape, oobf, 0.3, 0.7);
+		ops.run(LocalSauvolaThresholdBox.class, out, in, shape, oobf, 0.3, 0.7);
+		testIterableIntervalSimilarity(expected, out);
+
+		ops.run(LocalContrastThreshold.class, expected, in, shape, oobf);
+		ops.run(LocalContrastThresholdBox.class, out, in, shape, oobf);
+		testIterableIntervalSimilarity(expected, out);
+	}
+
+	/**
+	 * @see LocalMeanThresholdBox
+	 * @see LocalContrastThresholdBox
+	 */
+	@Test
+	public void testBoxResultsConsistency3D() {
+		final Img<ByteType> in3D = generateByteArrayTestImg(true, 23, 17, 9);
+		final Img<BitType> expected = in3D.factory().imgFactory(new BitType())
+			.create(in3D, new BitType());
+		final Img<BitType> actual = in3D.factory().imgFactory(new BitType())
+			.create(in3D, new BitType());
+		final RectangleShape shape = new RectangleShape(2, false);
+
+		ops.run(LocalMeanThreshold.class, expected, in3D, shape, null, 0.0);
+		ops.run(LocalMeanThresholdBox.class, actual, in3D, shape, null, 0.0);
+		testIterableIntervalSimilarity(expected, actual);
+
+		ops.run(LocalContrastThreshold.class, expected, in3D, shape);
+		ops.run(LocalContrastThresholdBox.class, actual, in3D, shape);
+		testIterableIntervalSimilarity(expected, actual);
+	}
+
+	/**
+	 * @see LocalNiblackThresholdBox
+	 */
+	@Test
+	public void testBoxTranslatedOutput() {
+		final RectangleShape shape = new RectangleShape(2, false);
+		ops.run(LocalNiblackThresholdBox.class, out, in, shape, null, 1.0, 0.2);
+
+		// NB: Pixels are paired by position relative to the min of each image.
+		final IterableInterval<BitType> translated = Views.iterable(Views
+			.translate(ArrayImgs.bits(Intervals.dimensionsAsLongArray(in)), 3, -5));
+		ops.run(LocalNiblackThresholdBox.class, translated, in, shape, null, 1.0,
+			0.2);
+		testIterableIntervalSimilarity(out, translated);
+
+		final Img<BitType> actual = in.factory().imgFactory(new BitType()).create(
+			in, new BitType());
+		ops.run(LocalNiblackThresholdBox.class, actual, Views.translate(in, -4, 7),
+			shape, null, 1.0, 0.2);
+		testIterableIntervalSimilarity(out, actual);
+	}
+
+	public static ArrayImg<ByteType, ByteArray> generateKnownByteArrayTestImgLarge() {
 		final long[] dims = new long[] { 3, 3 };
 		final byte[] array = new byte[9];
 